@@ -0,0 +1,94 @@
+package regressionProject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.tablesaw.api.Table;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataLoaderBenchmark - Parsing a generated CSV file and extracting its features.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataLoaderBenchmark {
+    @Param({"10000", "100000"})
+    private int rows; // Data rows in the generated file
+
+    private Path file;         // Generated CSV file
+    private DataLoader loader; // Loader for the generated file
+    private Table table;       // Table loaded once, for the feature extraction benchmarks
+
+    /**
+     * Writes the CSV file and loads it once.
+     *
+     * @throws IOException If the file cannot be written or read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("benchmark", ".csv");
+        SyntheticData.writeCsv(file, rows);
+        loader = new DataLoader(file.toString(), "timestamp", "close", Arrays.asList("volume", "trade_count"),
+                SyntheticData.dateConverter());
+        table = loader.loadData();
+    }
+
+    /**
+     * Deletes the generated file.
+     *
+     * @throws IOException If the file cannot be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Parses the file and converts its timestamps.
+     *
+     * @return Loaded table
+     * @throws IOException If the file cannot be read
+     */
+    @Benchmark
+    public Table loadData() throws IOException {
+        return loader.loadData();
+    }
+
+    /**
+     * Extracts the features as one array per row.
+     *
+     * @return Feature rows
+     */
+    @Benchmark
+    public double[][] getFeatureValues() {
+        return loader.getFeatureValues(table);
+    }
+
+    /**
+     * Extracts the features as a flat column-major matrix.
+     *
+     * @return Feature matrix
+     */
+    @Benchmark
+    public FeatureMatrix getFeatureMatrix() {
+        return loader.getFeatureMatrix(table);
+    }
+}
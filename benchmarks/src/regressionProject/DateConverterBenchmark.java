@@ -0,0 +1,64 @@
+package regressionProject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateConverterBenchmark - Timestamp to interval conversion, one string at a time and as a column.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateConverterBenchmark {
+    private static final int ROWS = 10_000; // Timestamps per column conversion
+
+    private DateConverter converter; // Converter for the generated timestamps
+    private String[] dates;          // Generated timestamps
+    private int next;                // Index of the next timestamp for the single conversion
+
+    /**
+     * Generates the timestamps.
+     */
+    @Setup
+    public void setUp() {
+        converter = SyntheticData.dateConverter();
+        dates = SyntheticData.timestamps(ROWS);
+    }
+
+    /**
+     * Converts one timestamp, cycling through the generated ones so no result is constant.
+     *
+     * @return Interval number
+     */
+    @Benchmark
+    public long dateToIntervals() {
+        String date = dates[next];
+        next = next + 1 == ROWS ? 0 : next + 1;
+        return converter.dateToIntervals(date);
+    }
+
+    /**
+     * Converts a whole column of timestamps; reported per timestamp.
+     *
+     * @return Interval numbers
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long[] datesToIntervals() {
+        return converter.datesToIntervals(dates);
+    }
+}
@@ -0,0 +1,112 @@
+package regressionProject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NeuralNetworkBenchmark - Forward passes and one training epoch of a two-hidden-layer network at
+ * different layer widths, on the scalar and the Vector API dense-layer kernels. The forked JVMs resolve
+ * the incubating vector module themselves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class NeuralNetworkBenchmark {
+    private static final int ROWS = 2048;  // Samples per batch prediction and per training epoch
+    private static final int FEATURES = 3; // Input layer size
+
+    @Param({"16", "64", "256"})
+    private int width; // Neurons in each hidden layer
+
+    @Param({"scalar", "vector"})
+    private String kernels; // Dense-layer backend
+
+    private double[][] X;         // Input rows
+    private FeatureMatrix matrix; // The same rows as a row-major matrix
+    private double[] y;           // Targets
+    private double[] outputs;     // Output of the batch predictions
+    private NeuralNetwork network;
+    private TrainingOptions epoch; // Settings for exactly one Adam epoch
+    private int next;             // Row used by the next single forward pass
+
+    /**
+     * Generates the data and the training settings.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (kernels.equals("vector") && DenseKernels.vector() == null) {
+            // forName would quietly fall back to scalar and report it as vector
+            throw new IllegalStateException("The vector kernels need --add-modules jdk.incubator.vector");
+        }
+        X = SyntheticData.features(ROWS, FEATURES);
+        matrix = FeatureMatrix.fromRows(X);
+        y = SyntheticData.targets(X);
+        outputs = new double[ROWS];
+        epoch = new TrainingOptions().setEpochs(1).setBatchSize(32).setLearningRate(0.001)
+                .setOptimizer(new AdamOptimizer());
+    }
+
+    /**
+     * Starts every iteration from the same freshly initialized network, so training never drifts.
+     */
+    @Setup(Level.Iteration)
+    public void createNetwork() {
+        network = new NeuralNetwork(new int[] {FEATURES, width, width, 1}, Arrays.asList(
+                ActivationFunctions.RELU, ActivationFunctions.RELU, ActivationFunctions.LINEAR), SyntheticData.SEED);
+        network.setKernels(DenseKernels.forName(kernels));
+    }
+
+    /**
+     * One sample through the network.
+     *
+     * @return Network output
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double[] feedForward() {
+        double[] input = X[next];
+        next = next + 1 == ROWS ? 0 : next + 1;
+        return network.feedForward(input);
+    }
+
+    /**
+     * A batch through the network on the calling thread; reported per row.
+     *
+     * @return Network outputs
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double[] predictBatch() {
+        network.predict(matrix, outputs, 1);
+        return outputs;
+    }
+
+    /**
+     * One epoch of mini-batch training with Adam over all samples.
+     *
+     * @return The trained network
+     */
+    @Benchmark
+    public NeuralNetwork trainEpoch() {
+        network.train(matrix, y, epoch);
+        return network;
+    }
+}
@@ -0,0 +1,147 @@
+package regressionProject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PredictBenchmark - Single predictions and repeated predictions over a batch of rows, for every
+ * regression model. Batch benchmarks are reported per row, so they compare directly with the single ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PredictBenchmark {
+    private static final int ROWS = 4096;  // Rows per batch
+    private static final int FEATURES = 3; // Features of the multivariate model
+
+    @Param({"1", "3", "5"})
+    private int degree; // Polynomial degree
+
+    private double[][] X;         // Batch of multivariate rows
+    private FeatureMatrix matrix; // The same rows as a column-major matrix
+    private double[] x;           // Batch of univariate inputs
+    private double[] predictions; // Output of the batch predictions
+    private LinearRegression linear;
+    private PolynomialRegression polynomial;
+    private MultivariatePolynomialRegression multivariate;
+    private int next;             // Row used by the next single prediction
+
+    /**
+     * Fits the models on the generated batch.
+     */
+    @Setup
+    public void setUp() {
+        X = SyntheticData.features(ROWS, FEATURES);
+        matrix = FeatureMatrix.fromRows(X).toColumnMajor();
+        x = SyntheticData.column(X, 0);
+        double[] y = SyntheticData.targets(X);
+        predictions = new double[ROWS];
+        linear = new LinearRegression(x, y);
+        polynomial = new PolynomialRegression(x, y, degree);
+        multivariate = GramMatrixFitter.fitMultivariate(X, y, degree, FEATURES);
+    }
+
+    /**
+     * Advances to the next row, so no single prediction is constant.
+     *
+     * @return Row index
+     */
+    private int nextRow() {
+        int row = next;
+        next = row + 1 == ROWS ? 0 : row + 1;
+        return row;
+    }
+
+    /**
+     * One line prediction.
+     *
+     * @return Prediction
+     */
+    @Benchmark
+    public double linearSingle() {
+        return linear.predict(x[nextRow()]);
+    }
+
+    /**
+     * Line predictions over the batch.
+     *
+     * @return Predictions
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public double[] linearBatch() {
+        linear.predict(x, predictions);
+        return predictions;
+    }
+
+    /**
+     * One univariate polynomial prediction.
+     *
+     * @return Prediction
+     */
+    @Benchmark
+    public double polynomialSingle() {
+        return polynomial.predict(x[nextRow()]);
+    }
+
+    /**
+     * Univariate polynomial predictions over the batch.
+     *
+     * @return Predictions
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public double[] polynomialBatch() {
+        polynomial.predict(x, predictions);
+        return predictions;
+    }
+
+    /**
+     * One multivariate polynomial prediction.
+     *
+     * @return Prediction
+     */
+    @Benchmark
+    public double multivariateSingle() {
+        return multivariate.predict(X[nextRow()]);
+    }
+
+    /**
+     * Multivariate polynomial predictions over the batch, one array per row.
+     *
+     * @return Predictions
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public double[] multivariateBatch() {
+        multivariate.predict(X, predictions);
+        return predictions;
+    }
+
+    /**
+     * Multivariate polynomial predictions over the batch as a column-major matrix.
+     *
+     * @return Predictions
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public double[] multivariateMatrixBatch() {
+        multivariate.predict(matrix, predictions);
+        return predictions;
+    }
+}
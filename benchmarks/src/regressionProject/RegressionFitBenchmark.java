@@ -0,0 +1,91 @@
+package regressionProject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RegressionFitBenchmark - Fitting the regression models at different sizes and degrees.
+ * The multivariate model is fitted both with the OLS constructor and from streamed normal equations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegressionFitBenchmark {
+    private static final int FEATURES = 3; // Features of the multivariate models
+
+    @Param({"1000", "100000"})
+    private int rows;   // Observations to fit
+
+    @Param({"1", "3", "5"})
+    private int degree; // Polynomial degree
+
+    private double[][] X;     // Multivariate features
+    private FeatureMatrix matrix; // The same features as a column-major matrix
+    private double[] x;       // Univariate feature
+    private double[] y;       // Targets
+
+    /**
+     * Generates the data.
+     */
+    @Setup
+    public void setUp() {
+        X = SyntheticData.features(rows, FEATURES);
+        matrix = FeatureMatrix.fromRows(X).toColumnMajor();
+        x = SyntheticData.column(X, 0);
+        y = SyntheticData.targets(X);
+    }
+
+    /**
+     * Fits a line; independent of the degree.
+     *
+     * @return Fitted model
+     */
+    @Benchmark
+    public LinearRegression linearRegression() {
+        return new LinearRegression(x, y);
+    }
+
+    /**
+     * Fits a univariate polynomial.
+     *
+     * @return Fitted model
+     */
+    @Benchmark
+    public PolynomialRegression polynomialRegression() {
+        return new PolynomialRegression(x, y, degree);
+    }
+
+    /**
+     * Fits a multivariate polynomial with the OLS constructor.
+     *
+     * @return Fitted model
+     */
+    @Benchmark
+    public MultivariatePolynomialRegression multivariatePolynomialRegression() {
+        return new MultivariatePolynomialRegression(X, y, degree, FEATURES);
+    }
+
+    /**
+     * Fits a multivariate polynomial from streamed normal equations over the feature matrix.
+     *
+     * @return Fitted model
+     */
+    @Benchmark
+    public MultivariatePolynomialRegression gramMatrixFitter() {
+        return GramMatrixFitter.fitMultivariate(matrix, y, degree);
+    }
+}
@@ -0,0 +1,128 @@
+package regressionProject;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+/**
+ * SyntheticData - Seeded generators for the benchmark inputs, so every benchmark runs offline and sees
+ * the same data on every run.
+ */
+final class SyntheticData {
+    static final String START_DATE = "2024-08-01 00:00:00+01:00"; // Start of the generated series
+    static final String END_DATE = "2024-10-31 23:30:00+01:00";   // End date given to the DateConverter
+    static final long SEED = 42;                                    // Seed of every generator
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss'+01:00'");
+    private static final Duration STEP = Duration.ofMinutes(5);     // Spacing of the generated timestamps
+
+    private SyntheticData() {
+        // Utility class, not meant to be instantiated
+    }
+
+    /**
+     * Creates the date converter matching the generated timestamps.
+     *
+     * @return Converter with 30-minute intervals from START_DATE
+     */
+    static DateConverter dateConverter() {
+        return new DateConverter(START_DATE, END_DATE);
+    }
+
+    /**
+     * Generates consecutive timestamps in the layout of the stock data files.
+     *
+     * @param rows Number of timestamps
+     * @return     Timestamps five minutes apart from START_DATE
+     */
+    static String[] timestamps(int rows) {
+        LocalDateTime time = LocalDateTime.of(2024, 8, 1, 0, 0);
+        String[] result = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            result[i] = FORMAT.format(time);
+            time = time.plus(STEP);
+        }
+        return result;
+    }
+
+    /**
+     * Generates uniformly distributed features in [0, 1).
+     *
+     * @param rows     Number of observations
+     * @param features Number of features per observation
+     * @return         2D array of features
+     */
+    static double[][] features(int rows, int features) {
+        Random random = new Random(SEED);
+        double[][] result = new double[rows][features];
+        for (double[] row : result) {
+            for (int j = 0; j < features; j++) {
+                row[j] = random.nextDouble();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Generates a noisy cubic target over the first feature plus a linear term in the others.
+     *
+     * @param X Features
+     * @return  One target value per row
+     */
+    static double[] targets(double[][] X) {
+        Random random = new Random(SEED + 1);
+        double[] result = new double[X.length];
+        for (int i = 0; i < X.length; i++) {
+            double x = X[i][0];
+            double y = 1 + 2 * x - 3 * x * x + x * x * x;
+            for (int j = 1; j < X[i].length; j++) {
+                y += 0.5 * X[i][j];
+            }
+            result[i] = y + 0.01 * random.nextGaussian();
+        }
+        return result;
+    }
+
+    /**
+     * Extracts one feature as a univariate input.
+     *
+     * @param X      Features
+     * @param column Feature index
+     * @return       Values of the feature
+     */
+    static double[] column(double[][] X, int column) {
+        double[] result = new double[X.length];
+        for (int i = 0; i < X.length; i++) {
+            result[i] = X[i][column];
+        }
+        return result;
+    }
+
+    /**
+     * Writes a CSV file with timestamp, close, volume and trade_count columns.
+     *
+     * @param path Destination file
+     * @param rows Number of data rows
+     * @throws IOException If the file cannot be written
+     */
+    static void writeCsv(Path path, int rows) throws IOException {
+        Random random = new Random(SEED);
+        String[] dates = timestamps(rows);
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            writer.write("timestamp,close,volume,trade_count");
+            writer.newLine();
+            double close = 10;
+            for (int i = 0; i < rows; i++) {
+                close = Math.max(0.01, close + 0.05 * random.nextGaussian());
+                writer.write(dates[i] + "," + Math.round(close * 1e4) / 1e4 + "," + (100 + random.nextInt(10_000))
+                        + "," + (1 + random.nextInt(100)));
+                writer.newLine();
+            }
+        }
+    }
+}
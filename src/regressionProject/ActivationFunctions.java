@@ -4,6 +4,14 @@ package regressionProject;
  * ActivationFunctions - Enum defining activation functions commonly used in neural networks.
  * Each enum constant represents a specific activation function and its derivative,
  * which is essential for backpropagation in training.
+ *
+ * Besides the scalar methods, every constant offers in-place array operations: {@link #activate(double[], int, int)}
+ * applies the function to a whole range of values, and {@link #gradientFromOutput(double[], double[], int, int)}
+ * scales backpropagation deltas by the derivative. The derivative is computed from the activation output
+ * that the forward pass already produced, so no transcendental function has to be evaluated again, and
+ * each loop runs without a virtual call per element.
+ *
+ * Models are saved with the ordinal of their activations, so new constants must only ever be appended.
  */
 public enum ActivationFunctions {
 
@@ -23,6 +31,27 @@ public enum ActivationFunctions {
         public double derivative(double x) {
             return x > 0 ? 1 : 0;
         }
+
+        @Override
+        public double derivativeFromOutput(double y) {
+            return y > 0 ? 1 : 0; // The output is positive exactly where the input is
+        }
+
+        @Override
+        public void activate(double[] values, int offset, int length) {
+            for (int j = offset; j < offset + length; j++) {
+                values[j] = Math.max(0, values[j]);
+            }
+        }
+
+        @Override
+        public void gradientFromOutput(double[] outputs, double[] deltas, int offset, int length) {
+            for (int j = offset; j < offset + length; j++) {
+                if (!(outputs[j] > 0)) {
+                    deltas[j] = 0;
+                }
+            }
+        }
     },
 
     /**
@@ -41,6 +70,26 @@ public enum ActivationFunctions {
             double sigmoid = activate(x);
             return sigmoid * (1 - sigmoid);
         }
+
+        @Override
+        public double derivativeFromOutput(double y) {
+            return y * (1 - y);
+        }
+
+        @Override
+        public void activate(double[] values, int offset, int length) {
+            for (int j = offset; j < offset + length; j++) {
+                values[j] = 1 / (1 + Math.exp(-values[j]));
+            }
+        }
+
+        @Override
+        public void gradientFromOutput(double[] outputs, double[] deltas, int offset, int length) {
+            for (int j = offset; j < offset + length; j++) {
+                double y = outputs[j];
+                deltas[j] *= y * (1 - y);
+            }
+        }
     },
 
     /**
@@ -58,8 +107,142 @@ public enum ActivationFunctions {
         public double derivative(double x) {
             return 1; // Derivative of a linear function is constant 1
         }
+
+        @Override
+        public double derivativeFromOutput(double y) {
+            return 1;
+        }
+
+        @Override
+        public void activate(double[] values, int offset, int length) {
+            // Identity, nothing to do
+        }
+
+        @Override
+        public void gradientFromOutput(double[] outputs, double[] deltas, int offset, int length) {
+            // Derivative is 1, deltas are unchanged
+        }
+    },
+
+    /**
+     * Hyperbolic tangent activation function.
+     * Squashes the input to a range between -1 and 1. Being zero-centred, it often trains
+     * faster than the sigmoid in hidden layers.
+     */
+    TANH {
+        @Override
+        public double activate(double x) {
+            return Math.tanh(x);
+        }
+
+        @Override
+        public double derivative(double x) {
+            double tanh = Math.tanh(x);
+            return 1 - tanh * tanh;
+        }
+
+        @Override
+        public double derivativeFromOutput(double y) {
+            return 1 - y * y;
+        }
+
+        @Override
+        public void activate(double[] values, int offset, int length) {
+            for (int j = offset; j < offset + length; j++) {
+                values[j] = Math.tanh(values[j]);
+            }
+        }
+
+        @Override
+        public void gradientFromOutput(double[] outputs, double[] deltas, int offset, int length) {
+            for (int j = offset; j < offset + length; j++) {
+                double y = outputs[j];
+                deltas[j] *= 1 - y * y;
+            }
+        }
+    },
+
+    /**
+     * Leaky ReLU activation function.
+     * Like ReLU, but negative inputs are scaled by {@value #LEAKY_SLOPE} instead of being cut to 0,
+     * so neurons never stop receiving gradient entirely.
+     */
+    LEAKY_RELU {
+        @Override
+        public double activate(double x) {
+            return x > 0 ? x : LEAKY_SLOPE * x;
+        }
+
+        @Override
+        public double derivative(double x) {
+            return x > 0 ? 1 : LEAKY_SLOPE;
+        }
+
+        @Override
+        public double derivativeFromOutput(double y) {
+            return y > 0 ? 1 : LEAKY_SLOPE; // The positive slope keeps the sign of the input
+        }
+
+        @Override
+        public void activate(double[] values, int offset, int length) {
+            for (int j = offset; j < offset + length; j++) {
+                double x = values[j];
+                values[j] = x > 0 ? x : LEAKY_SLOPE * x;
+            }
+        }
+
+        @Override
+        public void gradientFromOutput(double[] outputs, double[] deltas, int offset, int length) {
+            for (int j = offset; j < offset + length; j++) {
+                if (!(outputs[j] > 0)) {
+                    deltas[j] *= LEAKY_SLOPE;
+                }
+            }
+        }
+    },
+
+    /**
+     * Softplus activation function, log(1 + e^x).
+     * A smooth, always positive approximation of ReLU whose derivative is the sigmoid of the input.
+     */
+    SOFTPLUS {
+        @Override
+        public double activate(double x) {
+            // Written so that e^x never overflows for large inputs
+            return x > 0 ? x + Math.log1p(Math.exp(-x)) : Math.log1p(Math.exp(x));
+        }
+
+        @Override
+        public double derivative(double x) {
+            return 1 / (1 + Math.exp(-x));
+        }
+
+        @Override
+        public double derivativeFromOutput(double y) {
+            return -Math.expm1(-y); // sigmoid(x) = 1 - e^-softplus(x)
+        }
+
+        @Override
+        public void activate(double[] values, int offset, int length) {
+            for (int j = offset; j < offset + length; j++) {
+                double x = values[j];
+                values[j] = x > 0 ? x + Math.log1p(Math.exp(-x)) : Math.log1p(Math.exp(x));
+            }
+        }
+
+        @Override
+        public void gradientFromOutput(double[] outputs, double[] deltas, int offset, int length) {
+            for (int j = offset; j < offset + length; j++) {
+                deltas[j] *= -Math.expm1(-outputs[j]);
+            }
+        }
     };
 
+    /**
+     * Slope of {@link #LEAKY_RELU} for negative inputs.
+     */
+    public static final double LEAKY_SLOPE = 0.01;
+
     /**
      * Abstract method for activation function.
      * Each activation function must implement this method.
@@ -77,4 +260,33 @@ public enum ActivationFunctions {
      * @return  Derivative value of the activation function at x.
      */
     public abstract double derivative(double x);
+
+    /**
+     * Derivative of the activation function expressed through its output y = activate(x).
+     * Backpropagation only keeps the outputs of each layer, so this avoids recomputing the function.
+     *
+     * @param y Output of the activation function.
+     * @return  Derivative value of the activation function at the input that produced y.
+     */
+    public abstract double derivativeFromOutput(double y);
+
+    /**
+     * Applies the activation function in place to {@code length} values starting at {@code offset}.
+     *
+     * @param values Array of inputs, overwritten with the activated outputs.
+     * @param offset Index of the first value.
+     * @param length Number of values.
+     */
+    public abstract void activate(double[] values, int offset, int length);
+
+    /**
+     * Multiplies backpropagation deltas in place by the derivative computed from the matching outputs,
+     * deltas[j] *= derivativeFromOutput(outputs[j]) for j in [offset, offset + length).
+     *
+     * @param outputs Activation outputs of the layer.
+     * @param deltas  Deltas to scale.
+     * @param offset  Index of the first value.
+     * @param length  Number of values.
+     */
+    public abstract void gradientFromOutput(double[] outputs, double[] deltas, int offset, int length);
 }
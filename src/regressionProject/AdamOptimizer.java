@@ -0,0 +1,73 @@
+package regressionProject;
+
+/**
+ * AdamOptimizer - Adam (adaptive moment estimation).
+ * Keeps bias-corrected running averages of the gradient (first moment) and of the squared gradient
+ * (second moment) per parameter, combining momentum with RMSProp-style per-parameter step sizes.
+ */
+public class AdamOptimizer implements Optimizer {
+    private final double beta1;   // Decay rate of the first-moment average
+    private final double beta2;   // Decay rate of the second-moment average
+    private final double epsilon; // Small constant avoiding division by zero
+    private double[][] m;         // First moments, one flat array per tensor
+    private double[][] v;         // Second moments, one flat array per tensor
+    private int step;             // Number of steps taken, used for bias correction
+    private double correction1;   // 1 - beta1^step
+    private double correction2;   // 1 - beta2^step
+
+    /**
+     * Constructor with the usual defaults (beta1 0.9, beta2 0.999, epsilon 1e-8).
+     */
+    public AdamOptimizer() {
+        this(0.9, 0.999, 1e-8);
+    }
+
+    /**
+     * Constructor to create an Adam optimizer.
+     *
+     * @param beta1   Decay rate of the first-moment average in [0, 1)
+     * @param beta2   Decay rate of the second-moment average in [0, 1)
+     * @param epsilon Small positive constant added to the denominator
+     */
+    public AdamOptimizer(double beta1, double beta2, double epsilon) {
+        if (beta1 < 0 || beta1 >= 1 || beta2 < 0 || beta2 >= 1) {
+            throw new IllegalArgumentException("Beta values must be in [0, 1), but received " + beta1 + " and " + beta2);
+        }
+        this.beta1 = beta1;
+        this.beta2 = beta2;
+        this.epsilon = epsilon;
+    }
+
+    @Override
+    public void initialize(int[] tensorSizes) {
+        m = new double[tensorSizes.length][];
+        v = new double[tensorSizes.length][];
+        for (int i = 0; i < tensorSizes.length; i++) {
+            m[i] = new double[tensorSizes[i]];
+            v[i] = new double[tensorSizes[i]];
+        }
+        step = 0;
+    }
+
+    @Override
+    public void nextStep() {
+        step++;
+        correction1 = 1 - Math.pow(beta1, step);
+        correction2 = 1 - Math.pow(beta2, step);
+    }
+
+    @Override
+    public void update(int tensor, double[] params, double[] gradients, int from, int to,
+                       double gradientScale, double learningRate) {
+        double[] mt = m[tensor];
+        double[] vt = v[tensor];
+        double stepSize = learningRate / correction1;
+        double sqrtCorrection2 = Math.sqrt(correction2);
+        for (int j = from; j < to; j++) {
+            double g = gradients[j] * gradientScale;
+            mt[j] = beta1 * mt[j] + (1 - beta1) * g;
+            vt[j] = beta2 * vt[j] + (1 - beta2) * g * g;
+            params[j] -= stepSize * mt[j] / (Math.sqrt(vt[j]) / sqrtCorrection2 + epsilon);
+        }
+    }
+}
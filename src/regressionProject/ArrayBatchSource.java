@@ -0,0 +1,79 @@
+package regressionProject;
+
+/**
+ * ArrayBatchSource - BatchSource backed by in-memory arrays, one array per sample.
+ * This is the form produced by {@link DataLoader#getFeatureValues} and {@link DataLoader#getTargetValues}.
+ */
+public class ArrayBatchSource implements BatchSource {
+    private final double[][] inputs;  // Input values, one row per sample
+    private final double[][] targets; // Target values, one row per sample
+    private final int inputSize;      // Number of input values per sample
+    private final int targetSize;     // Number of target values per sample
+
+    /**
+     * Constructor for samples with one or more target values each.
+     *
+     * @param inputs  2D array of input data
+     * @param targets 2D array of target values
+     */
+    public ArrayBatchSource(double[][] inputs, double[][] targets) {
+        if (inputs.length != targets.length) {
+            throw new IllegalArgumentException("Number of inputs (" + inputs.length + ") and targets (" + targets.length + ") must match.");
+        }
+        if (inputs.length == 0) {
+            throw new IllegalArgumentException("At least one sample is required.");
+        }
+        this.inputs = inputs;
+        this.targets = targets;
+        this.inputSize = inputs[0].length;
+        this.targetSize = targets[0].length;
+    }
+
+    /**
+     * Constructor for samples with a single target value each, such as a DataLoader target column.
+     *
+     * @param inputs  2D array of input data
+     * @param targets Array of target values
+     */
+    public ArrayBatchSource(double[][] inputs, double[] targets) {
+        this(inputs, toRows(targets));
+    }
+
+    @Override
+    public int size() {
+        return inputs.length;
+    }
+
+    @Override
+    public int inputSize() {
+        return inputSize;
+    }
+
+    @Override
+    public int targetSize() {
+        return targetSize;
+    }
+
+    @Override
+    public void gather(int[] indices, int from, int count, double[] inputBuffer, double[] targetBuffer) {
+        for (int r = 0; r < count; r++) {
+            int index = indices[from + r];
+            System.arraycopy(inputs[index], 0, inputBuffer, r * inputSize, inputSize);
+            System.arraycopy(targets[index], 0, targetBuffer, r * targetSize, targetSize);
+        }
+    }
+
+    /**
+     * Wraps each target value in its own single-element row.
+     *
+     * @param values Array of target values
+     * @return       2D array with one row per value
+     */
+    private static double[][] toRows(double[] values) {
+        double[][] rows = new double[values.length][1];
+        for (int i = 0; i < values.length; i++) {
+            rows[i][0] = values[i];
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,19 @@
+package regressionProject;
+
+/**
+ * BacktestSink - Receives the records of a backtest one interval at a time, in interval order.
+ * Implementations can print, write or collect the records; the backtester keeps none of them.
+ */
+@FunctionalInterface
+public interface BacktestSink {
+
+    /**
+     * Accepts the record of one forecast interval.
+     *
+     * @param interval  Interval number that was predicted
+     * @param predicted Model prediction
+     * @param actual    Observed value, NaN if the data has no row for the interval
+     * @param error     Actual minus predicted value, NaN if there is no actual value
+     */
+    void accept(long interval, double predicted, double actual, double error);
+}
@@ -0,0 +1,102 @@
+package regressionProject;
+
+import tech.tablesaw.api.NumericColumn;
+import tech.tablesaw.api.Table;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Backtester - Walk-forward evaluation of a regression model over a horizon of future intervals.
+ * The loaded data is indexed once by interval number, so the forecast loop steps through interval numbers
+ * directly and finds the actual value of each interval with one hash lookup, instead of formatting a date
+ * string and scanning the date column for it. Every prediction is streamed to a {@link BacktestSink} as soon
+ * as it is made, and the error metrics are aggregated on the fly, so nothing grows with the horizon.
+ */
+public final class Backtester {
+    private final IntervalIndex index; // Row of every interval number in the data
+    private final double[] actuals;    // Target value of every row
+
+    /**
+     * Constructor to index a loaded table, such as the one returned by {@link DataLoader#loadData()}.
+     *
+     * @param data           Table with an interval column and a target column
+     * @param intervalColumn Name of the column holding interval numbers (e.g., "intervals_since_start")
+     * @param targetColumn   Name of the column holding the actual values (e.g., "close")
+     */
+    public Backtester(Table data, String intervalColumn, String targetColumn) {
+        this(intervals(data.numberColumn(intervalColumn)), data.numberColumn(targetColumn).asDoubleArray());
+    }
+
+    /**
+     * Constructor to index interval numbers and their actual values.
+     *
+     * @param intervals Interval number of every row
+     * @param actuals   Actual value of every row
+     */
+    public Backtester(long[] intervals, double[] actuals) {
+        if (intervals.length != actuals.length) {
+            throw new IllegalArgumentException("Got " + intervals.length + " intervals but " + actuals.length + " values");
+        }
+        this.index = new IntervalIndex(intervals);
+        this.actuals = actuals;
+    }
+
+    /**
+     * Reads a numeric column of interval numbers into a primitive array.
+     *
+     * @param column Column holding whole interval numbers
+     * @return       Interval number of every row
+     */
+    private static long[] intervals(NumericColumn<?> column) {
+        long[] intervals = new long[column.size()];
+        for (int i = 0; i < intervals.length; i++) {
+            intervals[i] = (long) column.getDouble(i);
+        }
+        return intervals;
+    }
+
+    /**
+     * Predicts the intervals firstInterval, firstInterval + 1, ..., firstInterval + horizon - 1 and compares
+     * every prediction with the actual value of that interval, if the data has one.
+     *
+     * @param predictor     Compiled regression model
+     * @param features      Writes the input features of an interval into a reused array of numFeatures values
+     * @param firstInterval First interval number to predict
+     * @param horizon       Number of consecutive intervals to predict
+     * @param sink          Receives one record per interval, in order
+     * @return              Error statistics over the intervals that have an actual value
+     */
+    public ErrorStatistics run(MultivariatePolynomialPredictor predictor, ObjLongConsumer<double[]> features,
+                               long firstInterval, int horizon, BacktestSink sink) {
+        if (horizon < 0) {
+            throw new IllegalArgumentException("Horizon must not be negative, but received " + horizon);
+        }
+        ErrorStatistics statistics = new ErrorStatistics();
+        double[] input = new double[predictor.getNumFeatures()];
+        for (int step = 0; step < horizon; step++) {
+            long interval = firstInterval + step;
+            features.accept(input, interval);
+            double predicted = predictor.predict(input);
+
+            int row = index.get(interval);
+            if (row < 0) {
+                sink.accept(interval, predicted, Double.NaN, Double.NaN);
+            } else {
+                double actual = actuals[row];
+                statistics.add(actual, predicted);
+                sink.accept(interval, predicted, actual, actual - predicted);
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Gets the row of an interval in the indexed data.
+     *
+     * @param interval Interval number
+     * @return         Row index, or -1 if the data has no row for the interval
+     */
+    public int rowOf(long interval) {
+        return index.get(interval);
+    }
+}
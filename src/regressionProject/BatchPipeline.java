@@ -0,0 +1,179 @@
+package regressionProject;
+
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * BatchPipeline - Training input pipeline that shuffles and prefetches mini-batches.
+ * At the start of every epoch the sample order is optionally reshuffled with a seeded random number
+ * generator, then a background thread gathers the samples of each batch into contiguous row-major
+ * buffers. Two buffers are used in turn (double-buffering): while the training thread works on one
+ * batch, the background thread fills the next, so scattered row copies never stall the compute loop.
+ *
+ * Typical use per epoch: {@link #startEpoch()}, then {@link #next()} until it returns null, calling
+ * {@link #release(Batch)} once each batch has been consumed. Close the pipeline when training ends.
+ */
+public class BatchPipeline implements AutoCloseable {
+    private static final Batch END_OF_EPOCH = new Batch(0, 0, 0); // Marks the end of the batches of an epoch
+
+    private final BatchSource source;         // Where samples are gathered from
+    private final int batchSize;              // Maximum number of samples per batch
+    private final int rows;                   // Number of leading samples of the source that are used
+    private final boolean shuffle;            // Whether to reshuffle the sample order every epoch
+    private final Random random;              // Seeded generator for the shuffles
+    private final int[] order;                // Sample order of the current epoch
+    private final BlockingQueue<Batch> free;  // Buffers ready to be filled
+    private final BlockingQueue<Batch> ready; // Filled buffers waiting to be consumed
+    private final ExecutorService prefetcher; // Background thread that gathers batches
+    private volatile Throwable failure;       // Error raised while gathering, rethrown to the consumer
+
+    /**
+     * Constructor to create a pipeline over the first {@code rows} samples of a source.
+     *
+     * @param source    Dataset to draw samples from
+     * @param batchSize Maximum number of samples per batch
+     * @param rows      Number of leading samples to use (the rest can be held out for validation)
+     * @param shuffle   Whether to reshuffle the sample order every epoch
+     * @param seed      Seed for the shuffles, making the batch order reproducible
+     */
+    public BatchPipeline(BatchSource source, int batchSize, int rows, boolean shuffle, long seed) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive, but received " + batchSize);
+        }
+        if (rows <= 0 || rows > source.size()) {
+            throw new IllegalArgumentException("Row count must be in [1, " + source.size() + "], but received " + rows);
+        }
+        this.source = source;
+        this.batchSize = batchSize;
+        this.rows = rows;
+        this.shuffle = shuffle;
+        this.random = new Random(seed);
+        this.order = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            order[i] = i;
+        }
+
+        int capacity = Math.min(batchSize, rows);
+        this.free = new ArrayBlockingQueue<>(2);
+        this.ready = new ArrayBlockingQueue<>(3);
+        free.add(new Batch(capacity, source.inputSize(), source.targetSize()));
+        free.add(new Batch(capacity, source.inputSize(), source.targetSize()));
+        this.prefetcher = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "batch-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts gathering the batches of a new epoch in the background. All batches of the previous
+     * epoch must have been consumed first.
+     */
+    public void startEpoch() {
+        prefetcher.execute(() -> {
+            try {
+                if (shuffle) {
+                    // Fisher-Yates shuffle, done on the prefetch thread so the sequence depends only on the seed
+                    for (int i = rows - 1; i > 0; i--) {
+                        int j = random.nextInt(i + 1);
+                        int swap = order[i];
+                        order[i] = order[j];
+                        order[j] = swap;
+                    }
+                }
+                for (int start = 0; start < rows; start += batchSize) {
+                    Batch batch = free.take();
+                    batch.rows = Math.min(batchSize, rows - start);
+                    source.gather(order, start, batch.rows, batch.inputs, batch.targets);
+                    ready.put(batch);
+                }
+                ready.put(END_OF_EPOCH);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Pipeline closed
+            } catch (Throwable e) {
+                // Anything else, Errors included, must still release the consumer
+                failure = e;
+                ready.offer(END_OF_EPOCH);
+            }
+        });
+    }
+
+    /**
+     * Waits for the next gathered batch of the current epoch.
+     *
+     * @return The next batch, or null once every batch of the epoch has been returned
+     * @throws InterruptedException If the calling thread is interrupted while waiting
+     */
+    public Batch next() throws InterruptedException {
+        Batch batch = ready.take();
+        Throwable error = failure;
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        if (error != null) {
+            throw new IllegalStateException("Failed to gather training batch", error);
+        }
+        return batch == END_OF_EPOCH ? null : batch;
+    }
+
+    /**
+     * Hands a consumed batch buffer back so the background thread can refill it.
+     *
+     * @param batch Batch previously returned by {@link #next()}
+     */
+    public void release(Batch batch) {
+        free.add(batch);
+    }
+
+    /**
+     * Stops the background thread.
+     */
+    @Override
+    public void close() {
+        prefetcher.shutdownNow();
+    }
+
+    /**
+     * Batch - A contiguous, row-major buffer holding the inputs and targets of one mini-batch.
+     */
+    public static final class Batch {
+        private final double[] inputs;  // Input values, [row][input] row-major
+        private final double[] targets; // Target values, [row][target] row-major
+        private int rows;               // Number of valid rows in this batch
+
+        private Batch(int capacity, int inputSize, int targetSize) {
+            this.inputs = new double[capacity * inputSize];
+            this.targets = new double[capacity * targetSize];
+        }
+
+        /**
+         * Gets the input buffer; only the first {@link #getRows()} rows are valid.
+         *
+         * @return Row-major input values
+         */
+        public double[] getInputs() {
+            return inputs;
+        }
+
+        /**
+         * Gets the target buffer; only the first {@link #getRows()} rows are valid.
+         *
+         * @return Row-major target values
+         */
+        public double[] getTargets() {
+            return targets;
+        }
+
+        /**
+         * Gets the number of samples in this batch.
+         *
+         * @return Number of valid rows
+         */
+        public int getRows() {
+            return rows;
+        }
+    }
+}
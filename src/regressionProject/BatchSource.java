@@ -0,0 +1,42 @@
+package regressionProject;
+
+/**
+ * BatchSource - A training dataset that can copy selected samples into contiguous batch buffers.
+ * Implementations decide how samples are stored; the training pipeline only asks for rows by index,
+ * so arrays, tables or memory-mapped files can all feed a network the same way.
+ */
+public interface BatchSource {
+
+    /**
+     * Gets the number of samples in the dataset.
+     *
+     * @return Number of samples
+     */
+    int size();
+
+    /**
+     * Gets the number of input values per sample.
+     *
+     * @return Input width
+     */
+    int inputSize();
+
+    /**
+     * Gets the number of target values per sample.
+     *
+     * @return Target width
+     */
+    int targetSize();
+
+    /**
+     * Copies the samples indices[from, from + count) into row-major buffers, so that sample
+     * indices[from + r] ends up in row r of both buffers.
+     *
+     * @param indices Sample indices
+     * @param from    First position in indices to copy
+     * @param count   Number of samples to copy
+     * @param inputs  Destination for input values, at least count * inputSize() long
+     * @param targets Destination for target values, at least count * targetSize() long
+     */
+    void gather(int[] indices, int from, int count, double[] inputs, double[] targets);
+}
@@ -0,0 +1,253 @@
+package regressionProject;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * ColumnarCache - Binary columnar copy of a parsed data file, so later runs can skip parsing the CSV.
+ *
+ * A cache file starts with a 64-byte little-endian header:
+ * <pre>
+ *   0  int  magic "RGPC"
+ *   4  int  format version
+ *   8  int  number of additional feature columns
+ *  12  int  reserved (0)
+ *  16  long number of rows
+ *  24  long fingerprint of the source file and the column configuration
+ *  32  long reserved (0)
+ *  40  long reserved (0)
+ *  48  long reserved (0)
+ *  56  long CRC-32C checksum of header bytes 0 to 55
+ * </pre>
+ * followed by the interval column (long per row), the target column (double per row) and every feature
+ * column (double per row), each a contiguous array.
+ *
+ * Opening maps every column with {@link FileChannel#map} and exposes it as a buffer view, so nothing is
+ * parsed or copied. The payload is not checksummed on open, because that would read every byte of a
+ * multi-gigabyte file; the cache is derived data that is rebuilt whenever its header does not match.
+ */
+public final class ColumnarCache {
+    private static final int MAGIC = 0x43504752;       // Bytes "RGPC" read as a little-endian int
+    private static final int VERSION = 1;              // Current format version
+    private static final int HEADER_BYTES = 64;        // Size of the fixed header
+    private static final int SAMPLE_BYTES = 64 * 1024; // Bytes of the source head and tail in the fingerprint
+    private static final int WRITE_BUFFER_BYTES = 1 << 20; // Size of the buffer columns are written through
+
+    private ColumnarCache() {
+        // Utility class, not meant to be instantiated
+    }
+
+    /**
+     * Computes the fingerprint of a source file: its size, modification time, first and last 64 KiB, and a
+     * description of how its columns were extracted. Any change to the file or the configuration changes
+     * the fingerprint with near certainty, without reading the whole file.
+     *
+     * @param source        Source data file
+     * @param configuration Description of the extraction, such as the column names and interval settings
+     * @return              Fingerprint to store in and compare against the cache header
+     * @throws IOException  If the source file cannot be read
+     */
+    public static long fingerprint(Path source, String configuration) throws IOException {
+        CRC32C crc = new CRC32C();
+        long size;
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(2 * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(size).putLong(Files.getLastModifiedTime(source).toMillis()).flip();
+            crc.update(header);
+
+            ByteBuffer sample = ByteBuffer.allocate(SAMPLE_BYTES);
+            readFully(channel, sample, 0);
+            crc.update(sample.flip());
+            if (size > SAMPLE_BYTES) {
+                sample.clear();
+                readFully(channel, sample, Math.max(SAMPLE_BYTES, size - SAMPLE_BYTES));
+                crc.update(sample.flip());
+            }
+        }
+        crc.update(configuration.getBytes(StandardCharsets.UTF_8));
+        // CRC-32C fills the low 32 bits; the size in the high bits separates files of different lengths further
+        return (size << 32) ^ crc.getValue();
+    }
+
+    /**
+     * Reads from a channel until the buffer is full or the end of the file is reached.
+     *
+     * @param channel  Channel to read from
+     * @param buffer   Buffer to fill
+     * @param position File position of the first byte
+     * @throws IOException If the file cannot be read
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return;
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Writes a cache file to a temporary file, then moves it into place so readers never observe a
+     * half-written cache.
+     *
+     * @param path        Destination file, replaced if it exists
+     * @param fingerprint Fingerprint of the source, see {@link #fingerprint(Path, String)}
+     * @param intervals   Interval number of every row
+     * @param target      Target value of every row
+     * @param features    Additional feature columns, each with one value per row
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(Path path, long fingerprint, long[] intervals, double[] target, double[][] features)
+            throws IOException {
+        int rows = intervals.length;
+        if (target.length != rows) {
+            throw new IllegalArgumentException("Got " + rows + " intervals but " + target.length + " target values");
+        }
+        for (int j = 0; j < features.length; j++) {
+            if (features[j].length != rows) {
+                throw new IllegalArgumentException("Feature column " + j + " has " + features[j].length
+                        + " values, expected " + rows);
+            }
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(features.length).putInt(0)
+                .putLong(rows).putLong(fingerprint).putLong(0).putLong(0).putLong(0);
+        CRC32C crc = new CRC32C();
+        crc.update(header.array(), 0, HEADER_BYTES - Long.BYTES);
+        header.putLong(crc.getValue()).flip();
+
+        Path absolute = path.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            int chunk = WRITE_BUFFER_BYTES / Long.BYTES;
+            for (int start = 0; start < rows; start += chunk) {
+                int count = Math.min(chunk, rows - start);
+                buffer.clear();
+                buffer.asLongBuffer().put(intervals, start, count);
+                buffer.limit(count * Long.BYTES);
+                writeFully(channel, buffer);
+            }
+            writeColumn(channel, buffer, target);
+            for (double[] feature : features) {
+                writeColumn(channel, buffer, feature);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes a double column through a reusable buffer.
+     *
+     * @param channel Channel to write to
+     * @param buffer  Little-endian scratch buffer
+     * @param values  Column values
+     * @throws IOException If the file cannot be written
+     */
+    private static void writeColumn(FileChannel channel, ByteBuffer buffer, double[] values) throws IOException {
+        int chunk = buffer.capacity() / Double.BYTES;
+        for (int start = 0; start < values.length; start += chunk) {
+            int count = Math.min(chunk, values.length - start);
+            buffer.clear();
+            buffer.asDoubleBuffer().put(values, start, count);
+            buffer.limit(count * Double.BYTES);
+            writeFully(channel, buffer);
+        }
+    }
+
+    /**
+     * Writes all remaining bytes of a buffer.
+     *
+     * @param channel Channel to write to
+     * @param buffer  Bytes to write
+     * @throws IOException If the file cannot be written
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Maps a cache file if it is valid for the given source fingerprint.
+     *
+     * @param path        Cache file
+     * @param fingerprint Current fingerprint of the source, see {@link #fingerprint(Path, String)}
+     * @return            Dataset backed by the mapped file, or null if the file is missing, stale or damaged
+     * @throws IOException If the file exists but cannot be read
+     */
+    public static ColumnarDataset open(Path path, long fingerprint) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                return null;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, 0);
+            header.flip();
+            CRC32C crc = new CRC32C();
+            crc.update(header.array(), 0, HEADER_BYTES - Long.BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION
+                    || header.getLong(HEADER_BYTES - Long.BYTES) != crc.getValue()) {
+                return null;
+            }
+            int featureCount = header.getInt();
+            header.getInt(); // Reserved
+            long rows = header.getLong();
+            if (header.getLong() != fingerprint || featureCount < 0 || rows < 0
+                    || size != HEADER_BYTES + rows * Long.BYTES * (2L + featureCount)) {
+                return null;
+            }
+            long columnBytes = rows * Long.BYTES;
+            if (columnBytes > Integer.MAX_VALUE) {
+                throw new IOException("Cache file " + path + " has " + rows + " rows, more than one column can map");
+            }
+
+            // One mapping per column keeps every mapping below the 2 GB limit of a single buffer
+            long offset = HEADER_BYTES;
+            MappedByteBuffer intervals = channel.map(FileChannel.MapMode.READ_ONLY, offset, columnBytes);
+            offset += columnBytes;
+            DoubleBuffer target = mapDoubles(channel, offset, columnBytes);
+            offset += columnBytes;
+            DoubleBuffer[] features = new DoubleBuffer[featureCount];
+            for (int j = 0; j < featureCount; j++) {
+                features[j] = mapDoubles(channel, offset, columnBytes);
+                offset += columnBytes;
+            }
+            return new ColumnarDataset(intervals.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer(), target, features);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Maps a double column of a cache file.
+     *
+     * @param channel Open cache file
+     * @param offset  File position of the column
+     * @param bytes   Length of the column in bytes
+     * @return        Little-endian view of the column
+     * @throws IOException If the file cannot be mapped
+     */
+    private static DoubleBuffer mapDoubles(FileChannel channel, long offset, long bytes) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, bytes).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+    }
+}
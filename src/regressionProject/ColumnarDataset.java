@@ -0,0 +1,141 @@
+package regressionProject;
+
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * ColumnarDataset - The interval, target and feature columns of a loaded data file, each held as one
+ * contiguous primitive buffer. Datasets opened by {@link ColumnarCache} are backed directly by the
+ * memory-mapped cache file, so no value is parsed or copied until it is read.
+ *
+ * The column views returned by the getters are read-only duplicates, so callers can move their positions
+ * freely. The array getters copy the columns into the layouts the models take.
+ */
+public final class ColumnarDataset {
+    private final int rows;                 // Number of rows
+    private final LongBuffer intervals;     // Interval number of every row
+    private final DoubleBuffer target;      // Target value of every row
+    private final DoubleBuffer[] features;  // Additional feature columns
+
+    /**
+     * Constructor used by {@link ColumnarCache}.
+     *
+     * @param intervals Interval column
+     * @param target    Target column, same length as intervals
+     * @param features  Additional feature columns, each the same length as intervals
+     */
+    ColumnarDataset(LongBuffer intervals, DoubleBuffer target, DoubleBuffer[] features) {
+        this.rows = intervals.remaining();
+        this.intervals = intervals.asReadOnlyBuffer();
+        this.target = target.asReadOnlyBuffer();
+        this.features = new DoubleBuffer[features.length];
+        for (int i = 0; i < features.length; i++) {
+            this.features[i] = features[i].asReadOnlyBuffer();
+        }
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return Row count
+     */
+    public int rowCount() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of additional feature columns, not counting the interval column.
+     *
+     * @return Feature column count
+     */
+    public int featureColumnCount() {
+        return features.length;
+    }
+
+    /**
+     * Gets a view of the interval column.
+     *
+     * @return Read-only buffer positioned at the first row
+     */
+    public LongBuffer intervalColumn() {
+        return intervals.duplicate();
+    }
+
+    /**
+     * Gets a view of the target column.
+     *
+     * @return Read-only buffer positioned at the first row
+     */
+    public DoubleBuffer targetColumn() {
+        return target.duplicate();
+    }
+
+    /**
+     * Gets a view of one additional feature column.
+     *
+     * @param column Index of the column, in the order the feature columns were configured
+     * @return       Read-only buffer positioned at the first row
+     */
+    public DoubleBuffer featureColumn(int column) {
+        return features[column].duplicate();
+    }
+
+    /**
+     * Copies the interval column into an array.
+     *
+     * @return Interval number of every row
+     */
+    public long[] getIntervals() {
+        long[] values = new long[rows];
+        intervals.duplicate().get(values);
+        return values;
+    }
+
+    /**
+     * Copies the target column into an array, like {@link DataLoader#getTargetValues}.
+     *
+     * @return Target value of every row
+     */
+    public double[] getTargetValues() {
+        double[] values = new double[rows];
+        target.duplicate().get(values);
+        return values;
+    }
+
+    /**
+     * Builds the input features for regression, like {@link DataLoader#getFeatureMatrix}: the interval
+     * number followed by the additional feature columns. Every column is one bulk copy out of its mapping.
+     *
+     * @return Column-major matrix of feature values, one row per observation
+     */
+    public FeatureMatrix getFeatureMatrix() {
+        FeatureMatrix matrix = FeatureMatrix.columnMajor(rows, features.length + 1);
+        double[] values = matrix.getValues();
+        LongBuffer intervalView = intervals.duplicate();
+        for (int i = 0; i < rows; i++) {
+            values[i] = intervalView.get(i);
+        }
+        for (int j = 0; j < features.length; j++) {
+            features[j].duplicate().get(values, (j + 1) * rows, rows);
+        }
+        return matrix;
+    }
+
+    /**
+     * Builds the input features for regression as one array per row, see {@link #getFeatureMatrix()}.
+     *
+     * @return 2D array of feature values, where each row corresponds to an observation
+     */
+    public double[][] getFeatureValues() {
+        return getFeatureMatrix().toRows();
+    }
+
+    /**
+     * Exposes the features and target as a training source for the neural network.
+     *
+     * @return BatchSource with one sample per row and the target column as its single output
+     */
+    public BatchSource getBatchSource() {
+        return new FeatureMatrixBatchSource(getFeatureMatrix(), getTargetValues());
+    }
+}
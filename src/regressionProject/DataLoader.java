@@ -2,10 +2,12 @@ package regressionProject;
 
 import tech.tablesaw.api.Table;
 import tech.tablesaw.api.DoubleColumn;
-import tech.tablesaw.api.IntColumn;
-import tech.tablesaw.api.NumericColumn;
+import tech.tablesaw.columns.Column;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * DataLoader - A utility class to load, process, and retrieve data from a CSV file.
@@ -46,13 +48,19 @@ public class DataLoader {
     public Table loadData() throws IOException {
         Table stockData = Table.read().csv(filePath);
 
-        // Convert timestamps to intervals of 30 minutes since the start date
-        DoubleColumn intervalsColumn = DoubleColumn.create("intervals_since_start");
-        for (String dateString : stockData.stringColumn(dateColumn)) {
-            long intervals = dateConverter.dateToIntervals(dateString);
-            intervalsColumn.append(intervals);
+        // Convert timestamps to intervals since the start date in one bulk pass
+        // Read as plain strings: large files of unique timestamps come back as a TextColumn, not a StringColumn
+        Column<?> dates = stockData.column(dateColumn);
+        String[] dateStrings = new String[dates.size()];
+        for (int i = 0; i < dateStrings.length; i++) {
+            dateStrings[i] = dates.getString(i);
         }
-        stockData.addColumns(intervalsColumn);
+        long[] intervals = dateConverter.datesToIntervals(dateStrings);
+        double[] intervalValues = new double[intervals.length];
+        for (int i = 0; i < intervals.length; i++) {
+            intervalValues[i] = intervals[i];
+        }
+        stockData.addColumns(DoubleColumn.create("intervals_since_start", intervalValues));
 
         // Verify that all additional feature columns are present in the data
         for (String featureColumn : featureColumns) {
@@ -65,6 +73,62 @@ public class DataLoader {
         return stockData;
     }
 
+    /**
+     * Method to load the interval, target and feature columns through a binary columnar cache.
+     * The first load parses the CSV file and writes the cache; later loads map the cache file and skip
+     * parsing entirely, until the CSV file or the column configuration changes.
+     *
+     * @param cachePath Path of the cache file, created or replaced as needed
+     * @return          Columns of the data, backed by the memory-mapped cache file
+     * @throws IOException If the CSV file or the cache file cannot be read or written
+     */
+    public ColumnarDataset loadCached(Path cachePath) throws IOException {
+        long fingerprint = ColumnarCache.fingerprint(Paths.get(filePath), describeColumns());
+        ColumnarDataset cached = ColumnarCache.open(cachePath, fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Missing or stale cache: parse the CSV file once and store its columns
+        Table stockData = loadData();
+        DoubleColumn intervalsColumn = stockData.doubleColumn("intervals_since_start");
+        long[] intervals = new long[intervalsColumn.size()];
+        for (int i = 0; i < intervals.length; i++) {
+            intervals[i] = (long) intervalsColumn.getDouble(i);
+        }
+        double[][] features = new double[featureColumns.size()][];
+        for (int j = 0; j < features.length; j++) {
+            features[j] = getColumnValues(stockData, featureColumns.get(j));
+        }
+        ColumnarCache.write(cachePath, fingerprint, intervals, getTargetValues(stockData), features);
+        return ColumnarCache.open(cachePath, fingerprint);
+    }
+
+    /**
+     * Method to stream the CSV file in bounded chunks instead of loading it into one table, for files that
+     * do not fit in memory. Each chunk holds the same features and targets as {@link #getFeatureValues} and
+     * {@link #getTargetValues}, and the next chunk is parsed while the consumer works on the current one.
+     *
+     * @param chunkRows Maximum number of rows per chunk
+     * @param consumer  Receives each chunk on the calling thread; chunks are reused after it returns
+     * @return          Total number of rows read
+     * @throws IOException If the CSV file cannot be read or parsed
+     */
+    public long stream(int chunkRows, Consumer<StreamingCsvLoader.Chunk> consumer) throws IOException {
+        return new StreamingCsvLoader(Paths.get(filePath), dateColumn, targetColumn, featureColumns, dateConverter, chunkRows)
+                .load(consumer);
+    }
+
+    /**
+     * Describes how the columns are extracted, so that a cache built with other settings is not reused.
+     *
+     * @return Column names and interval settings as text
+     */
+    private String describeColumns() {
+        return dateColumn + "|" + targetColumn + "|" + String.join(",", featureColumns) + "|"
+                + dateConverter.intervalsToDate(0) + "|" + dateConverter.getIntervalLength();
+    }
+
     /**
      * Method to retrieve the target variable (e.g., price) as an array.
      *
@@ -76,38 +140,51 @@ public class DataLoader {
     }
 
     /**
-     * Method to retrieve input features for regression as a 2D array.
+     * Method to retrieve input features for regression as a column-major matrix: intervals_since_start
+     * followed by the additional feature columns, each copied in one piece from its table column.
      *
      * @param stockData Table containing the stock data
-     * @return          2D array of feature values, where each row corresponds to an observation
+     * @return          Matrix of feature values, one row per observation
      */
-    public double[][] getFeatureValues(Table stockData) {
-        int numRows = stockData.rowCount();
-        int numFeatures = featureColumns.size() + 1; // includes intervals_since_start and additional columns
-
-        double[][] features = new double[numRows][numFeatures];
-        
-        // Populate the first feature column with values from intervals_since_start
-        DoubleColumn intervalsColumn = stockData.doubleColumn("intervals_since_start");
-        for (int i = 0; i < numRows; i++) {
-            features[i][0] = intervalsColumn.get(i);
-        }
-
-        // Populate remaining feature columns with values from additional feature columns
+    public FeatureMatrix getFeatureMatrix(Table stockData) {
+        FeatureMatrix features = FeatureMatrix.columnMajor(stockData.rowCount(), featureColumns.size() + 1);
+        features.setColumn(0, stockData.doubleColumn("intervals_since_start").asDoubleArray());
         for (int j = 0; j < featureColumns.size(); j++) {
-            NumericColumn<?> numericColumn = stockData.numberColumn(featureColumns.get(j)); // Fetch as NumericColumn
+            features.setColumn(j + 1, getColumnValues(stockData, featureColumns.get(j)));
+        }
+        return features;
+    }
 
-            // Convert IntColumn to DoubleColumn if necessary
-            if (numericColumn instanceof IntColumn) {
-                numericColumn = ((IntColumn) numericColumn).asDoubleColumn();
-            }
+    /**
+     * Method to retrieve input features for regression as a 2D array, see {@link #getFeatureMatrix}.
+     *
+     * @param stockData Table containing the stock data
+     * @return          2D array of feature values, where each row corresponds to an observation
+     */
+    public double[][] getFeatureValues(Table stockData) {
+        return getFeatureMatrix(stockData).toRows();
+    }
 
-            // Fill feature array with values from the column, starting at index 1
-            for (int i = 0; i < numRows; i++) {
-                features[i][j + 1] = numericColumn.getDouble(i); // Start at index 1 to leave room for intervals_since_start
-            }
-        }
+    /**
+     * Method to retrieve one numeric column as an array of doubles.
+     *
+     * @param stockData  Table containing the stock data
+     * @param columnName Name of a numeric column
+     * @return           Values of the column
+     */
+    private double[] getColumnValues(Table stockData, String columnName) {
+        // asDoubleArray widens integer columns directly, without an intermediate DoubleColumn
+        return stockData.numberColumn(columnName).asDoubleArray();
+    }
 
-        return features;
+    /**
+     * Method to expose the loaded features and target as a training source for the neural network,
+     * for use with {@link NeuralNetwork#train(BatchSource, TrainingOptions)}.
+     *
+     * @param stockData Table containing the stock data
+     * @return          BatchSource with one sample per row and the target column as its single output
+     */
+    public BatchSource getBatchSource(Table stockData) {
+        return new FeatureMatrixBatchSource(getFeatureMatrix(stockData), getTargetValues(stockData));
     }
 }
@@ -1,54 +1,301 @@
 package regressionProject;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 
 /**
- * DateConverter - A utility class to convert dates into intervals (in 30-minute increments)
+ * DateConverter - A utility class to convert dates into intervals (30 minutes long unless configured otherwise)
  * since a specified start date. This class also supports conversion from intervals back to dates.
  * Useful for time series analysis where dates need to be standardized into consistent intervals.
+ *
+ * Timestamps in the fixed layout "yyyy-MM-dd HH:mm:ss+01:00" (or with a "Z" offset) are parsed directly from
+ * their characters or bytes into epoch seconds, without creating any objects, and an interval is an integer
+ * division against the precomputed start epoch. Any text that does not fit the layout exactly is handed to
+ * the {@link DateTimeFormatter}, so it is accepted or rejected just as before.
  */
 public class DateConverter {
-    private OffsetDateTime startDate;                     // The start date for interval calculations
-    private OffsetDateTime endDate;                       // The end date for reference purposes
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ssXXX");
+    private static final ZoneOffset OUTPUT_OFFSET = ZoneOffset.of("+01:00"); // Offset of the formatted dates
+    private static final int LOCAL_LENGTH = 19;                            // Length of "yyyy-MM-dd HH:mm:ss"
+
+    private final OffsetDateTime startDate;  // The start date for interval calculations
+    private final OffsetDateTime endDate;    // The end date for reference purposes
+    private final long startEpochSecond;     // Start date in seconds since 1970-01-01T00:00Z
+    private final long intervalSeconds;      // Length of one interval in seconds
 
     /**
-     * Constructor to initialize DateConverter with start and end dates.
+     * Constructor to initialize DateConverter with start and end dates and 30-minute intervals.
      * Both dates are expected in the format "yyyy-MM-dd HH:mm:ss+01:00".
      *
      * @param startDateString Start date as a string
      * @param endDateString   End date as a string
      */
     public DateConverter(String startDateString, String endDateString) {
-        this.startDate = OffsetDateTime.parse(startDateString, formatter).withOffsetSameInstant(ZoneOffset.of("+01:00"));
-        this.endDate = OffsetDateTime.parse(endDateString, formatter).withOffsetSameInstant(ZoneOffset.of("+01:00"));
+        this(startDateString, endDateString, Duration.ofMinutes(30));
+    }
+
+    /**
+     * Constructor to initialize DateConverter with start and end dates and a custom interval length.
+     * Both dates are expected in the format "yyyy-MM-dd HH:mm:ss+01:00".
+     *
+     * @param startDateString Start date as a string
+     * @param endDateString   End date as a string
+     * @param intervalLength  Length of one interval, a positive whole number of seconds
+     */
+    public DateConverter(String startDateString, String endDateString, Duration intervalLength) {
+        if (intervalLength.isNegative() || intervalLength.isZero() || intervalLength.getNano() != 0) {
+            throw new IllegalArgumentException("Interval length must be a positive whole number of seconds, but received "
+                    + intervalLength);
+        }
+        this.startDate = OffsetDateTime.parse(startDateString, formatter).withOffsetSameInstant(OUTPUT_OFFSET);
+        this.endDate = OffsetDateTime.parse(endDateString, formatter).withOffsetSameInstant(OUTPUT_OFFSET);
+        this.startEpochSecond = startDate.toEpochSecond();
+        this.intervalSeconds = intervalLength.getSeconds();
     }
 
     /**
-     * Converts a date string to the number of 30-minute intervals since the start date.
+     * Converts a date string to the number of intervals since the start date.
      *
      * @param dateString Date to be converted, in format "yyyy-MM-dd HH:mm:ss+01:00"
-     * @return           Number of 30-minute intervals from the start date
+     * @return           Number of whole intervals from the start date (rounded towards the start date)
      */
     public long dateToIntervals(String dateString) {
-        OffsetDateTime date = OffsetDateTime.parse(dateString, formatter).withOffsetSameInstant(ZoneOffset.of("+01:00"));
-        return ChronoUnit.MINUTES.between(startDate, date) / 30;
+        return secondsToIntervals(parseEpochSecond(dateString));
     }
 
     /**
-     * Converts the number of 30-minute intervals since the start date back to a formatted date string.
+     * Converts an ASCII date in a byte buffer, such as a field of a CSV line, to the number of intervals
+     * since the start date.
      *
-     * @param intervals Number of 30-minute intervals from the start date
+     * @param bytes  Buffer holding the date
+     * @param offset Index of the first character of the date
+     * @param length Number of characters in the date
+     * @return       Number of whole intervals from the start date (rounded towards the start date)
+     */
+    public long dateToIntervals(byte[] bytes, int offset, int length) {
+        return secondsToIntervals(parseEpochSecond(bytes, offset, length));
+    }
+
+    /**
+     * Converts a date to the number of intervals since the start date.
+     *
+     * @param date Date to be converted
+     * @return     Number of whole intervals from the start date (rounded towards the start date)
+     */
+    public long dateToIntervals(OffsetDateTime date) {
+        return secondsToIntervals(date.toEpochSecond());
+    }
+
+    /**
+     * Converts a whole column of date strings to intervals since the start date.
+     *
+     * @param dateStrings Dates to be converted, in format "yyyy-MM-dd HH:mm:ss+01:00"
+     * @return            Number of intervals from the start date for every date
+     */
+    public long[] datesToIntervals(String[] dateStrings) {
+        long[] intervals = new long[dateStrings.length];
+        for (int i = 0; i < dateStrings.length; i++) {
+            intervals[i] = secondsToIntervals(parseEpochSecond(dateStrings[i]));
+        }
+        return intervals;
+    }
+
+    /**
+     * Converts an epoch second to the number of intervals since the start date.
+     *
+     * @param epochSecond Seconds since 1970-01-01T00:00Z
+     * @return            Number of whole intervals, truncated towards zero like the minute count it replaces
+     */
+    private long secondsToIntervals(long epochSecond) {
+        return (epochSecond - startEpochSecond) / intervalSeconds;
+    }
+
+    /**
+     * Converts the number of intervals since the start date back to a formatted date string.
+     *
+     * @param intervals Number of intervals from the start date
      * @return          Date string in the format "yyyy-MM-dd HH:mm:ss+01:00"
      */
     public String intervalsToDate(long intervals) {
-        OffsetDateTime date = startDate.plusMinutes(intervals * 30);
+        OffsetDateTime date = startDate.plusSeconds(intervals * intervalSeconds);
         return date.format(formatter);
     }
 
+    /**
+     * Parses a date in the format "yyyy-MM-dd HH:mm:ssXXX" into seconds since the epoch.
+     *
+     * @param text Date to be parsed
+     * @return     Seconds since 1970-01-01T00:00Z
+     */
+    public static long parseEpochSecond(CharSequence text) {
+        int length = text.length();
+        if (length >= LOCAL_LENGTH && text.charAt(4) == '-' && text.charAt(7) == '-' && text.charAt(10) == ' '
+                && text.charAt(13) == ':' && text.charAt(16) == ':') {
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 2);
+            int day = digits(text, 8, 2);
+            int hour = digits(text, 11, 2);
+            int minute = digits(text, 14, 2);
+            int second = digits(text, 17, 2);
+            int offset = -1;
+            if (length == LOCAL_LENGTH + 1 && text.charAt(LOCAL_LENGTH) == 'Z') {
+                offset = 0;
+            } else if (length == LOCAL_LENGTH + 6 && text.charAt(LOCAL_LENGTH + 3) == ':') {
+                char sign = text.charAt(LOCAL_LENGTH);
+                int hours = digits(text, LOCAL_LENGTH + 1, 2);
+                int minutes = digits(text, LOCAL_LENGTH + 4, 2);
+                if ((sign == '+' || sign == '-') && hours >= 0 && minutes >= 0) {
+                    offset = offsetSeconds(sign == '-', hours, minutes);
+                }
+            }
+            long epochSecond = epochSecond(year, month, day, hour, minute, second, offset);
+            if (epochSecond != Long.MIN_VALUE) {
+                return epochSecond;
+            }
+        }
+        // Anything outside the fixed layout is parsed, or rejected, by the formatter
+        return OffsetDateTime.parse(text, formatter).toEpochSecond();
+    }
+
+    /**
+     * Parses an ASCII date in the format "yyyy-MM-dd HH:mm:ssXXX" from a byte buffer into seconds since the epoch.
+     *
+     * @param bytes  Buffer holding the date
+     * @param offset Index of the first character of the date
+     * @param length Number of characters in the date
+     * @return       Seconds since 1970-01-01T00:00Z
+     */
+    public static long parseEpochSecond(byte[] bytes, int offset, int length) {
+        if (length >= LOCAL_LENGTH && bytes[offset + 4] == '-' && bytes[offset + 7] == '-' && bytes[offset + 10] == ' '
+                && bytes[offset + 13] == ':' && bytes[offset + 16] == ':') {
+            int year = digits(bytes, offset, 4);
+            int month = digits(bytes, offset + 5, 2);
+            int day = digits(bytes, offset + 8, 2);
+            int hour = digits(bytes, offset + 11, 2);
+            int minute = digits(bytes, offset + 14, 2);
+            int second = digits(bytes, offset + 17, 2);
+            int zone = -1;
+            int end = offset + LOCAL_LENGTH;
+            if (length == LOCAL_LENGTH + 1 && bytes[end] == 'Z') {
+                zone = 0;
+            } else if (length == LOCAL_LENGTH + 6 && bytes[end + 3] == ':') {
+                byte sign = bytes[end];
+                int hours = digits(bytes, end + 1, 2);
+                int minutes = digits(bytes, end + 4, 2);
+                if ((sign == '+' || sign == '-') && hours >= 0 && minutes >= 0) {
+                    zone = offsetSeconds(sign == '-', hours, minutes);
+                }
+            }
+            long epochSecond = epochSecond(year, month, day, hour, minute, second, zone);
+            if (epochSecond != Long.MIN_VALUE) {
+                return epochSecond;
+            }
+        }
+        return parseEpochSecond(new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Reads a fixed number of decimal digits.
+     *
+     * @param text  Characters holding the digits
+     * @param start Index of the first digit
+     * @param count Number of digits
+     * @return      Value of the digits, or -1 if any character is not a digit
+     */
+    private static int digits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Reads a fixed number of ASCII decimal digits.
+     *
+     * @param bytes Buffer holding the digits
+     * @param start Index of the first digit
+     * @param count Number of digits
+     * @return      Value of the digits, or -1 if any byte is not a digit
+     */
+    private static int digits(byte[] bytes, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Converts a zone offset to seconds.
+     *
+     * @param negative True for an offset west of UTC
+     * @param hours    Offset hours, at most 18
+     * @param minutes  Offset minutes, below 60
+     * @return         Offset in seconds, or -1 if it is out of range
+     */
+    private static int offsetSeconds(boolean negative, int hours, int minutes) {
+        if (hours > 18 || minutes > 59 || (hours == 18 && minutes > 0)) {
+            return -1;
+        }
+        int seconds = hours * 3600 + minutes * 60;
+        return negative ? -seconds : seconds;
+    }
+
+    /**
+     * Computes the epoch second of a date and time whose fields have been read.
+     *
+     * @param year          Year, 1 to 9999
+     * @param month         Month, 1 to 12
+     * @param day           Day of the month
+     * @param hour          Hour, 0 to 23
+     * @param minute        Minute, 0 to 59
+     * @param second        Second, 0 to 59
+     * @param offsetSeconds Zone offset in seconds; -1 marks an offset that could not be read
+     * @return              Seconds since 1970-01-01T00:00Z, or Long.MIN_VALUE if any field is invalid
+     */
+    private static long epochSecond(int year, int month, int day, int hour, int minute, int second, int offsetSeconds) {
+        // Offsets are whole minutes, so -1 cannot be a valid one
+        if (offsetSeconds == -1 || year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return Long.MIN_VALUE;
+        }
+        // Days since 1970-01-01 of the proleptic Gregorian date, counting years from March
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        long epochDay = era * 146097 + dayOfEra - 719468;
+        return epochDay * 86400 + hour * 3600L + minute * 60L + second - offsetSeconds;
+    }
+
+    /**
+     * Gets the number of days in a month of the proleptic Gregorian calendar.
+     *
+     * @param year  Year
+     * @param month Month, 1 to 12
+     * @return      Number of days
+     */
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
     /**
      * Gets the end date as an OffsetDateTime object.
      *
@@ -57,4 +304,13 @@ public class DateConverter {
     public OffsetDateTime getEndDate() {
         return endDate;
     }
+
+    /**
+     * Gets the length of one interval.
+     *
+     * @return Interval length
+     */
+    public Duration getIntervalLength() {
+        return Duration.ofSeconds(intervalSeconds);
+    }
 }
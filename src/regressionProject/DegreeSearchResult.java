@@ -0,0 +1,111 @@
+package regressionProject;
+
+/**
+ * DegreeSearchResult - Out-of-sample errors of a polynomial degree search, as produced by
+ * {@link WalkForwardValidation}. Holds the validation mean squared error of every candidate degree on
+ * every fold, and the pooled error over all folds that is used to pick the best degree.
+ */
+public final class DegreeSearchResult {
+    private final int minDegree;        // Smallest degree tried
+    private final double[][] foldErrors; // Validation MSE, [degree - minDegree][fold]
+    private final double[] pooledErrors; // Validation MSE over the rows of all folds, per degree
+
+    /**
+     * Constructor used by {@link WalkForwardValidation}.
+     *
+     * @param minDegree    Smallest degree tried
+     * @param foldErrors   Validation MSE per degree and fold
+     * @param pooledErrors Validation MSE over all folds per degree
+     */
+    DegreeSearchResult(int minDegree, double[][] foldErrors, double[] pooledErrors) {
+        this.minDegree = minDegree;
+        this.foldErrors = foldErrors;
+        this.pooledErrors = pooledErrors;
+    }
+
+    /**
+     * Gets the degree with the lowest pooled validation error.
+     *
+     * @return Best polynomial degree
+     */
+    public int getBestDegree() {
+        int best = 0;
+        for (int d = 1; d < pooledErrors.length; d++) {
+            if (pooledErrors[d] < pooledErrors[best]) {
+                best = d;
+            }
+        }
+        return minDegree + best;
+    }
+
+    /**
+     * Gets the smallest degree tried.
+     *
+     * @return Minimum degree
+     */
+    public int getMinDegree() {
+        return minDegree;
+    }
+
+    /**
+     * Gets the largest degree tried.
+     *
+     * @return Maximum degree
+     */
+    public int getMaxDegree() {
+        return minDegree + pooledErrors.length - 1;
+    }
+
+    /**
+     * Gets the number of walk-forward folds.
+     *
+     * @return Fold count
+     */
+    public int getFolds() {
+        return foldErrors[0].length;
+    }
+
+    /**
+     * Gets the validation mean squared error of a degree over the rows of all folds.
+     *
+     * @param degree Degree between the minimum and maximum degree
+     * @return       Pooled validation MSE
+     */
+    public double getMeanSquaredError(int degree) {
+        return pooledErrors[index(degree)];
+    }
+
+    /**
+     * Gets the validation mean squared error of a degree on one fold.
+     *
+     * @param degree Degree between the minimum and maximum degree
+     * @param fold   Fold index, 0 for the earliest validation block
+     * @return       Validation MSE of that fold
+     */
+    public double getMeanSquaredError(int degree, int fold) {
+        return foldErrors[index(degree)][fold];
+    }
+
+    /**
+     * Converts a degree into an array index, checking that it was part of the search.
+     *
+     * @param degree Polynomial degree
+     * @return       Index into the error arrays
+     */
+    private int index(int degree) {
+        if (degree < minDegree || degree > getMaxDegree()) {
+            throw new IllegalArgumentException("Degree must be in [" + minDegree + ", " + getMaxDegree()
+                    + "], but received " + degree);
+        }
+        return degree - minDegree;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("Degree  Validation MSE\n");
+        for (int d = 0; d < pooledErrors.length; d++) {
+            text.append(String.format("%6d  %.6f%n", minDegree + d, pooledErrors[d]));
+        }
+        return text.append("Best degree: ").append(getBestDegree()).toString();
+    }
+}
@@ -0,0 +1,151 @@
+package regressionProject;
+
+/**
+ * DenseKernels - The numeric kernels behind the neural network's dense layers.
+ * Matrices are flat row-major double arrays as described in {@link MatrixOps}. Two backends exist:
+ * {@link ScalarKernels}, plain Java loops that run everywhere, and {@link VectorKernels}, built on the
+ * incubating {@code jdk.incubator.vector} module, which is only usable when the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}.
+ *
+ * The backend is chosen at runtime with the system property {@code regressionProject.kernels}
+ * ({@code auto}, {@code vector} or {@code scalar}, default {@code auto}). {@code auto} uses the vector
+ * backend when the module is present and falls back to the scalar backend otherwise.
+ */
+public interface DenseKernels {
+
+    /**
+     * Name of the system property used to select the backend.
+     */
+    String PROPERTY = "regressionProject.kernels";
+
+    /**
+     * Computes C += A * B.
+     *
+     * @param a Left-hand matrix A (m x k)
+     * @param b Right-hand matrix B (k x n)
+     * @param c Result matrix C (m x n), accumulated in place
+     * @param m Number of rows in A and C
+     * @param k Number of columns in A and rows in B
+     * @param n Number of columns in B and C
+     */
+    void multiplyAdd(double[] a, double[] b, double[] c, int m, int k, int n);
+
+    /**
+     * Computes C = A * B^T, overwriting C.
+     *
+     * @param a Left-hand matrix A (m x k)
+     * @param b Matrix B (n x k) whose transpose is used
+     * @param c Result matrix C (m x n)
+     * @param m Number of rows in A and C
+     * @param k Number of columns in A and B
+     * @param n Number of rows in B and columns in C
+     */
+    void multiplyTransposedB(double[] a, double[] b, double[] c, int m, int k, int n);
+
+    /**
+     * Computes C += A^T * B.
+     *
+     * @param a Matrix A (k x m) whose transpose is used
+     * @param b Right-hand matrix B (k x n)
+     * @param c Result matrix C (m x n), accumulated in place
+     * @param k Number of rows in A and B
+     * @param m Number of columns in A and rows in C
+     * @param n Number of columns in B and C
+     */
+    void multiplyTransposedAAdd(double[] a, double[] b, double[] c, int k, int m, int n);
+
+    /**
+     * Dot product of two contiguous ranges.
+     *
+     * @param a      First array
+     * @param aStart Start index in the first array
+     * @param b      Second array
+     * @param bStart Start index in the second array
+     * @param length Number of elements to multiply
+     * @return       Sum of the element-wise products
+     */
+    double dot(double[] a, int aStart, double[] b, int bStart, int length);
+
+    /**
+     * Computes y += alpha * x over a contiguous range; used for the weight updates.
+     *
+     * @param alpha  Scale factor applied to x
+     * @param x      Source array
+     * @param xStart Start index in x
+     * @param y      Destination array, updated in place
+     * @param yStart Start index in y
+     * @param length Number of elements to update
+     */
+    void axpy(double alpha, double[] x, int xStart, double[] y, int yStart, int length);
+
+    /**
+     * Applies an activation function in place to values[0, length).
+     *
+     * @param activation Activation function to apply
+     * @param values     Pre-activation values, replaced by their activations
+     * @param length     Number of leading elements to process
+     */
+    void activate(ActivationFunctions activation, double[] values, int length);
+
+    /**
+     * Multiplies each delta by the activation derivative computed from the matching activation output,
+     * deltas[j] *= activation.derivativeFromOutput(values[j]) for j in [0, length).
+     *
+     * @param activation Activation function whose derivative is used
+     * @param values     Activation outputs produced by the forward pass
+     * @param deltas     Deltas, scaled in place
+     * @param length     Number of leading elements to process
+     */
+    void multiplyDerivative(ActivationFunctions activation, double[] values, double[] deltas, int length);
+
+    /**
+     * Gets the scalar backend.
+     *
+     * @return Kernels implemented with plain Java loops
+     */
+    static DenseKernels scalar() {
+        return ScalarKernels.INSTANCE;
+    }
+
+    /**
+     * Gets the Vector API backend if the {@code jdk.incubator.vector} module is available.
+     *
+     * @return Vectorized kernels, or null when the module is missing from the running JVM
+     */
+    static DenseKernels vector() {
+        try {
+            return (DenseKernels) Class.forName("regressionProject.VectorKernels")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null; // Module not resolved: the class cannot link against jdk.incubator.vector
+        }
+    }
+
+    /**
+     * Selects a backend by name.
+     *
+     * @param name "scalar", "vector" or "auto"
+     * @return     The requested backend; "auto" and "vector" fall back to scalar when vectors are unavailable
+     */
+    static DenseKernels forName(String name) {
+        switch (name.toLowerCase()) {
+            case "scalar":
+                return scalar();
+            case "vector":
+            case "auto":
+                DenseKernels vector = vector();
+                return vector != null ? vector : scalar();
+            default:
+                throw new IllegalArgumentException("Unknown kernel backend: " + name + " (expected auto, vector or scalar)");
+        }
+    }
+
+    /**
+     * Selects the backend named by the {@code regressionProject.kernels} system property.
+     *
+     * @return The configured backend, or the best available one when the property is unset
+     */
+    static DenseKernels defaultKernels() {
+        return forName(System.getProperty(PROPERTY, "auto"));
+    }
+}
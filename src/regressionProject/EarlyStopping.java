@@ -0,0 +1,94 @@
+package regressionProject;
+
+/**
+ * EarlyStopping - Configuration for stopping training once the validation error stops improving.
+ * The last {@code validationFraction} of the training rows is held out (the most recent rows, since
+ * the data is time ordered), its mean squared error is measured every {@code checkInterval} epochs,
+ * and training stops after {@code patience} consecutive checks without an improvement of at least
+ * {@code minDelta}. The weights of the best check can be restored at the end.
+ */
+public class EarlyStopping {
+    private final double validationFraction; // Fraction of rows held out for validation
+    private final int patience;              // Checks without improvement before stopping
+    private final double minDelta;           // Minimum decrease in validation MSE that counts as improvement
+    private final int checkInterval;         // Epochs between validation checks
+    private final boolean restoreBest;       // Whether to restore the best weights after stopping
+
+    /**
+     * Constructor with a check every epoch, no minimum improvement, and best-weight restore.
+     *
+     * @param validationFraction Fraction of rows held out for validation, in (0, 1)
+     * @param patience           Number of checks without improvement before stopping
+     */
+    public EarlyStopping(double validationFraction, int patience) {
+        this(validationFraction, patience, 0.0, 1, true);
+    }
+
+    /**
+     * Constructor to configure early stopping.
+     *
+     * @param validationFraction Fraction of rows held out for validation, in (0, 1)
+     * @param patience           Number of checks without improvement before stopping
+     * @param minDelta           Minimum decrease in validation MSE that counts as improvement
+     * @param checkInterval      Number of epochs between validation checks
+     * @param restoreBest        Whether to restore the weights of the best check after stopping
+     */
+    public EarlyStopping(double validationFraction, int patience, double minDelta, int checkInterval, boolean restoreBest) {
+        if (validationFraction <= 0 || validationFraction >= 1) {
+            throw new IllegalArgumentException("Validation fraction must be in (0, 1), but received " + validationFraction);
+        }
+        if (patience <= 0 || checkInterval <= 0) {
+            throw new IllegalArgumentException("Patience and check interval must be positive.");
+        }
+        this.validationFraction = validationFraction;
+        this.patience = patience;
+        this.minDelta = minDelta;
+        this.checkInterval = checkInterval;
+        this.restoreBest = restoreBest;
+    }
+
+    /**
+     * Gets the fraction of rows held out for validation.
+     *
+     * @return Validation fraction
+     */
+    public double getValidationFraction() {
+        return validationFraction;
+    }
+
+    /**
+     * Gets the number of checks without improvement before stopping.
+     *
+     * @return Patience in checks
+     */
+    public int getPatience() {
+        return patience;
+    }
+
+    /**
+     * Gets the minimum decrease in validation MSE that counts as improvement.
+     *
+     * @return Minimum improvement
+     */
+    public double getMinDelta() {
+        return minDelta;
+    }
+
+    /**
+     * Gets the number of epochs between validation checks.
+     *
+     * @return Check interval in epochs
+     */
+    public int getCheckInterval() {
+        return checkInterval;
+    }
+
+    /**
+     * Checks whether the best weights are restored after stopping.
+     *
+     * @return True if the best weights are restored
+     */
+    public boolean isRestoreBest() {
+        return restoreBest;
+    }
+}
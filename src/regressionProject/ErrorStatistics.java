@@ -0,0 +1,155 @@
+package regressionProject;
+
+/**
+ * ErrorStatistics - Streaming, mergeable evaluation of predictions against actual values.
+ * Pairs of actual and predicted values are added one at a time, so a model can be scored over data that
+ * never fits in memory. The squared, absolute and relative errors are summed with Kahan compensation and the
+ * spread of the actual values is tracked with Welford's method, giving MSE, RMSE, MAE, MAPE and R^2 without a
+ * second pass. Statistics over disjoint parts of the data can be merged with {@link #combine(ErrorStatistics)}.
+ * An instance is not thread-safe; use one per thread and combine them.
+ */
+public final class ErrorStatistics {
+    private static final int SQUARED = 0;    // Index of the sum of (actual - predicted)^2
+    private static final int ABSOLUTE = 1;   // Index of the sum of |actual - predicted|
+    private static final int PERCENTAGE = 2; // Index of the sum of |actual - predicted| / |actual|, actual != 0
+
+    private long count;                         // Number of pairs
+    private long percentageCount;               // Number of pairs with a non-zero actual value
+    private final double[] sums = new double[3]; // Error sums, indexed by SQUARED, ABSOLUTE and PERCENTAGE
+    private final double[] lost = new double[3]; // Kahan compensation for each sum
+    private double mean;                        // Running mean of the actual values
+    private double m2;                          // Sum of (actual - mean)^2
+
+    /**
+     * Constructor for empty statistics.
+     */
+    public ErrorStatistics() {
+        // Starts with no pairs
+    }
+
+    /**
+     * Adds one prediction.
+     *
+     * @param actual    Observed value
+     * @param predicted Model prediction
+     */
+    public void add(double actual, double predicted) {
+        count++;
+        double error = actual - predicted;
+        addCompensated(SQUARED, error * error);
+        addCompensated(ABSOLUTE, Math.abs(error));
+        if (actual != 0) {
+            percentageCount++;
+            addCompensated(PERCENTAGE, Math.abs(error / actual));
+        }
+
+        double delta = actual - mean;
+        mean += delta / count;
+        m2 += delta * (actual - mean);
+    }
+
+    /**
+     * Adds a chunk of predictions.
+     *
+     * @param actual    Array of observed values
+     * @param predicted Array of model predictions, same length as actual
+     */
+    public void add(double[] actual, double[] predicted) {
+        if (actual.length != predicted.length) {
+            throw new IllegalArgumentException("Got " + actual.length + " actual values but " + predicted.length + " predictions");
+        }
+        for (int i = 0; i < actual.length; i++) {
+            add(actual[i], predicted[i]);
+        }
+    }
+
+    /**
+     * Adds a term to one of the error sums with Kahan compensation.
+     *
+     * @param index Index of the sum
+     * @param value Term to add
+     */
+    private void addCompensated(int index, double value) {
+        double corrected = value - lost[index];
+        double sum = sums[index] + corrected;
+        lost[index] = (sum - sums[index]) - corrected;
+        sums[index] = sum;
+    }
+
+    /**
+     * Merges the statistics of another, disjoint set of predictions into this one.
+     *
+     * @param other Statistics to merge; left unchanged
+     * @return      These statistics
+     */
+    public ErrorStatistics combine(ErrorStatistics other) {
+        if (other.count == 0) {
+            return this;
+        }
+        for (int i = 0; i < sums.length; i++) {
+            addCompensated(i, other.sums[i]);
+            addCompensated(i, -other.lost[i]);
+        }
+        percentageCount += other.percentageCount;
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        mean += delta * other.count / total;
+        count = total;
+        return this;
+    }
+
+    /**
+     * Gets the number of predictions added.
+     *
+     * @return Prediction count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean squared error.
+     *
+     * @return MSE, NaN if no predictions were added
+     */
+    public double getMeanSquaredError() {
+        return sums[SQUARED] / count;
+    }
+
+    /**
+     * Gets the root mean squared error.
+     *
+     * @return RMSE, NaN if no predictions were added
+     */
+    public double getRootMeanSquaredError() {
+        return Math.sqrt(getMeanSquaredError());
+    }
+
+    /**
+     * Gets the mean absolute error.
+     *
+     * @return MAE, NaN if no predictions were added
+     */
+    public double getMeanAbsoluteError() {
+        return sums[ABSOLUTE] / count;
+    }
+
+    /**
+     * Gets the mean absolute percentage error over the pairs whose actual value is not zero.
+     *
+     * @return MAPE in percent, NaN if no such pairs were added
+     */
+    public double getMeanAbsolutePercentageError() {
+        return 100 * sums[PERCENTAGE] / percentageCount;
+    }
+
+    /**
+     * Gets the coefficient of determination, 1 - SSE / SST, where SST is the spread of the actual values.
+     *
+     * @return R^2 (1 for a perfect fit, 0 for predicting the mean, negative for worse), NaN if undefined
+     */
+    public double getRSquared() {
+        return 1 - sums[SQUARED] / m2;
+    }
+}
@@ -0,0 +1,300 @@
+package regressionProject;
+
+/**
+ * FeatureMatrix - Dense matrix of observations (rows) by features (columns) backed by one primitive array.
+ * Unlike a {@code double[][]}, which holds a separately allocated array per row, all values live in a single
+ * contiguous block, so there is one object header in total and every pass over the data streams through
+ * memory in order.
+ *
+ * The values are stored either column-major, where each feature is a contiguous run of values (the natural
+ * layout when filling from data columns and for per-feature loops), or row-major, where each observation is
+ * a contiguous run (the layout the neural network and the batch pipeline copy from). Conversion between the
+ * two is a cache-blocked transpose.
+ */
+public final class FeatureMatrix {
+    private static final int TRANSPOSE_BLOCK = 64; // Side of the tiles the transpose works through
+
+    private final double[] values;     // All values in the layout given by columnMajor
+    private final int rows;            // Number of observations
+    private final int columns;         // Number of features
+    private final boolean columnMajor; // True if values[column * rows + row], false if values[row * columns + column]
+
+    /**
+     * Constructor to wrap an existing array.
+     *
+     * @param values      Values in the given layout, rows * columns long
+     * @param rows        Number of observations
+     * @param columns     Number of features
+     * @param columnMajor Whether the values are stored column by column
+     */
+    public FeatureMatrix(double[] values, int rows, int columns, boolean columnMajor) {
+        if (rows < 0 || columns <= 0) {
+            throw new IllegalArgumentException("Invalid shape " + rows + " x " + columns);
+        }
+        if (values.length != (long) rows * columns) {
+            throw new IllegalArgumentException("Expected " + (long) rows * columns + " values for a " + rows + " x "
+                    + columns + " matrix, but received " + values.length);
+        }
+        this.values = values;
+        this.rows = rows;
+        this.columns = columns;
+        this.columnMajor = columnMajor;
+    }
+
+    /**
+     * Creates a zero-filled matrix stored column by column.
+     *
+     * @param rows    Number of observations
+     * @param columns Number of features
+     * @return        Empty column-major matrix
+     */
+    public static FeatureMatrix columnMajor(int rows, int columns) {
+        return new FeatureMatrix(new double[checkedSize(rows, columns)], rows, columns, true);
+    }
+
+    /**
+     * Creates a zero-filled matrix stored row by row.
+     *
+     * @param rows    Number of observations
+     * @param columns Number of features
+     * @return        Empty row-major matrix
+     */
+    public static FeatureMatrix rowMajor(int rows, int columns) {
+        return new FeatureMatrix(new double[checkedSize(rows, columns)], rows, columns, false);
+    }
+
+    /**
+     * Copies a 2D array into a row-major matrix.
+     *
+     * @param X 2D array of input features (each row is an observation, all rows the same length)
+     * @return  Row-major matrix with the same values
+     */
+    public static FeatureMatrix fromRows(double[][] X) {
+        if (X.length == 0) {
+            throw new IllegalArgumentException("At least one row is required.");
+        }
+        FeatureMatrix matrix = rowMajor(X.length, X[0].length);
+        for (int r = 0; r < X.length; r++) {
+            if (X[r].length != matrix.columns) {
+                throw new IllegalArgumentException("Row " + r + " has " + X[r].length + " values, expected " + matrix.columns);
+            }
+            System.arraycopy(X[r], 0, matrix.values, r * matrix.columns, matrix.columns);
+        }
+        return matrix;
+    }
+
+    /**
+     * Checks that a matrix fits in one Java array.
+     *
+     * @param rows    Number of observations
+     * @param columns Number of features
+     * @return        Number of values
+     */
+    private static int checkedSize(int rows, int columns) {
+        long size = (long) rows * columns;
+        if (rows < 0 || columns <= 0 || size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Invalid shape " + rows + " x " + columns);
+        }
+        return (int) size;
+    }
+
+    /**
+     * Gets the number of observations.
+     *
+     * @return Row count
+     */
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of features.
+     *
+     * @return Column count
+     */
+    public int columns() {
+        return columns;
+    }
+
+    /**
+     * Checks the storage layout.
+     *
+     * @return True if the values are stored column by column, false if row by row
+     */
+    public boolean isColumnMajor() {
+        return columnMajor;
+    }
+
+    /**
+     * Gets the backing array, laid out as reported by {@link #isColumnMajor()}. Changes write through.
+     *
+     * @return Backing values
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    /**
+     * Gets one value.
+     *
+     * @param row    Observation index
+     * @param column Feature index
+     * @return       The value
+     */
+    public double get(int row, int column) {
+        return values[index(row, column)];
+    }
+
+    /**
+     * Sets one value.
+     *
+     * @param row    Observation index
+     * @param column Feature index
+     * @param value  New value
+     */
+    public void set(int row, int column, double value) {
+        values[index(row, column)] = value;
+    }
+
+    /**
+     * Computes the position of a value in the backing array.
+     *
+     * @param row    Observation index
+     * @param column Feature index
+     * @return       Array index
+     */
+    private int index(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Cell (" + row + ", " + column + ") is outside a " + rows + " x "
+                    + columns + " matrix");
+        }
+        return columnMajor ? column * rows + row : row * columns + column;
+    }
+
+    /**
+     * Fills one feature column; a single bulk copy when the matrix is column-major.
+     *
+     * @param column Feature index
+     * @param source Values of the column, one per row
+     */
+    public void setColumn(int column, double[] source) {
+        if (source.length != rows) {
+            throw new IllegalArgumentException("Column has " + source.length + " values, expected " + rows);
+        }
+        if (column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Column " + column + " is outside a matrix with " + columns + " columns");
+        }
+        if (columnMajor) {
+            System.arraycopy(source, 0, values, column * rows, rows);
+        } else {
+            for (int r = 0, i = column; r < rows; r++, i += columns) {
+                values[i] = source[r];
+            }
+        }
+    }
+
+    /**
+     * Copies one feature column, for example to fit a univariate model on it.
+     *
+     * @param column Feature index
+     * @return       Values of the column, one per row
+     */
+    public double[] getColumn(int column) {
+        if (column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Column " + column + " is outside a matrix with " + columns + " columns");
+        }
+        double[] result = new double[rows];
+        if (columnMajor) {
+            System.arraycopy(values, column * rows, result, 0, rows);
+        } else {
+            for (int r = 0, i = column; r < rows; r++, i += columns) {
+                result[r] = values[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Copies the features of one observation.
+     *
+     * @param row    Observation index
+     * @param output Array receiving {@link #columns()} values
+     * @param offset Index of the first value in output
+     */
+    public void copyRow(int row, double[] output, int offset) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row " + row + " is outside a matrix with " + rows + " rows");
+        }
+        if (columnMajor) {
+            for (int c = 0, i = row; c < columns; c++, i += rows) {
+                output[offset + c] = values[i];
+            }
+        } else {
+            System.arraycopy(values, row * columns, output, offset, columns);
+        }
+    }
+
+    /**
+     * Gets the matrix in row-major layout.
+     *
+     * @return This matrix if it is already row-major, otherwise a transposed copy
+     */
+    public FeatureMatrix toRowMajor() {
+        if (!columnMajor) {
+            return this;
+        }
+        double[] result = new double[values.length];
+        transpose(values, rows, columns, result);
+        return new FeatureMatrix(result, rows, columns, false);
+    }
+
+    /**
+     * Gets the matrix in column-major layout.
+     *
+     * @return This matrix if it is already column-major, otherwise a transposed copy
+     */
+    public FeatureMatrix toColumnMajor() {
+        if (columnMajor) {
+            return this;
+        }
+        double[] result = new double[values.length];
+        transpose(values, columns, rows, result);
+        return new FeatureMatrix(result, rows, columns, true);
+    }
+
+    /**
+     * Transposes a matrix tile by tile, so both the reads and the writes stay within a few cache lines.
+     *
+     * @param source      Matrix with {@code inner} contiguous runs of length {@code outer}
+     * @param outer       Length of each contiguous run in the source
+     * @param inner       Number of runs in the source
+     * @param destination Receives the transposed matrix, {@code outer} runs of length {@code inner}
+     */
+    private static void transpose(double[] source, int outer, int inner, double[] destination) {
+        for (int i0 = 0; i0 < inner; i0 += TRANSPOSE_BLOCK) {
+            int i1 = Math.min(inner, i0 + TRANSPOSE_BLOCK);
+            for (int o0 = 0; o0 < outer; o0 += TRANSPOSE_BLOCK) {
+                int o1 = Math.min(outer, o0 + TRANSPOSE_BLOCK);
+                for (int i = i0; i < i1; i++) {
+                    int from = i * outer;
+                    for (int o = o0; o < o1; o++) {
+                        destination[o * inner + i] = source[from + o];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the matrix into one array per row, for code that still takes {@code double[][]}.
+     *
+     * @return 2D array of input features, where each row corresponds to an observation
+     */
+    public double[][] toRows() {
+        double[][] result = new double[rows][columns];
+        for (int r = 0; r < rows; r++) {
+            copyRow(r, result[r], 0);
+        }
+        return result;
+    }
+}
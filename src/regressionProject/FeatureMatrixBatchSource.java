@@ -0,0 +1,53 @@
+package regressionProject;
+
+/**
+ * FeatureMatrixBatchSource - BatchSource over a {@link FeatureMatrix} and a target column.
+ * The matrix is kept row-major, so gathering a sample is a single copy out of one contiguous array.
+ */
+public class FeatureMatrixBatchSource implements BatchSource {
+    private final double[] inputs;  // Input values, [sample][input] row-major
+    private final double[] targets; // Target value of every sample
+    private final int inputSize;    // Number of input values per sample
+
+    /**
+     * Constructor for samples with a single target value each, such as a DataLoader target column.
+     *
+     * @param inputs  Input features, one row per sample; converted to row-major if necessary
+     * @param targets Array of target values
+     */
+    public FeatureMatrixBatchSource(FeatureMatrix inputs, double[] targets) {
+        if (inputs.rows() != targets.length) {
+            throw new IllegalArgumentException("Number of inputs (" + inputs.rows() + ") and targets (" + targets.length + ") must match.");
+        }
+        if (targets.length == 0) {
+            throw new IllegalArgumentException("At least one sample is required.");
+        }
+        this.inputs = inputs.toRowMajor().getValues();
+        this.targets = targets;
+        this.inputSize = inputs.columns();
+    }
+
+    @Override
+    public int size() {
+        return targets.length;
+    }
+
+    @Override
+    public int inputSize() {
+        return inputSize;
+    }
+
+    @Override
+    public int targetSize() {
+        return 1;
+    }
+
+    @Override
+    public void gather(int[] indices, int from, int count, double[] inputBuffer, double[] targetBuffer) {
+        for (int r = 0; r < count; r++) {
+            int index = indices[from + r];
+            System.arraycopy(inputs, index * inputSize, inputBuffer, r * inputSize, inputSize);
+            targetBuffer[r] = targets[index];
+        }
+    }
+}
@@ -0,0 +1,479 @@
+package regressionProject;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * FloatNeuralNetwork - Single-precision (float32) variant of {@link NeuralNetwork}.
+ * Weights, biases, activations and gradients are stored as floats, which halves the memory footprint
+ * and bandwidth of the network compared to doubles and lets the JIT pack twice as many lanes per SIMD
+ * register in the auto-vectorized loops. Dot products can optionally be accumulated in double precision
+ * to limit rounding error on wide layers. Trained models convert to and from {@link NeuralNetwork}.
+ */
+public class FloatNeuralNetwork {
+    private int[] layers;                          // Array defining the number of neurons per layer
+    private float[][] weights;                     // Weights between layers, one flat row-major [from][to] array per layer
+    private float[][] biases;                      // Bias terms for each neuron
+    private List<ActivationFunctions> activations; // Activation function for each layer
+    private boolean doubleAccumulation;            // Accumulate dot products in double precision
+    private Workspace workspace;                   // Scratch memory used by feedForward
+    private ThreadLocal<Workspace> threadWorkspaces; // Per-thread scratch memory for concurrent predictions
+
+    /**
+     * Constructor to initialize the network with specified layers and activation functions.
+     *
+     * @param layers      Array defining the number of neurons per layer
+     * @param activations List of activation functions for each layer (excluding input layer)
+     */
+    public FloatNeuralNetwork(int[] layers, List<ActivationFunctions> activations) {
+        this(layers, activations, new Random());
+    }
+
+    /**
+     * Constructor with a fixed random seed for reproducible weight initialization.
+     *
+     * @param layers      Array defining the number of neurons per layer
+     * @param activations List of activation functions for each layer (excluding input layer)
+     * @param seed        Seed for the random weight initialization
+     */
+    public FloatNeuralNetwork(int[] layers, List<ActivationFunctions> activations, long seed) {
+        this(layers, activations, new Random(seed));
+    }
+
+    private FloatNeuralNetwork(int[] layers, List<ActivationFunctions> activations, Random rand) {
+        this(layers, activations, new float[layers.length - 1][], new float[layers.length - 1][], false);
+        for (int i = 0; i < layers.length - 1; i++) {
+            weights[i] = new float[layers[i] * layers[i + 1]];
+            biases[i] = new float[layers[i + 1]];
+
+            // Initialize weights and biases with small random values
+            for (int j = 0; j < weights[i].length; j++) {
+                weights[i][j] = rand.nextFloat() * 0.002f - 0.001f;
+            }
+            for (int j = 0; j < biases[i].length; j++) {
+                biases[i][j] = rand.nextFloat() * 0.002f - 0.001f;
+            }
+        }
+    }
+
+    /**
+     * Constructor for a network with existing parameters, used when converting or loading trained models.
+     * The weight and bias arrays are used directly, not copied.
+     *
+     * @param layers      Array defining the number of neurons per layer
+     * @param activations List of activation functions for each layer (excluding input layer)
+     * @param weights     Flat row-major [from][to] weights per layer
+     * @param biases      Bias terms per layer
+     */
+    FloatNeuralNetwork(int[] layers, List<ActivationFunctions> activations, float[][] weights, float[][] biases) {
+        this(layers, activations, weights, biases, true);
+    }
+
+    private FloatNeuralNetwork(int[] layers, List<ActivationFunctions> activations, float[][] weights, float[][] biases,
+                               boolean checkShapes) {
+        if (activations.size() != layers.length - 1) {
+            throw new IllegalArgumentException("Number of activation functions must match number of layers (excluding input layer).");
+        }
+        if (checkShapes) {
+            for (int i = 0; i < layers.length - 1; i++) {
+                if (weights[i].length != layers[i] * layers[i + 1] || biases[i].length != layers[i + 1]) {
+                    throw new IllegalArgumentException("Parameters of layer " + (i + 1) + " do not match the layer sizes.");
+                }
+            }
+        }
+        this.layers = layers;
+        this.activations = activations;
+        this.weights = weights;
+        this.biases = biases;
+        this.workspace = new Workspace(layers, 1);
+        this.threadWorkspaces = ThreadLocal.withInitial(() -> new Workspace(layers, 1));
+    }
+
+    /**
+     * Converts a trained double-precision network to single precision by rounding every parameter.
+     *
+     * @param network Network to convert
+     * @return        New single-precision network with the same layers and activations
+     */
+    public static FloatNeuralNetwork fromDouble(NeuralNetwork network) {
+        double[][] sourceWeights = network.getWeights();
+        double[][] sourceBiases = network.getBiases();
+        float[][] w = new float[sourceWeights.length][];
+        float[][] b = new float[sourceBiases.length][];
+        for (int i = 0; i < w.length; i++) {
+            w[i] = new float[sourceWeights[i].length];
+            for (int j = 0; j < w[i].length; j++) {
+                w[i][j] = (float) sourceWeights[i][j];
+            }
+            b[i] = new float[sourceBiases[i].length];
+            for (int j = 0; j < b[i].length; j++) {
+                b[i][j] = (float) sourceBiases[i][j];
+            }
+        }
+        return new FloatNeuralNetwork(network.getLayers(), network.getActivations(), w, b);
+    }
+
+    /**
+     * Converts this network to double precision, for example to continue training at full precision.
+     *
+     * @return New double-precision network with the same layers, activations and parameters
+     */
+    public NeuralNetwork toDouble() {
+        double[][] w = new double[weights.length][];
+        double[][] b = new double[biases.length][];
+        for (int i = 0; i < w.length; i++) {
+            w[i] = new double[weights[i].length];
+            for (int j = 0; j < w[i].length; j++) {
+                w[i][j] = weights[i][j];
+            }
+            b[i] = new double[biases[i].length];
+            for (int j = 0; j < b[i].length; j++) {
+                b[i][j] = biases[i][j];
+            }
+        }
+        return new NeuralNetwork(layers.clone(), activations, w, b);
+    }
+
+    /**
+     * Enables or disables double-precision accumulation of the dot products in the forward and
+     * backward passes. Parameters and activations stay in single precision either way.
+     *
+     * @param doubleAccumulation True to accumulate sums in double precision
+     */
+    public void setDoubleAccumulation(boolean doubleAccumulation) {
+        this.doubleAccumulation = doubleAccumulation;
+    }
+
+    /**
+     * Checks whether dot products are accumulated in double precision.
+     *
+     * @return True if double-precision accumulation is enabled
+     */
+    public boolean isDoubleAccumulation() {
+        return doubleAccumulation;
+    }
+
+    /**
+     * Gets the number of neurons per layer.
+     *
+     * @return Copy of the layer sizes, including the input layer
+     */
+    public int[] getLayers() {
+        return layers.clone();
+    }
+
+    /**
+     * Gets the activation function of each layer (excluding the input layer).
+     *
+     * @return Unmodifiable list of activation functions
+     */
+    public List<ActivationFunctions> getActivations() {
+        return Collections.unmodifiableList(activations);
+    }
+
+    /**
+     * Gets the live weight arrays, flat row-major [from][to] per layer.
+     *
+     * @return Internal weight arrays (not copied)
+     */
+    float[][] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Gets the live bias arrays, one per layer.
+     *
+     * @return Internal bias arrays (not copied)
+     */
+    float[][] getBiases() {
+        return biases;
+    }
+
+    /**
+     * Feed-forward pass to compute network output for given input data.
+     * Uses the network's own scratch memory, so it must not be called concurrently; the returned
+     * array is reused by the next call.
+     *
+     * @param input Array of input values for the network
+     * @return      Array of output values from the network
+     */
+    public float[] feedForward(float[] input) {
+        System.arraycopy(input, 0, workspace.activations[0], 0, layers[0]);
+        forward(workspace, 1);
+        return workspace.activations[layers.length - 1];
+    }
+
+    /**
+     * Thread-safe prediction that copies the network output into a caller-supplied array.
+     * Each calling thread gets its own scratch memory, allocated on its first call.
+     *
+     * @param input  Array of input values for the network
+     * @param output Array receiving the output values (length must match the output layer)
+     */
+    public void predict(float[] input, float[] output) {
+        Workspace ws = threadWorkspaces.get();
+        System.arraycopy(input, 0, ws.activations[0], 0, layers[0]);
+        forward(ws, 1);
+        System.arraycopy(ws.activations[layers.length - 1], 0, output, 0, layers[layers.length - 1]);
+    }
+
+    /**
+     * Training loop using plain stochastic gradient descent, one update per sample.
+     *
+     * @param inputs       2D array of input data
+     * @param targets      2D array of target values
+     * @param epochs       Number of training epochs
+     * @param learningRate Learning rate for weight updates
+     */
+    public void train(float[][] inputs, float[][] targets, int epochs, float learningRate) {
+        train(inputs, targets, epochs, learningRate, 1);
+    }
+
+    /**
+     * Mini-batch training loop. Each batch is gathered into contiguous buffers, passed forward and
+     * backward as a whole, and the weights are updated once with the gradient averaged over the batch.
+     *
+     * @param inputs       2D array of input data
+     * @param targets      2D array of target values
+     * @param epochs       Number of training epochs
+     * @param learningRate Learning rate for weight updates
+     * @param batchSize    Number of samples per weight update
+     */
+    public void train(float[][] inputs, float[][] targets, int epochs, float learningRate, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive, but received " + batchSize);
+        }
+        int capacity = Math.min(batchSize, inputs.length);
+        int inputSize = layers[0];
+        int outputSize = layers[layers.length - 1];
+        Workspace ws = new Workspace(layers, capacity);
+        float[] batchTargets = new float[capacity * outputSize];
+        float[][] weightGrads = new float[weights.length][];
+        float[][] biasGrads = new float[biases.length][];
+        for (int i = 0; i < weights.length; i++) {
+            weightGrads[i] = new float[weights[i].length];
+            biasGrads[i] = new float[biases[i].length];
+        }
+
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            double totalError = 0;
+
+            for (int start = 0; start < inputs.length; start += batchSize) {
+                int rows = Math.min(batchSize, inputs.length - start);
+                for (int r = 0; r < rows; r++) {
+                    System.arraycopy(inputs[start + r], 0, ws.activations[0], r * inputSize, inputSize);
+                    System.arraycopy(targets[start + r], 0, batchTargets, r * outputSize, outputSize);
+                }
+
+                forward(ws, rows);
+                totalError += backward(ws, batchTargets, weightGrads, biasGrads, rows);
+
+                // One averaged update per batch
+                float scale = learningRate / rows;
+                for (int i = 0; i < weights.length; i++) {
+                    float[] w = weights[i];
+                    float[] gw = weightGrads[i];
+                    for (int j = 0; j < w.length; j++) {
+                        w[j] -= scale * gw[j];
+                    }
+                    float[] b = biases[i];
+                    float[] gb = biasGrads[i];
+                    for (int j = 0; j < b.length; j++) {
+                        b[j] -= scale * gb[j];
+                    }
+                }
+            }
+
+            // Calculate average MSE for the epoch
+            double meanSquaredError = totalError / inputs.length;
+
+            // Print progress and MSE every 10 epochs
+            NeuralNetwork.printProgress(epoch, epochs, meanSquaredError);
+        }
+        System.out.println("\nTraining complete!");
+    }
+
+    /**
+     * Forward pass over the first {@code rows} samples held in the workspace's input buffer.
+     *
+     * @param ws   Workspace whose first activation buffer holds the inputs, row-major
+     * @param rows Number of samples to process
+     */
+    private void forward(Workspace ws, int rows) {
+        float[][] acts = ws.activations;
+        double[] acc = ws.accumulator;
+        for (int i = 1; i < layers.length; i++) {
+            int fanIn = layers[i - 1];
+            int fanOut = layers[i];
+            float[] in = acts[i - 1];
+            float[] out = acts[i];
+            float[] w = weights[i - 1];
+            float[] b = biases[i - 1];
+
+            for (int r = 0; r < rows; r++) {
+                int inRow = r * fanIn;
+                int outRow = r * fanOut;
+                if (doubleAccumulation) {
+                    for (int j = 0; j < fanOut; j++) {
+                        acc[j] = b[j];
+                    }
+                    for (int k = 0; k < fanIn; k++) {
+                        double a = in[inRow + k];
+                        int wRow = k * fanOut;
+                        for (int j = 0; j < fanOut; j++) {
+                            acc[j] += a * w[wRow + j];
+                        }
+                    }
+                    for (int j = 0; j < fanOut; j++) {
+                        out[outRow + j] = (float) acc[j];
+                    }
+                } else {
+                    System.arraycopy(b, 0, out, outRow, fanOut);
+                    for (int k = 0; k < fanIn; k++) {
+                        float a = in[inRow + k];
+                        int wRow = k * fanOut;
+                        for (int j = 0; j < fanOut; j++) {
+                            out[outRow + j] += a * w[wRow + j];
+                        }
+                    }
+                }
+            }
+
+            ActivationFunctions activation = activations.get(i - 1);
+            for (int j = 0; j < rows * fanOut; j++) {
+                // Check for NaN values to avoid instability
+                if (Float.isNaN(out[j])) {
+                    System.out.println("NaN detected in feed-forward pass at layer " + i);
+                }
+                out[j] = (float) activation.activate(out[j]);
+            }
+        }
+    }
+
+    /**
+     * Backward pass for the batch left in the workspace by {@link #forward(Workspace, int)}.
+     * Leaves the summed (not yet averaged) gradients in the gradient buffers.
+     *
+     * @param ws           Workspace holding the batch activations
+     * @param batchTargets Target values of the batch, row-major
+     * @param weightGrads  Per-layer weight gradient buffers
+     * @param biasGrads    Per-layer bias gradient buffers
+     * @param rows         Number of samples in the batch
+     * @return             Sum over the batch of each sample's mean squared error
+     */
+    private double backward(Workspace ws, float[] batchTargets, float[][] weightGrads, float[][] biasGrads, int rows) {
+        float[][] acts = ws.activations;
+        float[][] deltas = ws.deltas;
+        int last = layers.length - 1;
+
+        // Output layer error and batch MSE
+        int outputSize = layers[last];
+        double batchError = 0;
+        for (int j = 0; j < rows * outputSize; j++) {
+            float error = acts[last][j] - batchTargets[j];
+            deltas[last][j] = error;
+            batchError += (double) error * error;
+        }
+        batchError /= outputSize;
+
+        // Backpropagate errors through hidden layers
+        for (int i = last - 1; i > 0; i--) {
+            int size = layers[i];
+            int fanOut = layers[i + 1];
+            float[] w = weights[i];
+            ActivationFunctions activation = activations.get(i - 1);
+            for (int r = 0; r < rows; r++) {
+                int dRow = r * fanOut;
+                for (int j = 0; j < size; j++) {
+                    double error = dot(deltas[i + 1], dRow, w, j * fanOut, fanOut);
+                    int index = r * size + j;
+                    deltas[i][index] = (float) (error * activation.derivativeFromOutput(acts[i][index]));
+                }
+            }
+        }
+
+        // Gradients summed over the batch
+        for (int i = 0; i < weights.length; i++) {
+            int fanIn = layers[i];
+            int fanOut = layers[i + 1];
+            float[] gw = weightGrads[i];
+            float[] gb = biasGrads[i];
+            Arrays.fill(gw, 0f);
+            Arrays.fill(gb, 0f);
+            for (int r = 0; r < rows; r++) {
+                int aRow = r * fanIn;
+                int dRow = r * fanOut;
+                for (int k = 0; k < fanIn; k++) {
+                    float a = acts[i][aRow + k];
+                    if (a == 0f) {
+                        continue; // Common after ReLU, skip the whole row update
+                    }
+                    int gRow = k * fanOut;
+                    for (int j = 0; j < fanOut; j++) {
+                        gw[gRow + j] += a * deltas[i + 1][dRow + j];
+                    }
+                }
+                for (int j = 0; j < fanOut; j++) {
+                    gb[j] += deltas[i + 1][dRow + j];
+                }
+            }
+        }
+        return batchError;
+    }
+
+    /**
+     * Dot product of two contiguous float ranges, accumulated in double precision when enabled.
+     *
+     * @param a      First array
+     * @param aStart Start index in the first array
+     * @param b      Second array
+     * @param bStart Start index in the second array
+     * @param length Number of elements to multiply
+     * @return       Sum of the element-wise products
+     */
+    private double dot(float[] a, int aStart, float[] b, int bStart, int length) {
+        if (doubleAccumulation) {
+            double sum = 0;
+            for (int p = 0; p < length; p++) {
+                sum += (double) a[aStart + p] * b[bStart + p];
+            }
+            return sum;
+        }
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int p = 0;
+        for (; p + 3 < length; p += 4) {
+            s0 += a[aStart + p] * b[bStart + p];
+            s1 += a[aStart + p + 1] * b[bStart + p + 1];
+            s2 += a[aStart + p + 2] * b[bStart + p + 2];
+            s3 += a[aStart + p + 3] * b[bStart + p + 3];
+        }
+        for (; p < length; p++) {
+            s0 += a[aStart + p] * b[bStart + p];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Workspace - Scratch memory for a float network: row-major activations and deltas for up to
+     * {@code capacity} samples, plus a double row used when accumulating in double precision.
+     */
+    private static final class Workspace {
+        private final float[][] activations;
+        private final float[][] deltas;
+        private final double[] accumulator;
+
+        private Workspace(int[] layers, int capacity) {
+            this.activations = new float[layers.length][];
+            this.deltas = new float[layers.length][];
+            int widest = 0;
+            for (int i = 0; i < layers.length; i++) {
+                activations[i] = new float[capacity * layers[i]];
+                deltas[i] = new float[capacity * layers[i]];
+                widest = Math.max(widest, layers[i]);
+            }
+            this.accumulator = new double[widest];
+        }
+    }
+}
@@ -0,0 +1,553 @@
+package regressionProject;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * GramMatrixFitter - Least-squares fitting engine for the polynomial regression models that never
+ * materializes the expanded design matrix.
+ *
+ * Rows are expanded into their polynomial terms on the fly, one small block at a time, and folded into the
+ * normal-equation statistics X^T X and X^T y. Row ranges are accumulated in parallel on the common fork-join
+ * pool and the partial sums are merged pairwise in a fixed order, so results do not depend on scheduling.
+ * Peak memory is O(p^2) per task for p coefficients, independent of the number of rows.
+ *
+ * The normal equations are solved by Cholesky factorization after scaling every column to unit norm. When
+ * the scaled Gram matrix is ill-conditioned (squaring the condition number would lose too many digits), the
+ * fitter makes a second pass and computes a QR factorization of the design with Givens rotations instead,
+ * again row by row and in parallel, so the fallback has the same memory profile.
+ */
+public final class GramMatrixFitter {
+    private static final int BLOCK_ROWS = 256;       // Rows expanded into the scratch buffer at a time
+    private static final int TASK_ROWS = 16384;      // Row ranges at most this long are not split further
+    private static final double MAX_CONDITION = 1e10; // Largest estimated condition number accepted for Cholesky
+
+    private GramMatrixFitter() {
+        // Utility class, not meant to be instantiated
+    }
+
+    /**
+     * Design - Row-wise view of a design matrix whose rows are produced on demand.
+     */
+    interface Design {
+        /**
+         * Gets the number of rows.
+         *
+         * @return Number of observations
+         */
+        int rows();
+
+        /**
+         * Gets the number of columns, including the intercept column.
+         *
+         * @return Number of terms per row
+         */
+        int terms();
+
+        /**
+         * Writes the terms of one row.
+         *
+         * @param row    Index of the observation
+         * @param output Array receiving {@link #terms()} values
+         * @param offset Index of the first value in output
+         */
+        void expand(int row, double[] output, int offset);
+    }
+
+    /**
+     * Fits a multivariate polynomial regression with the same terms as
+     * {@link MultivariatePolynomialRegression}: an intercept followed by x_i^d, ordered by feature then degree.
+     *
+     * @param X           2D array of input features (each row is an observation, each column a feature)
+     * @param y           Array of target values corresponding to each observation
+     * @param degree      Degree of the polynomial for each feature
+     * @param numFeatures Number of original features in the dataset
+     * @return            The fitted model
+     */
+    public static MultivariatePolynomialRegression fitMultivariate(double[][] X, double[] y, int degree, int numFeatures) {
+        if (degree <= 0 || numFeatures <= 0) {
+            throw new IllegalArgumentException("Degree and feature count must be positive, but received "
+                    + degree + " and " + numFeatures);
+        }
+        double[] coefficients = fit(new PolynomialFeatureExpander(numFeatures, degree), X, y);
+        return new MultivariatePolynomialRegression(coefficients, degree, numFeatures);
+    }
+
+    /**
+     * Fits a multivariate polynomial regression on a feature matrix, with the same terms as
+     * {@link #fitMultivariate(double[][], double[], int, int)}; every column of the matrix is a feature.
+     *
+     * @param X      Matrix of input features, one row per observation
+     * @param y      Array of target values corresponding to each observation
+     * @param degree Degree of the polynomial for each feature
+     * @return       The fitted model
+     */
+    public static MultivariatePolynomialRegression fitMultivariate(FeatureMatrix X, double[] y, int degree) {
+        if (degree <= 0) {
+            throw new IllegalArgumentException("Degree must be positive, but received " + degree);
+        }
+        double[] coefficients = fit(new PolynomialFeatureExpander(X.columns(), degree), X, y);
+        return new MultivariatePolynomialRegression(coefficients, degree, X.columns());
+    }
+
+    /**
+     * Fits a linear model over the terms of a feature expander, for example one with interaction terms.
+     * Evaluate the result with {@link PolynomialFeatureExpander#evaluate(double[], double[], double[])}.
+     *
+     * @param expander Expansion of the raw features into terms
+     * @param X        2D array of raw input features (each row is an observation)
+     * @param y        Array of target values corresponding to each observation
+     * @return         Intercept followed by one coefficient per term, in the expander's layout
+     */
+    public static double[] fit(PolynomialFeatureExpander expander, double[][] X, double[] y) {
+        Design design = new Design() {
+            @Override
+            public int rows() {
+                return X.length;
+            }
+
+            @Override
+            public int terms() {
+                return expander.getNumTerms() + 1;
+            }
+
+            @Override
+            public void expand(int row, double[] output, int offset) {
+                output[offset] = 1;
+                expander.expand(X[row], output, offset + 1);
+            }
+        };
+        return solve(design, y);
+    }
+
+    /**
+     * Fits a linear model over the terms of a feature expander on a feature matrix, as
+     * {@link #fit(PolynomialFeatureExpander, double[][], double[])}. Each worker copies its rows into
+     * its own scratch array, so the matrix can be in either layout.
+     *
+     * @param expander Expansion of the raw features into terms
+     * @param X        Matrix of raw input features, one row per observation
+     * @param y        Array of target values corresponding to each observation
+     * @return         Intercept followed by one coefficient per term, in the expander's layout
+     */
+    public static double[] fit(PolynomialFeatureExpander expander, FeatureMatrix X, double[] y) {
+        if (X.columns() != expander.getNumFeatures()) {
+            throw new IllegalArgumentException("The matrix has " + X.columns() + " columns, but the expander takes "
+                    + expander.getNumFeatures() + " features");
+        }
+        ThreadLocal<double[]> scratch = ThreadLocal.withInitial(() -> new double[X.columns()]);
+        Design design = new Design() {
+            @Override
+            public int rows() {
+                return X.rows();
+            }
+
+            @Override
+            public int terms() {
+                return expander.getNumTerms() + 1;
+            }
+
+            @Override
+            public void expand(int row, double[] output, int offset) {
+                double[] x = scratch.get();
+                X.copyRow(row, x, 0);
+                output[offset] = 1;
+                expander.expand(x, output, offset + 1);
+            }
+        };
+        return solve(design, y);
+    }
+
+    /**
+     * Fits a univariate polynomial regression with an intercept and the terms x, x^2, ..., x^degree.
+     *
+     * @param x      Array of x-values (independent variable)
+     * @param y      Array of y-values (dependent variable)
+     * @param degree Degree of the polynomial
+     * @return       The fitted model
+     */
+    public static PolynomialRegression fitPolynomial(double[] x, double[] y, int degree) {
+        if (degree < 0) {
+            throw new IllegalArgumentException("Degree must not be negative, but received " + degree);
+        }
+        Design design = new Design() {
+            @Override
+            public int rows() {
+                return x.length;
+            }
+
+            @Override
+            public int terms() {
+                return degree + 1;
+            }
+
+            @Override
+            public void expand(int row, double[] output, int offset) {
+                double power = 1;
+                output[offset] = 1;
+                for (int d = 1; d <= degree; d++) {
+                    power *= x[row];
+                    output[offset + d] = power;
+                }
+            }
+        };
+        return new PolynomialRegression(solve(design, y), degree);
+    }
+
+    /**
+     * Solves the least-squares problem min |X b - y| for a design given row by row.
+     *
+     * @param design Design matrix X
+     * @param y      Target values, one per row
+     * @return       Coefficients b, one per term
+     */
+    static double[] solve(Design design, double[] y) {
+        if (y.length != design.rows()) {
+            throw new IllegalArgumentException("Got " + design.rows() + " observations but " + y.length + " targets");
+        }
+        if (design.rows() < design.terms()) {
+            throw new IllegalArgumentException("At least " + design.terms() + " observations are needed to fit "
+                    + design.terms() + " coefficients, but received " + design.rows());
+        }
+        NormalEquations normal = accumulate(design, y);
+        double[] scale = normal.columnScale();
+        double[] coefficients = normal.solveCholesky(scale);
+        if (coefficients == null) {
+            coefficients = solveQr(design, y, scale);
+        }
+        return coefficients;
+    }
+
+    /**
+     * Accumulates X^T X and X^T y over all rows in parallel.
+     *
+     * @param design Design matrix X
+     * @param y      Target values
+     * @return       Normal-equation statistics
+     */
+    static NormalEquations accumulate(Design design, double[] y) {
+        return ForkJoinPool.commonPool().invoke(new GramTask(design, y, 0, design.rows()));
+    }
+
+    /**
+     * Solves the least-squares problem with a streaming Givens QR factorization of the scaled design.
+     *
+     * @param design Design matrix X
+     * @param y      Target values
+     * @param scale  Column scale factors applied before factorizing
+     * @return       Coefficients of the unscaled problem
+     */
+    static double[] solveQr(Design design, double[] y, double[] scale) {
+        int p = design.terms();
+        QrFactor factor = ForkJoinPool.commonPool().invoke(new QrTask(design, y, scale, 0, design.rows()));
+
+        // Back substitution R z = Q^T y, then undo the column scaling
+        double[] coefficients = new double[p];
+        for (int i = p - 1; i >= 0; i--) {
+            double diagonal = factor.r[i * p + i];
+            if (diagonal == 0) {
+                throw new IllegalArgumentException("The design matrix is singular; the polynomial terms are linearly dependent");
+            }
+            double sum = factor.qty[i];
+            for (int j = i + 1; j < p; j++) {
+                sum -= factor.r[i * p + j] * coefficients[j];
+            }
+            coefficients[i] = sum / diagonal;
+        }
+        for (int i = 0; i < p; i++) {
+            coefficients[i] *= scale[i];
+        }
+        return coefficients;
+    }
+
+    /**
+     * NormalEquations - The sums X^T X (p x p, row-major) and X^T y of a design.
+     */
+    static final class NormalEquations {
+        final int terms;    // Number of coefficients p
+        final double[] gram; // X^T X, p x p row-major
+        final double[] xty;  // X^T y
+        double yty;          // y^T y
+        long rows;           // Number of observations summed
+
+        NormalEquations(int terms) {
+            this.terms = terms;
+            this.gram = new double[terms * terms];
+            this.xty = new double[terms];
+        }
+
+        /**
+         * Adds the statistics of another set of rows.
+         *
+         * @param other Statistics to add
+         */
+        void merge(NormalEquations other) {
+            for (int i = 0; i < gram.length; i++) {
+                gram[i] += other.gram[i];
+            }
+            for (int i = 0; i < terms; i++) {
+                xty[i] += other.xty[i];
+            }
+            yty += other.yty;
+            rows += other.rows;
+        }
+
+        /**
+         * Extracts the statistics of a design that keeps only some of the columns, for example the terms of a
+         * lower polynomial degree, without another pass over the rows.
+         *
+         * @param columns Indices of the columns to keep, in the order they should appear
+         * @return        Normal equations of the reduced design
+         */
+        NormalEquations subset(int[] columns) {
+            NormalEquations reduced = new NormalEquations(columns.length);
+            for (int i = 0; i < columns.length; i++) {
+                for (int j = 0; j < columns.length; j++) {
+                    reduced.gram[i * columns.length + j] = gram[columns[i] * terms + columns[j]];
+                }
+                reduced.xty[i] = xty[columns[i]];
+            }
+            reduced.yty = yty;
+            reduced.rows = rows;
+            return reduced;
+        }
+
+        /**
+         * Computes factors that scale every column of X to unit Euclidean norm.
+         *
+         * @return One factor per column
+         */
+        double[] columnScale() {
+            double[] scale = new double[terms];
+            for (int i = 0; i < terms; i++) {
+                double norm = Math.sqrt(gram[i * terms + i]);
+                if (norm == 0) {
+                    throw new IllegalArgumentException("Column " + i + " of the design matrix is all zero");
+                }
+                scale[i] = 1 / norm;
+            }
+            return scale;
+        }
+
+        /**
+         * Solves the scaled normal equations with a Cholesky factorization.
+         *
+         * @param scale Column scale factors from {@link #columnScale()}
+         * @return      Coefficients of the unscaled problem, or null if the matrix is too ill-conditioned
+         */
+        double[] solveCholesky(double[] scale) {
+            int p = terms;
+            double[] l = new double[p * p];
+            double minPivot = Double.POSITIVE_INFINITY;
+            double maxPivot = 0;
+            for (int j = 0; j < p; j++) {
+                double diagonal = gram[j * p + j] * scale[j] * scale[j];
+                for (int k = 0; k < j; k++) {
+                    diagonal -= l[j * p + k] * l[j * p + k];
+                }
+                if (!(diagonal > 0)) {
+                    return null; // Not positive definite in floating point
+                }
+                double ljj = Math.sqrt(diagonal);
+                l[j * p + j] = ljj;
+                minPivot = Math.min(minPivot, ljj);
+                maxPivot = Math.max(maxPivot, ljj);
+                for (int i = j + 1; i < p; i++) {
+                    double sum = gram[i * p + j] * scale[i] * scale[j];
+                    for (int k = 0; k < j; k++) {
+                        sum -= l[i * p + k] * l[j * p + k];
+                    }
+                    l[i * p + j] = sum / ljj;
+                }
+            }
+            // The squared ratio of the pivots is a cheap lower bound on the condition number
+            double ratio = maxPivot / minPivot;
+            if (ratio * ratio > MAX_CONDITION) {
+                return null;
+            }
+
+            // Forward substitution L w = D X^T y, back substitution L^T z = w, then b = D z
+            double[] z = new double[p];
+            for (int i = 0; i < p; i++) {
+                double sum = xty[i] * scale[i];
+                for (int k = 0; k < i; k++) {
+                    sum -= l[i * p + k] * z[k];
+                }
+                z[i] = sum / l[i * p + i];
+            }
+            for (int i = p - 1; i >= 0; i--) {
+                double sum = z[i];
+                for (int k = i + 1; k < p; k++) {
+                    sum -= l[k * p + i] * z[k];
+                }
+                z[i] = sum / l[i * p + i];
+            }
+            for (int i = 0; i < p; i++) {
+                z[i] *= scale[i];
+            }
+            return z;
+        }
+    }
+
+    /**
+     * GramTask - Accumulates the normal equations of a row range, splitting it in halves until it is short.
+     */
+    private static final class GramTask extends RecursiveTask<NormalEquations> {
+        private static final long serialVersionUID = 1L;
+
+        private final Design design;
+        private final double[] y;
+        private final int from;
+        private final int to;
+
+        GramTask(Design design, double[] y, int from, int to) {
+            this.design = design;
+            this.y = y;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected NormalEquations compute() {
+            if (to - from > TASK_ROWS) {
+                int middle = (from + to) >>> 1;
+                GramTask left = new GramTask(design, y, from, middle);
+                GramTask right = new GramTask(design, y, middle, to);
+                left.fork();
+                NormalEquations result = right.compute();
+                NormalEquations leftResult = left.join();
+                leftResult.merge(result); // Always left + right, whichever finished first
+                return leftResult;
+            }
+
+            int p = design.terms();
+            NormalEquations normal = new NormalEquations(p);
+            double[] block = new double[BLOCK_ROWS * p];
+            for (int start = from; start < to; start += BLOCK_ROWS) {
+                int rows = Math.min(BLOCK_ROWS, to - start);
+                for (int r = 0; r < rows; r++) {
+                    design.expand(start + r, block, r * p);
+                }
+                // X^T X += B^T B for the block B, as one matrix product
+                MatrixOps.multiplyTransposedAAdd(block, block, normal.gram, rows, p, p);
+                for (int r = 0; r < rows; r++) {
+                    double target = y[start + r];
+                    int offset = r * p;
+                    for (int j = 0; j < p; j++) {
+                        normal.xty[j] += block[offset + j] * target;
+                    }
+                    normal.yty += target * target;
+                }
+            }
+            normal.rows = to - from;
+            return normal;
+        }
+    }
+
+    /**
+     * QrFactor - Upper-triangular factor R (p x p, row-major) and Q^T y of a set of rows.
+     */
+    private static final class QrFactor {
+        private final int terms;
+        private final double[] r;
+        private final double[] qty;
+
+        QrFactor(int terms) {
+            this.terms = terms;
+            this.r = new double[terms * terms];
+            this.qty = new double[terms];
+        }
+
+        /**
+         * Rotates one row of the design and its target into the factorization with Givens rotations.
+         *
+         * @param row    Array holding the row, overwritten during the rotation
+         * @param offset Index of the first term in row
+         * @param target Target value of the row
+         */
+        void addRow(double[] row, int offset, double target) {
+            int p = terms;
+            for (int k = 0; k < p; k++) {
+                double v = row[offset + k];
+                if (v == 0) {
+                    continue;
+                }
+                double rkk = r[k * p + k];
+                double norm = Math.sqrt(rkk * rkk + v * v);
+                double c = rkk / norm;
+                double s = v / norm;
+                r[k * p + k] = norm;
+                for (int j = k + 1; j < p; j++) {
+                    double rkj = r[k * p + j];
+                    double vj = row[offset + j];
+                    r[k * p + j] = c * rkj + s * vj;
+                    row[offset + j] = c * vj - s * rkj;
+                }
+                double q = qty[k];
+                qty[k] = c * q + s * target;
+                target = c * target - s * q;
+            }
+        }
+
+        /**
+         * Folds the factorization of another set of rows into this one.
+         *
+         * @param other Factor to merge
+         */
+        void merge(QrFactor other) {
+            int p = terms;
+            double[] row = new double[p];
+            for (int i = 0; i < p; i++) {
+                System.arraycopy(other.r, i * p, row, 0, p);
+                addRow(row, 0, other.qty[i]);
+            }
+        }
+    }
+
+    /**
+     * QrTask - Factorizes a row range of the scaled design, splitting it in halves until it is short.
+     */
+    private static final class QrTask extends RecursiveTask<QrFactor> {
+        private static final long serialVersionUID = 1L;
+
+        private final Design design;
+        private final double[] y;
+        private final double[] scale;
+        private final int from;
+        private final int to;
+
+        QrTask(Design design, double[] y, double[] scale, int from, int to) {
+            this.design = design;
+            this.y = y;
+            this.scale = scale;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected QrFactor compute() {
+            if (to - from > TASK_ROWS) {
+                int middle = (from + to) >>> 1;
+                QrTask left = new QrTask(design, y, scale, from, middle);
+                QrTask right = new QrTask(design, y, scale, middle, to);
+                left.fork();
+                QrFactor result = right.compute();
+                QrFactor leftResult = left.join();
+                leftResult.merge(result);
+                return leftResult;
+            }
+
+            int p = design.terms();
+            QrFactor factor = new QrFactor(p);
+            double[] row = new double[p];
+            for (int i = from; i < to; i++) {
+                design.expand(i, row, 0);
+                for (int j = 0; j < p; j++) {
+                    row[j] *= scale[j];
+                }
+                factor.addRow(row, 0, y[i]);
+            }
+            return factor;
+        }
+    }
+}
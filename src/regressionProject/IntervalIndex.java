@@ -0,0 +1,92 @@
+package regressionProject;
+
+import java.util.Arrays;
+
+/**
+ * IntervalIndex - Immutable map from interval numbers to row indices over primitive arrays.
+ * Uses open addressing with linear probing in a power-of-two table at most half full, so a lookup is a
+ * hash and usually one or two array reads, with no boxing of keys or values. When an interval occurs in
+ * several rows, the first row is kept, the same as a linear search from the top.
+ */
+public final class IntervalIndex {
+    private static final int MISSING = -1; // Value returned for intervals that are not indexed
+
+    private final long[] keys; // Interval numbers, valid where rows[slot] != MISSING
+    private final int[] rows;  // Row index per slot, MISSING for an empty slot
+    private final int mask;    // Table length - 1
+    private final int size;    // Number of distinct intervals
+
+    /**
+     * Constructor to index a column of interval numbers.
+     *
+     * @param intervals Interval number of every row
+     */
+    public IntervalIndex(long[] intervals) {
+        int capacity = Integer.highestOneBit(Math.max(2, intervals.length) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.rows = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(rows, MISSING);
+
+        int distinct = 0;
+        for (int row = 0; row < intervals.length; row++) {
+            long key = intervals[row];
+            int slot = slot(key);
+            while (rows[slot] != MISSING && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (rows[slot] == MISSING) {
+                keys[slot] = key;
+                rows[slot] = row;
+                distinct++;
+            }
+        }
+        this.size = distinct;
+    }
+
+    /**
+     * Computes the home slot of a key by Fibonacci hashing, which spreads consecutive intervals.
+     *
+     * @param key Interval number
+     * @return    Slot index in the table
+     */
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 33) & mask;
+    }
+
+    /**
+     * Finds the row of an interval.
+     *
+     * @param interval Interval number
+     * @return         Index of the first row with that interval, or -1 if there is none
+     */
+    public int get(long interval) {
+        int slot = slot(interval);
+        while (rows[slot] != MISSING) {
+            if (keys[slot] == interval) {
+                return rows[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Checks whether an interval is indexed.
+     *
+     * @param interval Interval number
+     * @return         True if some row has that interval
+     */
+    public boolean contains(long interval) {
+        return get(interval) != MISSING;
+    }
+
+    /**
+     * Gets the number of distinct intervals.
+     *
+     * @return Interval count
+     */
+    public int size() {
+        return size;
+    }
+}
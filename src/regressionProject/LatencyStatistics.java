@@ -0,0 +1,124 @@
+package regressionProject;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * LatencyStatistics - Request latencies and throughput of a service.
+ * The total request count is exact; percentiles are taken over the most recent 65536 latencies, kept in a
+ * ring of primitive longs, so recording never allocates and the percentiles follow the current load.
+ * Recording and reading are synchronized, so request threads may share one instance.
+ */
+public final class LatencyStatistics {
+    private static final int WINDOW = 1 << 16; // Number of recent latencies the percentiles are taken over
+
+    private final long[] samples = new long[WINDOW]; // Ring of recent latencies in nanoseconds
+    private final long startNanos = System.nanoTime(); // Start of the throughput measurement
+    private long count;                               // Number of recorded requests
+    private long batches;                             // Number of batches the requests were scored in
+    private long batchedRows;                         // Number of rows over all batches
+
+    /**
+     * Records the latency of one request.
+     *
+     * @param nanos Time from receiving the request to sending its response, in nanoseconds
+     */
+    public synchronized void record(long nanos) {
+        samples[(int) (count & (WINDOW - 1))] = nanos;
+        count++;
+    }
+
+    /**
+     * Records one scored batch.
+     *
+     * @param rows Number of rows in the batch
+     */
+    public synchronized void recordBatch(int rows) {
+        batches++;
+        batchedRows += rows;
+    }
+
+    /**
+     * Gets the number of recorded requests.
+     *
+     * @return Request count
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the number of scored batches.
+     *
+     * @return Batch count
+     */
+    public synchronized long getBatches() {
+        return batches;
+    }
+
+    /**
+     * Gets the average number of rows scored per batch.
+     *
+     * @return Mean batch size, or NaN if no batch has been recorded
+     */
+    public synchronized double getMeanBatchRows() {
+        return batches == 0 ? Double.NaN : (double) batchedRows / batches;
+    }
+
+    /**
+     * Gets the number of requests per second since these statistics were created.
+     *
+     * @return Throughput in requests per second
+     */
+    public synchronized double getRequestsPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds > 0 ? count / seconds : 0;
+    }
+
+    /**
+     * Gets a latency percentile over the recent window, by the nearest-rank method.
+     *
+     * @param percentile Percentile between 0 (exclusive) and 100 (inclusive), such as 50 or 99
+     * @return           Latency in microseconds, or NaN if no request has been recorded
+     */
+    public double getPercentileMicros(double percentile) {
+        if (!(percentile > 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100], but received " + percentile);
+        }
+        long[] recent;
+        synchronized (this) {
+            recent = Arrays.copyOf(samples, (int) Math.min(count, WINDOW));
+        }
+        if (recent.length == 0) {
+            return Double.NaN;
+        }
+        Arrays.sort(recent);
+        int rank = (int) Math.ceil(percentile / 100 * recent.length);
+        return recent[Math.max(0, rank - 1)] / 1e3;
+    }
+
+    /**
+     * Formats the statistics as one JSON object. Latencies and the mean batch size are null until the
+     * first request or batch has been recorded, since JSON has no NaN.
+     *
+     * @return JSON with count, throughput, p50, p99, batch count and mean batch size
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "{\"requests\":%d,\"requests_per_second\":%.1f,\"p50_us\":%s,\"p99_us\":%s,\"batches\":%d,\"mean_batch_rows\":%s}",
+                getCount(), getRequestsPerSecond(), jsonNumber(getPercentileMicros(50), "%.1f"),
+                jsonNumber(getPercentileMicros(99), "%.1f"), getBatches(), jsonNumber(getMeanBatchRows(), "%.2f"));
+    }
+
+    /**
+     * Formats a number for JSON.
+     *
+     * @param value  Number to format
+     * @param format Format of a finite value
+     * @return       The formatted value, or null if it is NaN or infinite
+     */
+    private static String jsonNumber(double value, String format) {
+        return Double.isFinite(value) ? String.format(Locale.ROOT, format, value) : "null";
+    }
+}
@@ -0,0 +1,68 @@
+package regressionProject;
+
+/**
+ * LearningRateSchedule - Determines the learning rate used in each training epoch.
+ * Factory methods cover the common schedules; any lambda mapping (epoch, base rate) to a rate works too.
+ */
+@FunctionalInterface
+public interface LearningRateSchedule {
+
+    /**
+     * Computes the learning rate for an epoch.
+     *
+     * @param epoch    Zero-based epoch index
+     * @param baseRate Learning rate configured for training
+     * @return         Learning rate to use during this epoch
+     */
+    double learningRate(int epoch, double baseRate);
+
+    /**
+     * Schedule that always uses the base rate.
+     *
+     * @return Constant schedule
+     */
+    static LearningRateSchedule constant() {
+        return (epoch, baseRate) -> baseRate;
+    }
+
+    /**
+     * Schedule that multiplies the rate by a factor every fixed number of epochs.
+     *
+     * @param stepEpochs Number of epochs between decays
+     * @param factor     Multiplier applied at each decay, e.g. 0.5
+     * @return           Step-decay schedule
+     */
+    static LearningRateSchedule stepDecay(int stepEpochs, double factor) {
+        if (stepEpochs <= 0) {
+            throw new IllegalArgumentException("Step length must be positive, but received " + stepEpochs);
+        }
+        return (epoch, baseRate) -> baseRate * Math.pow(factor, epoch / stepEpochs);
+    }
+
+    /**
+     * Schedule that decays the rate exponentially, rate = baseRate * decay^epoch.
+     *
+     * @param decay Per-epoch multiplier, e.g. 0.999
+     * @return      Exponential-decay schedule
+     */
+    static LearningRateSchedule exponentialDecay(double decay) {
+        return (epoch, baseRate) -> baseRate * Math.pow(decay, epoch);
+    }
+
+    /**
+     * Schedule that follows half a cosine from the base rate down to a minimum rate.
+     *
+     * @param totalEpochs Number of epochs over which the rate is annealed
+     * @param minRate     Rate reached at the end of the schedule
+     * @return            Cosine-annealing schedule
+     */
+    static LearningRateSchedule cosine(int totalEpochs, double minRate) {
+        if (totalEpochs <= 0) {
+            throw new IllegalArgumentException("Total epochs must be positive, but received " + totalEpochs);
+        }
+        return (epoch, baseRate) -> {
+            double progress = Math.min(1.0, (double) epoch / totalEpochs);
+            return minRate + 0.5 * (baseRate - minRate) * (1 + Math.cos(Math.PI * progress));
+        };
+    }
+}
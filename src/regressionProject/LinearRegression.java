@@ -15,20 +15,22 @@ public class LinearRegression {
      * @param y Array of y-values (dependent variable)
      */
     public LinearRegression(double[] x, double[] y) {
-        int n = x.length;
-        double sumX = 0, sumY = 0, sumXY = 0, sumX2 = 0;
-        
-        // Calculate sums needed for the least squares method
-        for (int i = 0; i < n; i++) {
-            sumX += x[i];
-            sumY += y[i];
-            sumXY += x[i] * y[i];
-            sumX2 += x[i] * x[i];
-        }
+        // Fit with centred running sums, which keep their precision for large x-values
+        LinearRegressionAccumulator accumulator = new LinearRegressionAccumulator();
+        accumulator.add(x, y);
+        m = accumulator.getSlope();
+        b = accumulator.getIntercept();
+    }
 
-        // Calculate slope (m) and intercept (b) using the least squares formulas
-        m = (n * sumXY - sumX * sumY) / (n * sumX2 - sumX * sumX); 
-        b = (sumY - m * sumX) / n;
+    /**
+     * Constructor for a model with a known line, used when loading a saved model or finishing a streaming fit.
+     *
+     * @param slope     Slope (m) of the regression line
+     * @param intercept Intercept (b) of the regression line
+     */
+    LinearRegression(double slope, double intercept) {
+        this.m = slope;
+        this.b = intercept;
     }
 
     /**
@@ -41,6 +43,22 @@ public class LinearRegression {
         return m * x + b;
     }
 
+    /**
+     * Predicts the y-values for a whole array of x-values in one pass.
+     *
+     * @param x           Input x-values
+     * @param predictions Array receiving one predicted y-value per x-value (length must be at least x.length)
+     */
+    public void predict(double[] x, double[] predictions) {
+        if (predictions.length < x.length) {
+            throw new IllegalArgumentException("Prediction array holds " + predictions.length + " values, but "
+                    + x.length + " x-values were given");
+        }
+        for (int i = 0; i < x.length; i++) {
+            predictions[i] = m * x[i] + b;
+        }
+    }
+
     /**
      * Gets the intercept (b) of the regression line.
      *
@@ -67,12 +85,25 @@ public class LinearRegression {
      * @return  Mean Squared Error between actual and predicted y-values
      */
     public double meanSquaredError(double[] x, double[] y) {
-        int n = x.length;
-        double sumSquaredErrors = 0;
-        for (int i = 0; i < n; i++) {
-            double predictedY = predict(x[i]);
-            sumSquaredErrors += Math.pow(y[i] - predictedY, 2);
+        return evaluate(x, y).getMeanSquaredError();
+    }
+
+    /**
+     * Evaluates the model on the provided dataset. The returned statistics can be combined with the
+     * statistics of further chunks to score data that does not fit in one array.
+     *
+     * @param x Array of x-values (independent variable)
+     * @param y Array of y-values (dependent variable)
+     * @return  Error statistics (MSE, RMSE, R^2) of the predictions
+     */
+    public ErrorStatistics evaluate(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Got " + x.length + " x-values but " + y.length + " y-values");
+        }
+        ErrorStatistics statistics = new ErrorStatistics();
+        for (int i = 0; i < x.length; i++) {
+            statistics.add(y[i], predict(x[i]));
         }
-        return sumSquaredErrors / n;
+        return statistics;
     }
 }
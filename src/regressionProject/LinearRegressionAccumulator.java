@@ -0,0 +1,187 @@
+package regressionProject;
+
+import java.util.stream.Collector;
+
+/**
+ * LinearRegressionAccumulator - Streaming, mergeable least-squares fit of a line y = mx + b.
+ * Points are added one at a time or in chunks, so the data never has to fit in one array. Instead of raw
+ * sums such as sum(x^2), whose cancellation loses precision for large values like interval numbers, it keeps
+ * Welford-style running means and centred co-moments, which stay accurate at any offset.
+ *
+ * Two accumulators over disjoint parts of the data can be merged with {@link #combine(LinearRegressionAccumulator)},
+ * so the data can be split across threads, files or partitions, for example with {@link #collector()} on a
+ * parallel stream or with {@code IntStream.range(0, n).parallel().collect(LinearRegressionAccumulator::new,
+ * (acc, i) -> acc.add(x[i], y[i]), LinearRegressionAccumulator::combine)}.
+ * An accumulator itself is not thread-safe; use one per thread and combine them.
+ */
+public final class LinearRegressionAccumulator {
+    private long count;  // Number of points
+    private double meanX; // Running mean of x
+    private double meanY; // Running mean of y
+    private double m2x;   // Sum of (x - meanX)^2
+    private double m2y;   // Sum of (y - meanY)^2
+    private double cxy;   // Sum of (x - meanX) * (y - meanY)
+
+    /**
+     * Constructor for an empty accumulator.
+     */
+    public LinearRegressionAccumulator() {
+        // Starts with no points
+    }
+
+    /**
+     * Adds one point.
+     *
+     * @param x x-value (independent variable)
+     * @param y y-value (dependent variable)
+     */
+    public void add(double x, double y) {
+        count++;
+        double dx = x - meanX;
+        double dy = y - meanY;
+        meanX += dx / count;
+        meanY += dy / count;
+        // Welford update: the old deviation times the new deviation
+        m2x += dx * (x - meanX);
+        m2y += dy * (y - meanY);
+        cxy += dx * (y - meanY);
+    }
+
+    /**
+     * Adds a chunk of points.
+     *
+     * @param x Array of x-values
+     * @param y Array of y-values, same length as x
+     */
+    public void add(double[] x, double[] y) {
+        add(x, y, 0, x.length);
+    }
+
+    /**
+     * Adds the points {@code from} (inclusive) to {@code to} (exclusive) of two arrays.
+     *
+     * @param x    Array of x-values
+     * @param y    Array of y-values
+     * @param from Index of the first point
+     * @param to   Index after the last point
+     */
+    public void add(double[] x, double[] y, int from, int to) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Got " + x.length + " x-values but " + y.length + " y-values");
+        }
+        if (from < 0 || to > x.length || from > to) {
+            throw new IllegalArgumentException("Invalid range [" + from + ", " + to + ") for " + x.length + " points");
+        }
+        for (int i = from; i < to; i++) {
+            add(x[i], y[i]);
+        }
+    }
+
+    /**
+     * Merges the points of another accumulator into this one (Chan et al. pairwise update).
+     *
+     * @param other Accumulator over a disjoint set of points; left unchanged
+     * @return      This accumulator
+     */
+    public LinearRegressionAccumulator combine(LinearRegressionAccumulator other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            meanX = other.meanX;
+            meanY = other.meanY;
+            m2x = other.m2x;
+            m2y = other.m2y;
+            cxy = other.cxy;
+            return this;
+        }
+        long total = count + other.count;
+        double dx = other.meanX - meanX;
+        double dy = other.meanY - meanY;
+        double weight = (double) count * other.count / total;
+        m2x += other.m2x + dx * dx * weight;
+        m2y += other.m2y + dy * dy * weight;
+        cxy += other.cxy + dx * dy * weight;
+        meanX += dx * other.count / total;
+        meanY += dy * other.count / total;
+        count = total;
+        return this;
+    }
+
+    /**
+     * Creates a collector that fits a line to a stream of {x, y} pairs, in parallel if the stream is parallel.
+     *
+     * @return Collector producing the fitted LinearRegression
+     */
+    public static Collector<double[], LinearRegressionAccumulator, LinearRegression> collector() {
+        return Collector.of(LinearRegressionAccumulator::new,
+                (accumulator, point) -> accumulator.add(point[0], point[1]),
+                LinearRegressionAccumulator::combine,
+                LinearRegressionAccumulator::toModel,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Builds the least-squares line through the points added so far.
+     *
+     * @return LinearRegression with the fitted slope and intercept
+     */
+    public LinearRegression toModel() {
+        return new LinearRegression(getSlope(), getIntercept());
+    }
+
+    /**
+     * Gets the least-squares slope (m); NaN until the x-values have spread.
+     *
+     * @return Slope of the fitted line
+     */
+    public double getSlope() {
+        return cxy / m2x;
+    }
+
+    /**
+     * Gets the least-squares intercept (b).
+     *
+     * @return Intercept of the fitted line
+     */
+    public double getIntercept() {
+        return meanY - getSlope() * meanX;
+    }
+
+    /**
+     * Gets the coefficient of determination of the fitted line on the points added so far.
+     *
+     * @return R^2 in [0, 1], NaN if undefined
+     */
+    public double getRSquared() {
+        return cxy * cxy / (m2x * m2y);
+    }
+
+    /**
+     * Gets the number of points added.
+     *
+     * @return Point count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean of the x-values.
+     *
+     * @return Mean x
+     */
+    public double getMeanX() {
+        return meanX;
+    }
+
+    /**
+     * Gets the mean of the y-values.
+     *
+     * @return Mean y
+     */
+    public double getMeanY() {
+        return meanY;
+    }
+}
@@ -1,13 +1,12 @@
 package regressionProject;
 
-import tech.tablesaw.api.Table;
-import tech.tablesaw.api.DoubleColumn;
-import tech.tablesaw.api.StringColumn;
 import java.io.IOException;
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.ObjLongConsumer;
 
 /**
  * Main - Class to initialize and run polynomial regression on time series stock data.
@@ -29,14 +28,24 @@ public class Main {
             // 3. Create a DataLoader instance to read data from the CSV file
             String filePath = "wulf.csv";
             DataLoader dataLoader = new DataLoader(filePath, "timestamp", "close", featureColumns, dateConverter);
-            Table stockData = dataLoader.loadData(); // Load and process data from file
-
-            // 4. Create the regression model based on data and chosen polynomial degree
-            int degree = 2; // Example: degree 2 (quadratic)
-            MultivariatePolynomialRegression regression = createRegression(stockData, dataLoader, degree);
+            // Parse the file on the first run only; later runs map the binary columnar cache next to it
+            ColumnarDataset stockData = dataLoader.loadCached(Paths.get(filePath + ".regression.columns"));
+
+            // 4. Create the regression model with the polynomial degree chosen by walk-forward validation,
+            //    or load it from the model file given as the first argument if it already exists
+            MultivariatePolynomialRegression regression;
+            Path modelPath = args.length > 0 ? Paths.get(args[0]) : null;
+            if (modelPath != null && Files.exists(modelPath)) {
+                regression = ModelIO.loadMultivariatePolynomialRegression(modelPath);
+            } else {
+                regression = createRegression(stockData, 1, 4, 5);
+                if (modelPath != null) {
+                    ModelIO.save(regression, modelPath); // Skip training on the next start
+                }
+            }
 
-            // 5. Generate and print predictions for future intervals
-            generatePredictions(stockData, dateConverter, regression, filePath, 500);
+            // 5. Generate and print predictions for future intervals with the compiled model
+            generatePredictions(stockData, dateConverter, regression.compile(), 500);
 
         } catch (IOException e) {
             e.printStackTrace();
@@ -44,65 +53,60 @@ public class Main {
     }
 
     /**
-     * Creates a multivariate polynomial regression model with additional features.
+     * Creates a multivariate polynomial regression model with additional features, using the degree
+     * with the lowest walk-forward validation error.
      *
-     * @param stockData   Table containing the loaded stock data
-     * @param dataLoader  DataLoader instance to handle data extraction and formatting
-     * @param degree      Degree of the polynomial for regression
+     * @param stockData   Columns of the loaded stock data
+     * @param minDegree   Smallest polynomial degree to try
+     * @param maxDegree   Largest polynomial degree to try
+     * @param folds       Number of walk-forward validation folds
      * @return            A trained MultivariatePolynomialRegression model
      */
-    private static MultivariatePolynomialRegression createRegression(Table stockData, DataLoader dataLoader, int degree) {
-        // Extract input features and target variables from DataLoader
-        double[][] X = dataLoader.getFeatureValues(stockData);
-        double[] y = dataLoader.getTargetValues(stockData);
-
-        // Create and return the regression model
-        return new MultivariatePolynomialRegression(X, y, degree, X[0].length);
+    private static MultivariatePolynomialRegression createRegression(ColumnarDataset stockData,
+                                                                     int minDegree, int maxDegree, int folds) {
+        // Extract input features and target variables from the loaded columns
+        FeatureMatrix X = stockData.getFeatureMatrix();
+        double[] y = stockData.getTargetValues();
+
+        // Score every degree on data that comes after its training rows and keep the best one
+        DegreeSearchResult search = WalkForwardValidation.searchMultivariateDegree(X, y, minDegree, maxDegree, folds);
+        System.out.println(search);
+        int degree = search.getBestDegree();
+
+        // Fit the regression model on all rows from streamed normal equations, without building the polynomial design matrix
+        return GramMatrixFitter.fitMultivariate(X, y, degree);
     }
 
     /**
-     * Generates and prints predictions for future time intervals.
+     * Generates and prints predictions for future time intervals, compared with the actual values
+     * already present in the loaded data.
      *
-     * @param stockData         Table containing the stock data for reference
+     * @param stockData         Columns of the loaded stock data
      * @param dateConverter     DateConverter instance to handle date conversions
-     * @param regression        Trained regression model to make predictions
-     * @param filePath          File path to the original CSV file for reference
+     * @param predictor         Compiled regression model to make predictions
      * @param futureIntervals   Number of future intervals to predict
-     * @throws IOException      If data file cannot be read
      */
-    private static void generatePredictions(Table stockData, DateConverter dateConverter,
-                                            MultivariatePolynomialRegression regression,
-                                            String filePath, int futureIntervals) throws IOException {
-        // Load original data for actual value comparison
-        Table originalData = Table.read().csv(filePath);
-        StringColumn dateColumn = originalData.stringColumn("timestamp");
-        DoubleColumn originalPriceColumn = originalData.doubleColumn("close");
-
-        OffsetDateTime currentDate = dateConverter.getEndDate();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ssXXX");
+    private static void generatePredictions(ColumnarDataset stockData, DateConverter dateConverter,
+                                            MultivariatePolynomialPredictor predictor, int futureIntervals) {
+        // Index the loaded data once by interval number; no second read of the CSV file
+        Backtester backtester = new Backtester(stockData.getIntervals(), stockData.getTargetValues());
+
+        // Step through the intervals after the end date, predicting from the interval number alone
+        long firstInterval = dateConverter.dateToIntervals(dateConverter.getEndDate()) + 1;
+        ObjLongConsumer<double[]> features = (input, interval) -> {
+            input[0] = interval;
+            Arrays.fill(input, 1, input.length, 0.0); // No future values of the additional features
+        };
 
         System.out.println("\nPredictions:");
-        for (int i = 1; i <= futureIntervals; i++) {
-            // Add a 30-minute interval
-            currentDate = currentDate.plusMinutes(30);
-            String currentDateStr = currentDate.format(formatter);
-
-            long intervalsFromStart = dateConverter.dateToIntervals(currentDateStr);
-
-            // Create input for prediction (add dummy values if needed)
-            double[] newInput = new double[] { intervalsFromStart, 0.0, 0.0 }; // Adjust number of 0.0 according to numFeatures
-
-            // Predict price for this interval
-            double predictedPrice = regression.predict(newInput);
-
-            // Find actual price for comparison if available
-            double actualPrice = Double.NaN;
-            int rowIndex = dateColumn.indexOf(currentDateStr);
-            if (rowIndex != -1) {
-                actualPrice = originalPriceColumn.get(rowIndex);
-            }
-
-            printPredictionResult(currentDateStr, predictedPrice, actualPrice);
+        ErrorStatistics statistics = backtester.run(predictor, features, firstInterval, futureIntervals,
+                (interval, predicted, actual, error) ->
+                        printPredictionResult(dateConverter.intervalsToDate(interval), predicted, actual));
+
+        if (statistics.getCount() > 0) {
+            System.out.printf("Compared %d predictions: MAE %.4f, RMSE %.4f, MAPE %.2f%%%n", statistics.getCount(),
+                    statistics.getMeanAbsoluteError(), statistics.getRootMeanSquaredError(),
+                    statistics.getMeanAbsolutePercentageError());
         }
     }
 
@@ -1,8 +1,10 @@
 package regressionProject;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
-import tech.tablesaw.api.Table;
 import java.util.Arrays;
 
 /**
@@ -26,40 +28,51 @@ public class MainForNeuralNetwork {
 
             // 3. Use DataLoader to load and prepare data from the CSV file
             DataLoader dataLoader = new DataLoader(filePath, dateColumn, targetColumn, featureColumns, dateConverter);
-            Table stockData = dataLoader.loadData(); // Loads and processes data from the file
+            // The file is parsed on the first run only; later runs map the binary columnar cache next to it
+            ColumnarDataset stockData = dataLoader.loadCached(Paths.get(filePath + ".network.columns"));
 
-            // 4. Extract input and target variables from the loaded table
-            double[][] inputs = dataLoader.getFeatureValues(stockData); // Fetch input features
-            double[] targetValues = dataLoader.getTargetValues(stockData); // Fetch target variables (closing price)
+            // 4. Extract input and target variables from the loaded columns
+            // The network reads rows, so the column-major matrix is transposed once here and shared by training and prediction
+            FeatureMatrix inputs = stockData.getFeatureMatrix().toRowMajor(); // Fetch input features
+            double[] targets = stockData.getTargetValues(); // Fetch target variables (closing price)
 
-            // 5. Convert target values to a 2D array format required by the network
-            double[][] targets = new double[targetValues.length][1];
-            for (int i = 0; i < targetValues.length; i++) {
-                targets[i][0] = targetValues[i];
-            }
-
-            // 6. Create and configure the neural network architecture
+            // 5. Create and configure the neural network architecture
             // Example architecture with two hidden layers (64 neurons each) and a linear output for regression
-            int[] layers = {inputs[0].length, 64, 64, 1};
+            int[] layers = {inputs.columns(), 64, 64, 1};
             List<ActivationFunctions> activations = Arrays.asList(
                     ActivationFunctions.RELU,   // Activation for the first hidden layer
                     ActivationFunctions.RELU,   // Activation for the second hidden layer
                     ActivationFunctions.LINEAR  // Linear activation for output layer (good for regression)
             );
 
-            // 7. Create an instance of NeuralNetwork with the specified architecture and activations
-            NeuralNetwork nn = new NeuralNetwork(layers, activations);
+            // 6. Load the trained network from the model file given as the first argument if it exists,
+            //    otherwise create, train and (if a path was given) save a new one
+            NeuralNetwork nn;
+            Path modelPath = args.length > 0 ? Paths.get(args[0]) : null;
+            if (modelPath != null && Files.exists(modelPath)) {
+                nn = ModelIO.loadNeuralNetwork(modelPath);
+            } else {
+                nn = new NeuralNetwork(layers, activations);
 
-            // 8. Train the network with a specified number of epochs and learning rate
-            int epochs = 10000; // Number of training cycles (epochs)
-            double learningRate = 0.001; // Learning rate
-            nn.train(inputs, targets, epochs, learningRate);
+                // 7. Train the network with Adam and stop early once the held-out tail stops improving
+                TrainingOptions options = new TrainingOptions()
+                        .setEpochs(10000) // Maximum number of training cycles (epochs)
+                        .setLearningRate(0.001) // Base learning rate
+                        .setBatchSize(32) // Samples per weight update
+                        .setOptimizer(new AdamOptimizer())
+                        .setEarlyStopping(new EarlyStopping(0.2, 20)); // Hold out the last 20% of rows
+                nn.train(inputs, targets, options);
+                if (modelPath != null) {
+                    ModelIO.save(nn, modelPath); // Skip training on the next start
+                }
+            }
 
-            // 9. Test the network by running forward pass on the same inputs to get predictions
+            // 8. Test the network by running forward pass on the same inputs to get predictions
+            double[] outputs = new double[inputs.rows()]; // One output neuron per row
+            nn.predict(inputs, outputs, Runtime.getRuntime().availableProcessors());
             System.out.println("Predictions:");
-            for (int i = 0; i < inputs.length; i++) {
-                double[] output = nn.feedForward(inputs[i]);
-                System.out.println("Actual value: " + targets[i][0] + " -> Predicted value: " + output[0]);
+            for (int i = 0; i < inputs.rows(); i++) {
+                System.out.println("Actual value: " + targets[i] + " -> Predicted value: " + outputs[i]);
             }
 
         } catch (IOException e) {
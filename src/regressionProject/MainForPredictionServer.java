@@ -0,0 +1,48 @@
+package regressionProject;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * MainForPredictionServer - Class to serve trained models over HTTP on localhost.
+ * The first argument is the port; every further argument, at least one, names a model file saved with
+ * ModelIO as {@code name=path}, for example {@code 8080 wulf=wulf.model network=network.model}.
+ * Predictions are then available at {@code POST http://localhost:8080/predict/wulf}.
+ */
+public class MainForPredictionServer {
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: MainForPredictionServer <port> <name=path> [<name=path> ...]");
+            return;
+        }
+        try {
+            // 1. Bind to localhost; batch requests that arrive within 200 microseconds of each other
+            int port = Integer.parseInt(args[0]);
+            PredictionServer server = new PredictionServer(new InetSocketAddress("localhost", port),
+                    Duration.ofNanos(200_000), 256, 64);
+
+            // 2. Load every model given as name=path
+            int loaded = 0;
+            for (int i = 1; i < args.length; i++) {
+                int separator = args[i].indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Expected name=path, but received " + args[i]);
+                }
+                server.loadModel(args[i].substring(0, separator), Paths.get(args[i].substring(separator + 1)));
+                loaded++;
+            }
+
+            // 3. Serve until the process is stopped
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+            System.out.println("Serving " + loaded + " models on port " + server.getPort()
+                    + "; statistics at /stats");
+
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package regressionProject;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * MainForTrainingFarm - Class to fit a polynomial regression model for every symbol in a directory.
+ * Each {@code <symbol>.csv} file in the input directory (first argument, default "data") gets its own
+ * model in the output directory (second argument, default "models"), next to a summary of the fit
+ * times and errors of all symbols.
+ */
+public class MainForTrainingFarm {
+
+    public static void main(String[] args) {
+        try {
+            // 1. Define the date range and the columns shared by all symbol files
+            String startDate = "2024-08-01 00:00:00+01:00";
+            String endDate = "2024-10-31 23:30:00+01:00";
+            DateConverter dateConverter = new DateConverter(startDate, endDate);
+            List<String> featureColumns = Arrays.asList("volume", "trade_count");
+
+            // 2. Configure the farm: load on a few I/O threads, fit on one thread per processor
+            TrainingFarm farm = new TrainingFarm("timestamp", "close", featureColumns, dateConverter)
+                    .setDegrees(1, 4)
+                    .setFolds(5);
+
+            // 3. Train every symbol and write its model plus summary.csv
+            Path inputDirectory = Paths.get(args.length > 0 ? args[0] : "data");
+            Path outputDirectory = Paths.get(args.length > 1 ? args[1] : "models");
+            long start = System.nanoTime();
+            List<TrainingFarm.Result> results = farm.run(inputDirectory, outputDirectory);
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+            // 4. Report failures and the overall outcome
+            int failed = 0;
+            for (TrainingFarm.Result result : results) {
+                if (!result.isSuccessful()) {
+                    failed++;
+                    System.out.println(result.getSymbol() + " failed: " + result.getError());
+                }
+            }
+            System.out.printf("Trained %d of %d symbols in %d ms; summary written to %s%n", results.size() - failed,
+                    results.size(), elapsed, outputDirectory.resolve("summary.csv"));
+
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
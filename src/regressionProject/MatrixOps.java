@@ -0,0 +1,135 @@
+package regressionProject;
+
+/**
+ * MatrixOps - A utility class with cache-blocked dense matrix kernels used by the neural network.
+ * All matrices are stored as flat, row-major double arrays, so element (i, j) of an m x n matrix
+ * lives at index i * n + j. The loops are ordered so that the innermost loop always walks
+ * contiguous memory, and the outer loops are tiled so the working set stays in cache.
+ */
+public final class MatrixOps {
+    private static final int ROW_BLOCK = 64;   // Rows of the left-hand matrix processed per tile
+    private static final int INNER_BLOCK = 128; // Shared dimension processed per tile
+    private static final int COL_BLOCK = 256;  // Columns of the result processed per tile
+
+    private MatrixOps() {
+        // Utility class, not meant to be instantiated
+    }
+
+    /**
+     * Computes C += A * B.
+     *
+     * @param a Left-hand matrix A (m x k)
+     * @param b Right-hand matrix B (k x n)
+     * @param c Result matrix C (m x n), accumulated in place
+     * @param m Number of rows in A and C
+     * @param k Number of columns in A and rows in B
+     * @param n Number of columns in B and C
+     */
+    public static void multiplyAdd(double[] a, double[] b, double[] c, int m, int k, int n) {
+        for (int i0 = 0; i0 < m; i0 += ROW_BLOCK) {
+            int iMax = Math.min(i0 + ROW_BLOCK, m);
+            for (int p0 = 0; p0 < k; p0 += INNER_BLOCK) {
+                int pMax = Math.min(p0 + INNER_BLOCK, k);
+                for (int j0 = 0; j0 < n; j0 += COL_BLOCK) {
+                    int jMax = Math.min(j0 + COL_BLOCK, n);
+                    for (int i = i0; i < iMax; i++) {
+                        int aRow = i * k;
+                        int cRow = i * n;
+                        for (int p = p0; p < pMax; p++) {
+                            double aip = a[aRow + p];
+                            int bRow = p * n;
+                            for (int j = j0; j < jMax; j++) {
+                                c[cRow + j] += aip * b[bRow + j];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes C = A * B^T, overwriting C.
+     *
+     * @param a Left-hand matrix A (m x k)
+     * @param b Matrix B (n x k) whose transpose is used
+     * @param c Result matrix C (m x n)
+     * @param m Number of rows in A and C
+     * @param k Number of columns in A and B
+     * @param n Number of rows in B and columns in C
+     */
+    public static void multiplyTransposedB(double[] a, double[] b, double[] c, int m, int k, int n) {
+        for (int i0 = 0; i0 < m; i0 += ROW_BLOCK) {
+            int iMax = Math.min(i0 + ROW_BLOCK, m);
+            for (int j0 = 0; j0 < n; j0 += ROW_BLOCK) {
+                int jMax = Math.min(j0 + ROW_BLOCK, n);
+                for (int i = i0; i < iMax; i++) {
+                    int aRow = i * k;
+                    int cRow = i * n;
+                    for (int j = j0; j < jMax; j++) {
+                        c[cRow + j] = dot(a, aRow, b, j * k, k);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Dot product of two contiguous ranges. Four independent partial sums break the
+     * add-latency chain so the loop is limited by throughput rather than latency.
+     *
+     * @param a      First array
+     * @param aStart Start index in the first array
+     * @param b      Second array
+     * @param bStart Start index in the second array
+     * @param length Number of elements to multiply
+     * @return       Sum of the element-wise products
+     */
+    public static double dot(double[] a, int aStart, double[] b, int bStart, int length) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int p = 0;
+        for (; p + 3 < length; p += 4) {
+            s0 += a[aStart + p] * b[bStart + p];
+            s1 += a[aStart + p + 1] * b[bStart + p + 1];
+            s2 += a[aStart + p + 2] * b[bStart + p + 2];
+            s3 += a[aStart + p + 3] * b[bStart + p + 3];
+        }
+        for (; p < length; p++) {
+            s0 += a[aStart + p] * b[bStart + p];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Computes C += A^T * B.
+     *
+     * @param a Matrix A (k x m) whose transpose is used
+     * @param b Right-hand matrix B (k x n)
+     * @param c Result matrix C (m x n), accumulated in place
+     * @param k Number of rows in A and B
+     * @param m Number of columns in A and rows in C
+     * @param n Number of columns in B and C
+     */
+    public static void multiplyTransposedAAdd(double[] a, double[] b, double[] c, int k, int m, int n) {
+        for (int p0 = 0; p0 < k; p0 += INNER_BLOCK) {
+            int pMax = Math.min(p0 + INNER_BLOCK, k);
+            for (int i0 = 0; i0 < m; i0 += ROW_BLOCK) {
+                int iMax = Math.min(i0 + ROW_BLOCK, m);
+                for (int p = p0; p < pMax; p++) {
+                    int aRow = p * m;
+                    int bRow = p * n;
+                    for (int i = i0; i < iMax; i++) {
+                        double api = a[aRow + i];
+                        if (api == 0) {
+                            continue; // Common after ReLU, skip the whole row update
+                        }
+                        int cRow = i * n;
+                        for (int j = 0; j < n; j++) {
+                            c[cRow + j] += api * b[bRow + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,469 @@
+package regressionProject;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * ModelIO - Saves and loads trained models in a compact, versioned binary format.
+ *
+ * Every file starts with a 32-byte little-endian header:
+ * <pre>
+ *   0  int  magic "RGPM"
+ *   4  int  format version
+ *   8  int  model type
+ *  12  int  reserved (0)
+ *  16  long payload length in bytes
+ *  24  long CRC-32C checksum of the payload
+ * </pre>
+ * followed by the payload. Network payloads hold the layer sizes, the activation of each layer and then
+ * the flat row-major weights and biases of every layer; regression payloads hold their coefficients plus
+ * the degree and feature count. All arrays start on 8-byte boundaries.
+ *
+ * Loading maps the file with {@link FileChannel#map} and moves each parameter array out of the mapping
+ * with one bulk transfer, so there is no text parsing and no per-element work beyond the checksum.
+ */
+public final class ModelIO {
+    private static final int MAGIC = 0x4D504752;      // Bytes "RGPM" read as a little-endian int
+    private static final int VERSION = 1;             // Current format version
+    private static final int HEADER_BYTES = 32;       // Size of the fixed header
+
+    private static final int TYPE_NEURAL_NETWORK = 1;
+    private static final int TYPE_FLOAT_NEURAL_NETWORK = 2;
+    private static final int TYPE_LINEAR_REGRESSION = 3;
+    private static final int TYPE_POLYNOMIAL_REGRESSION = 4;
+    private static final int TYPE_MULTIVARIATE_POLYNOMIAL_REGRESSION = 5;
+
+    private ModelIO() {
+        // Utility class, not meant to be instantiated
+    }
+
+    /**
+     * Saves a double-precision neural network.
+     *
+     * @param network Network to save
+     * @param path    Destination file, replaced if it exists
+     * @throws IOException If the file cannot be written
+     */
+    public static void save(NeuralNetwork network, Path path) throws IOException {
+        double[][] weights = network.getWeights();
+        double[][] biases = network.getBiases();
+        ByteBuffer payload = allocate(networkHeaderBytes(network.getLayers().length)
+                + Double.BYTES * (countParameters(weights) + countParameters(biases)));
+        putNetworkHeader(payload, network.getLayers(), network.getActivations());
+        for (int i = 0; i < weights.length; i++) {
+            putDoubles(payload, weights[i]);
+            putDoubles(payload, biases[i]);
+        }
+        write(path, TYPE_NEURAL_NETWORK, payload);
+    }
+
+    /**
+     * Saves a single-precision neural network.
+     *
+     * @param network Network to save
+     * @param path    Destination file, replaced if it exists
+     * @throws IOException If the file cannot be written
+     */
+    public static void save(FloatNeuralNetwork network, Path path) throws IOException {
+        float[][] weights = network.getWeights();
+        float[][] biases = network.getBiases();
+        int parameterBytes = 0;
+        for (int i = 0; i < weights.length; i++) {
+            parameterBytes += align(Float.BYTES * weights[i].length) + align(Float.BYTES * biases[i].length);
+        }
+        ByteBuffer payload = allocate(networkHeaderBytes(network.getLayers().length) + parameterBytes);
+        putNetworkHeader(payload, network.getLayers(), network.getActivations());
+        for (int i = 0; i < weights.length; i++) {
+            putFloats(payload, weights[i]);
+            putFloats(payload, biases[i]);
+        }
+        write(path, TYPE_FLOAT_NEURAL_NETWORK, payload);
+    }
+
+    /**
+     * Saves a linear regression model.
+     *
+     * @param model Model to save
+     * @param path  Destination file, replaced if it exists
+     * @throws IOException If the file cannot be written
+     */
+    public static void save(LinearRegression model, Path path) throws IOException {
+        ByteBuffer payload = allocate(2 * Double.BYTES);
+        payload.putDouble(model.getSlope()).putDouble(model.getIntercept());
+        write(path, TYPE_LINEAR_REGRESSION, payload);
+    }
+
+    /**
+     * Saves a univariate polynomial regression model.
+     *
+     * @param model Model to save
+     * @param path  Destination file, replaced if it exists
+     * @throws IOException If the file cannot be written
+     */
+    public static void save(PolynomialRegression model, Path path) throws IOException {
+        double[] coefficients = model.getCoefficients();
+        ByteBuffer payload = allocate(2 * Integer.BYTES + Double.BYTES * coefficients.length);
+        payload.putInt(model.getDegree()).putInt(0);
+        putDoubles(payload, coefficients);
+        write(path, TYPE_POLYNOMIAL_REGRESSION, payload);
+    }
+
+    /**
+     * Saves a multivariate polynomial regression model.
+     *
+     * @param model Model to save
+     * @param path  Destination file, replaced if it exists
+     * @throws IOException If the file cannot be written
+     */
+    public static void save(MultivariatePolynomialRegression model, Path path) throws IOException {
+        double[] coefficients = model.getCoefficients();
+        ByteBuffer payload = allocate(2 * Integer.BYTES + Double.BYTES * coefficients.length);
+        payload.putInt(model.getDegree()).putInt(model.getNumFeatures());
+        putDoubles(payload, coefficients);
+        write(path, TYPE_MULTIVARIATE_POLYNOMIAL_REGRESSION, payload);
+    }
+
+    /**
+     * Loads a double-precision neural network saved with {@link #save(NeuralNetwork, Path)}.
+     *
+     * @param path File to load
+     * @return     The restored network
+     * @throws IOException If the file cannot be read, is corrupt or holds a different model type
+     */
+    public static NeuralNetwork loadNeuralNetwork(Path path) throws IOException {
+        ByteBuffer payload = map(path, TYPE_NEURAL_NETWORK);
+        int[] layers = getNetworkLayers(payload);
+        List<ActivationFunctions> activations = getNetworkActivations(payload, layers.length);
+        double[][] weights = new double[layers.length - 1][];
+        double[][] biases = new double[layers.length - 1][];
+        for (int i = 0; i < layers.length - 1; i++) {
+            weights[i] = getDoubles(payload, layers[i] * layers[i + 1]);
+            biases[i] = getDoubles(payload, layers[i + 1]);
+        }
+        return new NeuralNetwork(layers, activations, weights, biases);
+    }
+
+    /**
+     * Loads a single-precision neural network saved with {@link #save(FloatNeuralNetwork, Path)}.
+     *
+     * @param path File to load
+     * @return     The restored network
+     * @throws IOException If the file cannot be read, is corrupt or holds a different model type
+     */
+    public static FloatNeuralNetwork loadFloatNeuralNetwork(Path path) throws IOException {
+        ByteBuffer payload = map(path, TYPE_FLOAT_NEURAL_NETWORK);
+        int[] layers = getNetworkLayers(payload);
+        List<ActivationFunctions> activations = getNetworkActivations(payload, layers.length);
+        float[][] weights = new float[layers.length - 1][];
+        float[][] biases = new float[layers.length - 1][];
+        for (int i = 0; i < layers.length - 1; i++) {
+            weights[i] = getFloats(payload, layers[i] * layers[i + 1]);
+            biases[i] = getFloats(payload, layers[i + 1]);
+        }
+        return new FloatNeuralNetwork(layers, activations, weights, biases);
+    }
+
+    /**
+     * Loads a linear regression model saved with {@link #save(LinearRegression, Path)}.
+     *
+     * @param path File to load
+     * @return     The restored model
+     * @throws IOException If the file cannot be read, is corrupt or holds a different model type
+     */
+    public static LinearRegression loadLinearRegression(Path path) throws IOException {
+        ByteBuffer payload = map(path, TYPE_LINEAR_REGRESSION);
+        return new LinearRegression(payload.getDouble(), payload.getDouble());
+    }
+
+    /**
+     * Loads a univariate polynomial regression model saved with {@link #save(PolynomialRegression, Path)}.
+     *
+     * @param path File to load
+     * @return     The restored model
+     * @throws IOException If the file cannot be read, is corrupt or holds a different model type
+     */
+    public static PolynomialRegression loadPolynomialRegression(Path path) throws IOException {
+        ByteBuffer payload = map(path, TYPE_POLYNOMIAL_REGRESSION);
+        int degree = payload.getInt();
+        payload.getInt(); // Padding
+        return new PolynomialRegression(getDoubles(payload, degree + 1), degree);
+    }
+
+    /**
+     * Loads a multivariate polynomial regression model saved with
+     * {@link #save(MultivariatePolynomialRegression, Path)}.
+     *
+     * @param path File to load
+     * @return     The restored model
+     * @throws IOException If the file cannot be read, is corrupt or holds a different model type
+     */
+    public static MultivariatePolynomialRegression loadMultivariatePolynomialRegression(Path path) throws IOException {
+        ByteBuffer payload = map(path, TYPE_MULTIVARIATE_POLYNOMIAL_REGRESSION);
+        int degree = payload.getInt();
+        int numFeatures = payload.getInt();
+        return new MultivariatePolynomialRegression(getDoubles(payload, degree * numFeatures + 1), degree, numFeatures);
+    }
+
+    /**
+     * Checks whether a model file holds a double-precision neural network, reading only its header,
+     * so a caller can pick the matching load method for a file of unknown type.
+     *
+     * @param path File to inspect
+     * @return     True if the file was written by {@link #save(NeuralNetwork, Path)}
+     * @throws IOException If the file cannot be read or is not a model file
+     */
+    public static boolean holdsNeuralNetwork(Path path) throws IOException {
+        ByteBuffer header = allocate(HEADER_BYTES);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read until the header is complete or the file ends
+            }
+        }
+        header.flip();
+        if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+            throw new IOException("File " + path + " is not a model file.");
+        }
+        header.getInt(); // Version, checked when the model is loaded
+        return header.getInt() == TYPE_NEURAL_NETWORK;
+    }
+
+    /**
+     * Allocates a little-endian heap buffer for a payload.
+     *
+     * @param bytes Payload size in bytes
+     * @return      Empty buffer of that size
+     */
+    private static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes header and payload to a temporary file, then moves it into place so readers never
+     * observe a half-written model.
+     *
+     * @param path    Destination file
+     * @param type    Model type code
+     * @param payload Filled payload buffer
+     * @throws IOException If the file cannot be written
+     */
+    private static void write(Path path, int type, ByteBuffer payload) throws IOException {
+        payload.flip();
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+
+        ByteBuffer header = allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(type).putInt(0)
+                .putLong(payload.remaining()).putLong(crc.getValue());
+        header.flip();
+
+        Path absolute = path.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining() || payload.hasRemaining()) {
+                channel.write(new ByteBuffer[] {header, payload});
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps a model file, validates its header and checksum, and returns the payload.
+     *
+     * @param path         File to map
+     * @param expectedType Model type code the caller expects
+     * @return             Little-endian buffer positioned at the start of the payload
+     * @throws IOException If the file cannot be read or fails validation
+     */
+    private static ByteBuffer map(Path path, int expectedType) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("File " + path + " is too small to be a model file.");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (mapped.getInt() != MAGIC) {
+            throw new IOException("File " + path + " is not a model file.");
+        }
+        int version = mapped.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported model format version " + version + " in " + path);
+        }
+        int type = mapped.getInt();
+        if (type != expectedType) {
+            throw new IOException("File " + path + " holds model type " + type + ", expected " + expectedType);
+        }
+        mapped.getInt(); // Reserved
+        long length = mapped.getLong();
+        long checksum = mapped.getLong();
+        if (length != mapped.capacity() - HEADER_BYTES) {
+            throw new IOException("File " + path + " is truncated or has trailing data.");
+        }
+
+        ByteBuffer payload = mapped.slice().order(ByteOrder.LITTLE_ENDIAN);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        if (crc.getValue() != checksum) {
+            throw new IOException("Checksum mismatch in " + path + ", the file is corrupt.");
+        }
+        return payload;
+    }
+
+    /**
+     * Size of the network header: layer count, layer sizes and activation codes, padded to 8 bytes.
+     *
+     * @param layerCount Number of layers including the input layer
+     * @return           Header size in bytes
+     */
+    private static int networkHeaderBytes(int layerCount) {
+        return align(Integer.BYTES * (1 + layerCount + (layerCount - 1)));
+    }
+
+    /**
+     * Writes the network header: layer count, layer sizes and activation codes.
+     *
+     * @param payload     Buffer to write into
+     * @param layers      Number of neurons per layer
+     * @param activations Activation function of each layer (excluding the input layer)
+     */
+    private static void putNetworkHeader(ByteBuffer payload, int[] layers, List<ActivationFunctions> activations) {
+        int start = payload.position();
+        payload.putInt(layers.length);
+        for (int size : layers) {
+            payload.putInt(size);
+        }
+        for (ActivationFunctions activation : activations) {
+            payload.putInt(activation.ordinal());
+        }
+        payload.position(start + networkHeaderBytes(layers.length));
+    }
+
+    /**
+     * Reads the layer count and layer sizes of a network header.
+     *
+     * @param payload Buffer positioned at the start of the payload
+     * @return        Number of neurons per layer
+     * @throws IOException If the layer count is invalid
+     */
+    private static int[] getNetworkLayers(ByteBuffer payload) throws IOException {
+        int layerCount = payload.getInt();
+        if (layerCount < 2) {
+            throw new IOException("Invalid layer count " + layerCount);
+        }
+        int[] layers = new int[layerCount];
+        payload.asIntBuffer().get(layers);
+        payload.position(payload.position() + Integer.BYTES * layerCount);
+        return layers;
+    }
+
+    /**
+     * Reads the activation codes of a network header and skips its padding.
+     *
+     * @param payload    Buffer positioned after the layer sizes
+     * @param layerCount Number of layers including the input layer
+     * @return           Activation function of each layer (excluding the input layer)
+     * @throws IOException If an activation code is unknown
+     */
+    private static List<ActivationFunctions> getNetworkActivations(ByteBuffer payload, int layerCount) throws IOException {
+        ActivationFunctions[] known = ActivationFunctions.values();
+        List<ActivationFunctions> activations = new ArrayList<>(layerCount - 1);
+        for (int i = 0; i < layerCount - 1; i++) {
+            int code = payload.getInt();
+            if (code < 0 || code >= known.length) {
+                throw new IOException("Unknown activation function code " + code);
+            }
+            activations.add(known[code]);
+        }
+        payload.position(networkHeaderBytes(layerCount));
+        return activations;
+    }
+
+    /**
+     * Bulk-writes a double array and advances the buffer past it.
+     *
+     * @param payload Buffer to write into
+     * @param values  Values to write
+     */
+    private static void putDoubles(ByteBuffer payload, double[] values) {
+        payload.asDoubleBuffer().put(values);
+        payload.position(payload.position() + Double.BYTES * values.length);
+    }
+
+    /**
+     * Bulk-reads a double array and advances the buffer past it.
+     *
+     * @param payload Buffer to read from
+     * @param count   Number of values to read
+     * @return        The values read
+     */
+    private static double[] getDoubles(ByteBuffer payload, int count) {
+        double[] values = new double[count];
+        payload.asDoubleBuffer().get(values);
+        payload.position(payload.position() + Double.BYTES * count);
+        return values;
+    }
+
+    /**
+     * Bulk-writes a float array and advances the buffer past it, keeping 8-byte alignment.
+     *
+     * @param payload Buffer to write into
+     * @param values  Values to write
+     */
+    private static void putFloats(ByteBuffer payload, float[] values) {
+        payload.asFloatBuffer().put(values);
+        payload.position(payload.position() + align(Float.BYTES * values.length));
+    }
+
+    /**
+     * Bulk-reads a float array and advances the buffer past it and its alignment padding.
+     *
+     * @param payload Buffer to read from
+     * @param count   Number of values to read
+     * @return        The values read
+     */
+    private static float[] getFloats(ByteBuffer payload, int count) {
+        float[] values = new float[count];
+        payload.asFloatBuffer().get(values);
+        payload.position(payload.position() + align(Float.BYTES * count));
+        return values;
+    }
+
+    /**
+     * Counts the values in a set of arrays.
+     *
+     * @param arrays Arrays to count
+     * @return       Total number of values
+     */
+    private static int countParameters(double[][] arrays) {
+        int count = 0;
+        for (double[] array : arrays) {
+            count += array.length;
+        }
+        return count;
+    }
+
+    /**
+     * Rounds a byte count up to the next multiple of 8.
+     *
+     * @param bytes Byte count
+     * @return      Aligned byte count
+     */
+    private static int align(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+}
@@ -0,0 +1,51 @@
+package regressionProject;
+
+/**
+ * MomentumOptimizer - Gradient descent with classical momentum.
+ * Keeps a velocity per parameter, v = momentum * v - learningRate * gradient, and moves each
+ * parameter by its velocity, which smooths noisy mini-batch gradients and speeds up progress
+ * along consistent directions. Both halves of the step are axpy calls on the network's dense kernels.
+ */
+public class MomentumOptimizer implements Optimizer {
+    private final double momentum; // Fraction of the previous velocity kept at each step
+    private double[][] velocity;   // Velocity per parameter, one flat array per tensor
+    private DenseKernels kernels = DenseKernels.scalar(); // Backend running the updates
+
+    /**
+     * Constructor to create a momentum optimizer.
+     *
+     * @param momentum Momentum coefficient in [0, 1), typically 0.9
+     */
+    public MomentumOptimizer(double momentum) {
+        if (momentum < 0 || momentum >= 1) {
+            throw new IllegalArgumentException("Momentum must be in [0, 1), but received " + momentum);
+        }
+        this.momentum = momentum;
+    }
+
+    @Override
+    public void initialize(int[] tensorSizes) {
+        velocity = new double[tensorSizes.length][];
+        for (int i = 0; i < tensorSizes.length; i++) {
+            velocity[i] = new double[tensorSizes[i]];
+        }
+    }
+
+    @Override
+    public void initialize(int[] tensorSizes, DenseKernels kernels) {
+        initialize(tensorSizes);
+        this.kernels = kernels;
+    }
+
+    @Override
+    public void update(int tensor, double[] params, double[] gradients, int from, int to,
+                       double gradientScale, double learningRate) {
+        double[] v = velocity[tensor];
+        for (int j = from; j < to; j++) {
+            v[j] *= momentum;
+        }
+        // v = momentum * v - learningRate * gradient, then parameter += v
+        kernels.axpy(-learningRate * gradientScale, gradients, from, v, from, to - from);
+        kernels.axpy(1, v, from, params, from, to - from);
+    }
+}
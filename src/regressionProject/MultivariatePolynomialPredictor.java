@@ -0,0 +1,156 @@
+package regressionProject;
+
+import java.util.Arrays;
+
+/**
+ * MultivariatePolynomialPredictor - Immutable, compiled form of a fitted multivariate polynomial
+ * y = c0 + sum over features i of (c_i1 * x_i + c_i2 * x_i^2 + ... + c_id * x_i^d).
+ * Each feature's polynomial is evaluated with Horner's rule from a primitive coefficient array,
+ * without Math.pow and without allocating. Instances never change after construction and can be
+ * shared freely between threads.
+ * Obtain one with {@link MultivariatePolynomialRegression#compile()}.
+ */
+public final class MultivariatePolynomialPredictor {
+    private final double[] coefficients; // Intercept followed by the coefficients of x_i^d, ordered by feature then degree
+    private final int degree;            // Degree of the polynomial for each feature
+    private final int numFeatures;       // Number of input features
+
+    /**
+     * Constructor to compile a multivariate polynomial from its coefficients.
+     *
+     * @param coefficients Intercept followed by the coefficients of x_i^d, ordered by feature then degree (copied)
+     * @param degree       Degree of the polynomial for each feature
+     * @param numFeatures  Number of input features
+     */
+    public MultivariatePolynomialPredictor(double[] coefficients, int degree, int numFeatures) {
+        if (degree <= 0 || numFeatures <= 0) {
+            throw new IllegalArgumentException("Degree and feature count must be positive, but received "
+                    + degree + " and " + numFeatures);
+        }
+        if (coefficients.length != degree * numFeatures + 1) {
+            throw new IllegalArgumentException("Expected " + (degree * numFeatures + 1) + " coefficients, but received "
+                    + coefficients.length);
+        }
+        this.coefficients = coefficients.clone();
+        this.degree = degree;
+        this.numFeatures = numFeatures;
+    }
+
+    /**
+     * Predicts the target value for a single observation.
+     *
+     * @param x Array of input features (length must match numFeatures)
+     * @return  Predicted target value
+     */
+    public double predict(double[] x) {
+        if (x.length != numFeatures) {
+            throw new IllegalArgumentException("Incorrect number of input features: expected " + numFeatures + ", but received " + x.length);
+        }
+        return evaluate(x);
+    }
+
+    /**
+     * Predicts the target values for a whole feature matrix in one pass.
+     *
+     * @param X           2D array of input features (each row is an observation with numFeatures values)
+     * @param predictions Array receiving one predicted value per row (length must be at least X.length)
+     */
+    public void predict(double[][] X, double[] predictions) {
+        if (predictions.length < X.length) {
+            throw new IllegalArgumentException("Prediction array holds " + predictions.length + " values, but "
+                    + X.length + " rows were given");
+        }
+        for (int r = 0; r < X.length; r++) {
+            if (X[r].length != numFeatures) {
+                throw new IllegalArgumentException("Incorrect number of input features in row " + r + ": expected "
+                        + numFeatures + ", but received " + X[r].length);
+            }
+            predictions[r] = evaluate(X[r]);
+        }
+    }
+
+    /**
+     * Predicts the target values for a whole feature matrix. The polynomial is evaluated one feature at a
+     * time over all rows, so a column-major matrix is read strictly in order.
+     *
+     * @param X           Matrix of input features with numFeatures columns
+     * @param predictions Array receiving one predicted value per row (length must be at least X.rows())
+     */
+    public void predict(FeatureMatrix X, double[] predictions) {
+        if (X.columns() != numFeatures) {
+            throw new IllegalArgumentException("Incorrect number of input features: expected " + numFeatures
+                    + ", but received " + X.columns());
+        }
+        int rows = X.rows();
+        if (predictions.length < rows) {
+            throw new IllegalArgumentException("Prediction array holds " + predictions.length + " values, but "
+                    + rows + " rows were given");
+        }
+        double[] values = X.getValues();
+        // Distance between consecutive rows of one feature, and between the first values of consecutive features
+        int rowStride = X.isColumnMajor() ? 1 : numFeatures;
+        int featureStride = X.isColumnMajor() ? rows : 1;
+
+        Arrays.fill(predictions, 0, rows, coefficients[0]); // intercept term
+        for (int i = 0; i < numFeatures; i++) {
+            int base = 1 + i * degree;
+            double top = coefficients[base + degree - 1];
+            for (int r = 0, index = i * featureStride; r < rows; r++, index += rowStride) {
+                double xi = values[index];
+                double term = top;
+                for (int d = degree - 2; d >= 0; d--) {
+                    term = term * xi + coefficients[base + d];
+                }
+                predictions[r] += term * xi;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the polynomial for an observation whose length has been checked.
+     *
+     * @param x Input features
+     * @return  Polynomial value
+     */
+    private double evaluate(double[] x) {
+        double y = coefficients[0]; // intercept term
+        for (int i = 0; i < numFeatures; i++) {
+            // Horner's rule for c_i1 * x + ... + c_id * x^d = x * (c_i1 + x * (c_i2 + ... + x * c_id))
+            int base = 1 + i * degree;
+            double xi = x[i];
+            double term = coefficients[base + degree - 1];
+            for (int d = degree - 2; d >= 0; d--) {
+                term = term * xi + coefficients[base + d];
+            }
+            y += term * xi;
+        }
+        return y;
+    }
+
+    /**
+     * Gets the compiled coefficients.
+     *
+     * @return Copy of the intercept followed by the coefficients of x_i^d, ordered by feature then degree
+     */
+    public double[] getCoefficients() {
+        return coefficients.clone();
+    }
+
+    /**
+     * Gets the degree of the polynomial for each feature.
+     *
+     * @return Polynomial degree
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /**
+     * Gets the number of input features.
+     *
+     * @return Number of features expected by predict
+     */
+    public int getNumFeatures() {
+        return numFeatures;
+    }
+}
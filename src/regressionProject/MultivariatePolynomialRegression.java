@@ -1,8 +1,6 @@
 package regressionProject;
 
 import org.apache.commons.math3.stat.regression.OLSMultipleLinearRegression;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * MultivariatePolynomialRegression - A regression model to fit polynomial terms to multiple input features.
@@ -10,9 +8,10 @@ import java.util.List;
  * for non-linear relationships in multivariate data.
  */
 public class MultivariatePolynomialRegression {
-    private final OLSMultipleLinearRegression regression; // OLS regression model from Apache Commons Math
-    private final int degree;                             // Degree of the polynomial
-    private final int numFeatures;                        // Number of original features (excluding polynomial terms)
+    private final double[] coefficients; // Intercept followed by one coefficient per polynomial term
+    private final int degree;            // Degree of the polynomial
+    private final int numFeatures;       // Number of original features (excluding polynomial terms)
+    private final MultivariatePolynomialPredictor predictor; // Compiled form used for predictions
 
     /**
      * Constructor to initialize and fit a polynomial regression model using OLS.
@@ -25,11 +24,31 @@ public class MultivariatePolynomialRegression {
     public MultivariatePolynomialRegression(double[][] X, double[] y, int degree, int numFeatures) {
         this.degree = degree;
         this.numFeatures = numFeatures;
-        this.regression = new OLSMultipleLinearRegression();
+        OLSMultipleLinearRegression regression = new OLSMultipleLinearRegression();
 
         // Generate polynomial features for each column in X
         double[][] polyX = createPolynomialFeatures(X);
         regression.newSampleData(y, polyX); // Fit the regression model with transformed polynomial features
+        this.coefficients = regression.estimateRegressionParameters(); // Solve once and keep the result
+        this.predictor = new MultivariatePolynomialPredictor(coefficients, degree, numFeatures);
+    }
+
+    /**
+     * Constructor for a model with known coefficients, used when loading a saved model.
+     *
+     * @param coefficients Intercept followed by the coefficients of x_i^d, ordered by feature then degree
+     * @param degree       Degree of the polynomial for each feature
+     * @param numFeatures  Number of original features
+     */
+    MultivariatePolynomialRegression(double[] coefficients, int degree, int numFeatures) {
+        if (coefficients.length != degree * numFeatures + 1) {
+            throw new IllegalArgumentException("Expected " + (degree * numFeatures + 1) + " coefficients, but received "
+                    + coefficients.length);
+        }
+        this.coefficients = coefficients;
+        this.degree = degree;
+        this.numFeatures = numFeatures;
+        this.predictor = new MultivariatePolynomialPredictor(coefficients, degree, numFeatures);
     }
 
     /**
@@ -39,21 +58,7 @@ public class MultivariatePolynomialRegression {
      * @return  2D array of input features with polynomial terms added
      */
     private double[][] createPolynomialFeatures(double[][] X) {
-        List<double[]> polyFeatures = new ArrayList<>();
-        for (double[] row : X) {
-            List<Double> polyRow = new ArrayList<>();
-
-            // Add polynomial terms for each feature
-            for (int i = 0; i < numFeatures; i++) {
-                for (int d = 1; d <= degree; d++) {
-                    polyRow.add(Math.pow(row[i], d));
-                }
-            }
-
-            // Convert to array and add to the list of polynomial features
-            polyFeatures.add(polyRow.stream().mapToDouble(Double::doubleValue).toArray());
-        }
-        return polyFeatures.toArray(new double[0][]);
+        return new PolynomialFeatureExpander(numFeatures, degree).expand(X);
     }
 
     /**
@@ -63,28 +68,63 @@ public class MultivariatePolynomialRegression {
      * @return  Predicted target value
      */
     public double predict(double[] x) {
-        // Verify that the input length matches the expected number of features
-        if (x.length != numFeatures) {
-            throw new IllegalArgumentException("Incorrect number of input features: expected " + numFeatures + ", but received " + x.length);
-        }
+        return predictor.predict(x);
+    }
 
-        // Create polynomial terms for the input row
-        double[] polyX = new double[degree * numFeatures];
-        int index = 0;
-        for (int i = 0; i < numFeatures; i++) {
-            for (int d = 1; d <= degree; d++) {
-                polyX[index++] = Math.pow(x[i], d);
-            }
-        }
+    /**
+     * Predicts the target values for a whole feature matrix in one pass.
+     *
+     * @param X           2D array of input features (each row is an observation with numFeatures values)
+     * @param predictions Array receiving one predicted value per row (length must be at least X.length)
+     */
+    public void predict(double[][] X, double[] predictions) {
+        predictor.predict(X, predictions);
+    }
 
-        // Get model coefficients from the regression object
-        double[] coefficients = regression.estimateRegressionParameters();
-        
-        // Calculate prediction using intercept and coefficients
-        double yPred = coefficients[0]; // intercept term
-        for (int i = 0; i < polyX.length; i++) {
-            yPred += coefficients[i + 1] * polyX[i];
-        }
-        return yPred;
+    /**
+     * Predicts the target values for a whole feature matrix in one pass.
+     *
+     * @param X           Matrix of input features with numFeatures columns
+     * @param predictions Array receiving one predicted value per row (length must be at least X.rows())
+     */
+    public void predict(FeatureMatrix X, double[] predictions) {
+        predictor.predict(X, predictions);
+    }
+
+    /**
+     * Gets the compiled, immutable predictor for this model. It evaluates each feature's polynomial
+     * with Horner's rule and can be shared across threads.
+     *
+     * @return Predictor holding this model's coefficients
+     */
+    public MultivariatePolynomialPredictor compile() {
+        return predictor;
+    }
+
+    /**
+     * Gets the fitted coefficients.
+     *
+     * @return Copy of the intercept followed by the coefficients of x_i^d, ordered by feature then degree
+     */
+    public double[] getCoefficients() {
+        return coefficients.clone();
+    }
+
+    /**
+     * Gets the degree of the polynomial for each feature.
+     *
+     * @return Polynomial degree
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /**
+     * Gets the number of original input features.
+     *
+     * @return Number of features expected by predict
+     */
+    public int getNumFeatures() {
+        return numFeatures;
     }
 }
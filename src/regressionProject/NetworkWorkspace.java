@@ -0,0 +1,44 @@
+package regressionProject;
+
+/**
+ * NetworkWorkspace - Reusable scratch memory for running a NeuralNetwork.
+ * Holds the activations and backpropagation deltas of every layer for up to {@code capacity} samples,
+ * stored as flat row-major arrays. A workspace belongs to one thread or caller at a time; the network
+ * itself only reads its weights during prediction, so many threads can share one trained network as
+ * long as each uses its own workspace. Reusing a workspace avoids allocating arrays per call.
+ */
+public class NetworkWorkspace {
+    final int[] layers;          // Layer sizes of the network this workspace was created for
+    final int capacity;          // Maximum number of samples processed at once
+    final double[][] activations; // Activations per layer, [sample][neuron] row-major
+    final double[][] deltas;      // Backpropagation deltas per layer, same layout as activations
+
+    /**
+     * Constructor to allocate a workspace for a network with the given layer sizes.
+     *
+     * @param layers   Array defining the number of neurons per layer
+     * @param capacity Maximum number of samples processed at once
+     */
+    public NetworkWorkspace(int[] layers, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Workspace capacity must be positive, but received " + capacity);
+        }
+        this.layers = layers.clone();
+        this.capacity = capacity;
+        this.activations = new double[layers.length][];
+        this.deltas = new double[layers.length][];
+        for (int i = 0; i < layers.length; i++) {
+            activations[i] = new double[capacity * layers[i]];
+            deltas[i] = new double[capacity * layers[i]];
+        }
+    }
+
+    /**
+     * Gets the maximum number of samples this workspace can hold.
+     *
+     * @return Capacity in samples
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -1,7 +1,11 @@
 package regressionProject;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Random;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * NeuralNetwork - A simple feed-forward neural network implementation for regression.
@@ -9,11 +13,16 @@ import java.util.List;
  * Designed for training on time series or tabular data with backpropagation and gradient descent.
  */
 public class NeuralNetwork {
+    private static final int PREDICT_BLOCK_ROWS = 64;  // Samples pushed through the layers per batch-prediction block
+    private static final int MIN_ROWS_PER_SLICE = 256; // Smallest slice of a batch prediction worth a separate thread
+
     private int[] layers;                  // Array defining the number of neurons per layer
-    private double[][] neurons;             // Activations of each neuron per layer
-    private double[][][] weights;           // Weights between layers
+    private NetworkWorkspace workspace;    // Activations and deltas used by feedForward and backpropagate
+    private ThreadLocal<NetworkWorkspace> threadWorkspaces; // Per-thread workspaces for concurrent predictions
+    private double[][] weights;             // Weights between layers, one flat row-major [from][to] array per layer
     private double[][] biases;              // Bias terms for each neuron
     private List<ActivationFunctions> activations; // Activation function for each layer
+    private DenseKernels kernels = DenseKernels.defaultKernels(); // Backend for the dense-layer math
 
     /**
      * Constructor to initialize the neural network with specified layers and activation functions.
@@ -22,75 +31,392 @@ public class NeuralNetwork {
      * @param activations List of activation functions for each layer (excluding input layer)
      */
     public NeuralNetwork(int[] layers, List<ActivationFunctions> activations) {
+        this(layers, activations, new Random());
+    }
+
+    /**
+     * Constructor with a fixed random seed, so weight initialization (and therefore training)
+     * is reproducible from run to run.
+     *
+     * @param layers      Array defining the number of neurons per layer
+     * @param activations List of activation functions for each layer (excluding input layer)
+     * @param seed        Seed for the random weight initialization
+     */
+    public NeuralNetwork(int[] layers, List<ActivationFunctions> activations, long seed) {
+        this(layers, activations, new Random(seed));
+    }
+
+    private NeuralNetwork(int[] layers, List<ActivationFunctions> activations, Random rand) {
         if (activations.size() != layers.length - 1) {
             throw new IllegalArgumentException("Number of activation functions must match number of layers (excluding input layer).");
         }
 
         this.layers = layers;
         this.activations = activations;
-        this.neurons = new double[layers.length][];
-        this.weights = new double[layers.length - 1][][];
+        this.workspace = new NetworkWorkspace(layers, 1);
+        this.threadWorkspaces = ThreadLocal.withInitial(() -> new NetworkWorkspace(layers, 1));
+        this.weights = new double[layers.length - 1][];
         this.biases = new double[layers.length - 1][];
 
-        Random rand = new Random();
-        for (int i = 0; i < layers.length; i++) {
-            neurons[i] = new double[layers[i]];
-            if (i < layers.length - 1) {
-                weights[i] = new double[layers[i]][layers[i + 1]];
-                biases[i] = new double[layers[i + 1]];
-
-                // Initialize weights and biases with small random values
-                for (int j = 0; j < layers[i]; j++) {
-                    for (int k = 0; k < layers[i + 1]; k++) {
-                        weights[i][j][k] = rand.nextDouble() * 0.002 - 0.001; // Small initial values
-                    }
-                }
-                for (int j = 0; j < layers[i + 1]; j++) {
-                    biases[i][j] = rand.nextDouble() * 0.002 - 0.001;
-                }
+        for (int i = 0; i < layers.length - 1; i++) {
+            weights[i] = new double[layers[i] * layers[i + 1]];
+            biases[i] = new double[layers[i + 1]];
+
+            // Initialize weights and biases with small random values
+            for (int j = 0; j < weights[i].length; j++) {
+                weights[i][j] = rand.nextDouble() * 0.002 - 0.001; // Small initial values
+            }
+            for (int j = 0; j < layers[i + 1]; j++) {
+                biases[i][j] = rand.nextDouble() * 0.002 - 0.001;
+            }
+        }
+    }
+
+    /**
+     * Constructor for a network with existing parameters, used when converting or loading trained models.
+     * The weight and bias arrays are used directly, not copied.
+     *
+     * @param layers      Array defining the number of neurons per layer
+     * @param activations List of activation functions for each layer (excluding input layer)
+     * @param weights     Flat row-major [from][to] weights per layer
+     * @param biases      Bias terms per layer
+     */
+    NeuralNetwork(int[] layers, List<ActivationFunctions> activations, double[][] weights, double[][] biases) {
+        if (activations.size() != layers.length - 1) {
+            throw new IllegalArgumentException("Number of activation functions must match number of layers (excluding input layer).");
+        }
+        for (int i = 0; i < layers.length - 1; i++) {
+            if (weights[i].length != layers[i] * layers[i + 1] || biases[i].length != layers[i + 1]) {
+                throw new IllegalArgumentException("Parameters of layer " + (i + 1) + " do not match the layer sizes.");
             }
         }
+
+        this.layers = layers;
+        this.activations = activations;
+        this.workspace = new NetworkWorkspace(layers, 1);
+        this.threadWorkspaces = ThreadLocal.withInitial(() -> new NetworkWorkspace(layers, 1));
+        this.weights = weights;
+        this.biases = biases;
+    }
+
+    /**
+     * Gets the number of neurons per layer.
+     *
+     * @return Copy of the layer sizes, including the input layer
+     */
+    public int[] getLayers() {
+        return layers.clone();
+    }
+
+    /**
+     * Gets the activation function of each layer (excluding the input layer).
+     *
+     * @return Unmodifiable list of activation functions
+     */
+    public List<ActivationFunctions> getActivations() {
+        return Collections.unmodifiableList(activations);
+    }
+
+    /**
+     * Converts this network to single precision by rounding every parameter to float.
+     *
+     * @return New float32 network with the same layers, activations and (rounded) parameters
+     */
+    public FloatNeuralNetwork toFloat() {
+        return FloatNeuralNetwork.fromDouble(this);
+    }
+
+    /**
+     * Gets the live weight arrays, flat row-major [from][to] per layer.
+     *
+     * @return Internal weight arrays (not copied)
+     */
+    double[][] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Gets the live bias arrays, one per layer.
+     *
+     * @return Internal bias arrays (not copied)
+     */
+    double[][] getBiases() {
+        return biases;
     }
 
     /**
      * Feed-forward pass to compute network output for given input data.
+     * Uses the network's own workspace, so it must not be called concurrently; the returned array
+     * is reused by the next call. Use {@link #predict(double[], NetworkWorkspace)} from multiple threads.
      *
      * @param input Array of input values for the network
      * @return      Array of output values from the network
      */
     public double[] feedForward(double[] input) {
-        neurons[0] = input;
+        System.arraycopy(input, 0, workspace.activations[0], 0, layers[0]);
+        forward(workspace, 1);
+        return workspace.activations[layers.length - 1];
+    }
 
-        for (int i = 1; i < layers.length; i++) {
-            ActivationFunctions activation = activations.get(i - 1);
-            for (int j = 0; j < layers[i]; j++) {
-                double sum = biases[i - 1][j];
-                for (int k = 0; k < layers[i - 1]; k++) {
-                    sum += neurons[i - 1][k] * weights[i - 1][k][j];
-                }
+    /**
+     * Creates a workspace sized for this network and a single sample.
+     *
+     * @return New workspace for use with {@link #predict(double[], NetworkWorkspace)}
+     */
+    public NetworkWorkspace createWorkspace() {
+        return new NetworkWorkspace(layers, 1);
+    }
 
-                // Check for NaN values to avoid instability
-                if (Double.isNaN(sum)) {
-                    System.out.println("NaN detected in feed-forward pass at layer " + i);
-                }
+    /**
+     * Creates a workspace sized for this network and up to {@code capacity} samples at once,
+     * for use with {@link #predict(double[][], int, int, double[], NetworkWorkspace)}.
+     *
+     * @param capacity Maximum number of samples per forward pass
+     * @return         New workspace
+     */
+    public NetworkWorkspace createWorkspace(int capacity) {
+        return new NetworkWorkspace(layers, capacity);
+    }
 
-                neurons[i][j] = activation.activate(sum);
+    /**
+     * Selects the numeric backend used for the dense-layer products, weight updates and activations.
+     * Defaults to the backend named by the {@code regressionProject.kernels} system property.
+     *
+     * @param kernels Backend to use, for example {@link DenseKernels#scalar()} or {@link DenseKernels#vector()}
+     */
+    public void setKernels(DenseKernels kernels) {
+        if (kernels == null) {
+            throw new IllegalArgumentException("Kernel backend must not be null.");
+        }
+        this.kernels = kernels;
+    }
+
+    /**
+     * Gets the numeric backend currently used by this network.
+     *
+     * @return The active kernel backend
+     */
+    public DenseKernels getKernels() {
+        return kernels;
+    }
+
+    /**
+     * Read-only prediction using caller-owned scratch memory. The network's weights are only read,
+     * so any number of threads may predict on the same trained network at once, each with its own
+     * workspace. Nothing is allocated per call; the returned array belongs to the workspace and is
+     * overwritten by its next use. Must not run concurrently with training.
+     *
+     * @param input     Array of input values for the network
+     * @param workspace Workspace created for this network's layer sizes
+     * @return          Array of output values, owned by the workspace
+     */
+    public double[] predict(double[] input, NetworkWorkspace workspace) {
+        checkWorkspace(workspace);
+        System.arraycopy(input, 0, workspace.activations[0], 0, layers[0]);
+        forward(workspace, 1);
+        return workspace.activations[layers.length - 1];
+    }
+
+    /**
+     * Thread-safe prediction that copies the network output into a caller-supplied array.
+     * Each calling thread transparently gets its own workspace, allocated on its first call.
+     *
+     * @param input  Array of input values for the network
+     * @param output Array receiving the output values (length must match the output layer)
+     */
+    public void predict(double[] input, double[] output) {
+        double[] result = predict(input, threadWorkspaces.get());
+        System.arraycopy(result, 0, output, 0, result.length);
+    }
+
+    /**
+     * Batch prediction over a whole feature matrix on the calling thread.
+     * Rows are pushed through the network in blocks, one matrix-matrix product per layer and block,
+     * instead of one vector-matrix product per row.
+     *
+     * @param inputs  Input rows, each with as many values as the input layer
+     * @param outputs Array receiving the outputs, row-major [row][output]; length must be at least
+     *                {@code inputs.length} times the output layer size
+     */
+    public void predict(double[][] inputs, double[] outputs) {
+        predict(inputs, outputs, 1);
+    }
+
+    /**
+     * Batch prediction over a whole feature matrix, optionally split across threads.
+     * The rows are divided into contiguous slices that run on the common fork-join pool, each with its
+     * own workspace; small batches stay on the calling thread. Each row's output does not depend on
+     * the split, so the result is the same for any thread count. Must not run concurrently with training.
+     *
+     * @param inputs  Input rows, each with as many values as the input layer
+     * @param outputs Array receiving the outputs, row-major [row][output]
+     * @param threads Maximum number of slices to predict in parallel
+     */
+    public void predict(double[][] inputs, double[] outputs, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive, but received " + threads);
+        }
+        predictSlices(inputs.length, threads, (from, to, workspace) -> predict(inputs, from, to, outputs, workspace));
+    }
+
+    /**
+     * Batch prediction over a feature matrix, optionally split across threads, in the same way as
+     * {@link #predict(double[][], double[], int)}. A row-major matrix is read in place with one bulk copy
+     * per block of rows; a column-major matrix is transposed once first.
+     *
+     * @param inputs  Input features, with as many columns as the input layer
+     * @param outputs Array receiving the outputs, row-major [row][output]
+     * @param threads Maximum number of slices to predict in parallel
+     */
+    public void predict(FeatureMatrix inputs, double[] outputs, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive, but received " + threads);
+        }
+        if (inputs.columns() != layers[0]) {
+            throw new IllegalArgumentException("The matrix has " + inputs.columns() + " columns, but the input layer has "
+                    + layers[0]);
+        }
+        double[] values = inputs.toRowMajor().getValues();
+        predictSlices(inputs.rows(), threads, (from, to, workspace) -> predictRows(values, from, to, outputs, workspace));
+    }
+
+    /**
+     * Batch prediction over a row-major feature matrix on the calling thread with a caller-owned
+     * workspace, so repeated small batches, such as those of a prediction server, allocate nothing.
+     *
+     * @param inputs    Row-major input features, with as many columns as the input layer
+     * @param outputs   Array receiving the outputs, row-major [row][output]
+     * @param workspace Workspace created for this network's layer sizes, of any capacity
+     */
+    public void predict(FeatureMatrix inputs, double[] outputs, NetworkWorkspace workspace) {
+        if (inputs.isColumnMajor()) {
+            throw new IllegalArgumentException("Workspace prediction needs a row-major matrix.");
+        }
+        if (inputs.columns() != layers[0]) {
+            throw new IllegalArgumentException("The matrix has " + inputs.columns() + " columns, but the input layer has "
+                    + layers[0]);
+        }
+        predictRows(inputs.getValues(), 0, inputs.rows(), outputs, workspace);
+    }
+
+    /**
+     * RowRangeTask - Predicts a contiguous range of rows with a given workspace.
+     */
+    private interface RowRangeTask {
+        /**
+         * Predicts rows {@code from} (inclusive) to {@code to} (exclusive).
+         *
+         * @param from      First row
+         * @param to        Row after the last row
+         * @param workspace Workspace owned by the calling slice
+         */
+        void run(int from, int to, NetworkWorkspace workspace);
+    }
+
+    /**
+     * Divides the rows into contiguous slices and runs them on the common fork-join pool, each with its
+     * own workspace; small batches stay on the calling thread.
+     *
+     * @param rows    Number of rows
+     * @param threads Maximum number of slices
+     * @param task    Prediction of one slice
+     */
+    private void predictSlices(int rows, int threads, RowRangeTask task) {
+        int slices = Math.max(1, Math.min(threads, rows / MIN_ROWS_PER_SLICE));
+        if (slices == 1) {
+            task.run(0, rows, createWorkspace(Math.max(1, Math.min(rows, PREDICT_BLOCK_ROWS))));
+            return;
+        }
+
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[slices];
+        for (int t = 0; t < slices; t++) {
+            int from = (int) ((long) rows * t / slices);
+            int to = (int) ((long) rows * (t + 1) / slices);
+            tasks[t] = ForkJoinTask.adapt(() -> task.run(from, to, createWorkspace(PREDICT_BLOCK_ROWS)));
+        }
+        ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    /**
+     * Batch prediction for rows {@code from} (inclusive) to {@code to} (exclusive) of a flat row-major
+     * input array, copying each block of rows into the workspace with a single bulk copy.
+     *
+     * @param inputs    Row-major input values, as many per row as the input layer
+     * @param from      First row to predict
+     * @param to        Row after the last row to predict
+     * @param outputs   Array receiving the outputs, row-major [row][output]
+     * @param workspace Workspace created for this network's layer sizes
+     */
+    private void predictRows(double[] inputs, int from, int to, double[] outputs, NetworkWorkspace workspace) {
+        checkWorkspace(workspace);
+        int inputSize = layers[0];
+        int outputSize = layers[layers.length - 1];
+        if (outputs.length < (long) to * outputSize) {
+            throw new IllegalArgumentException("Output array holds " + outputs.length + " values, but "
+                    + (long) to * outputSize + " are needed");
+        }
+
+        double[] in = workspace.activations[0];
+        double[] out = workspace.activations[layers.length - 1];
+        for (int start = from; start < to; start += workspace.capacity) {
+            int rows = Math.min(workspace.capacity, to - start);
+            System.arraycopy(inputs, start * inputSize, in, 0, rows * inputSize);
+            forward(workspace, rows);
+            System.arraycopy(out, 0, outputs, start * outputSize, rows * outputSize);
+        }
+    }
+
+    /**
+     * Batch prediction for rows {@code from} (inclusive) to {@code to} (exclusive) using caller-owned
+     * scratch memory. Rows are processed in blocks of the workspace capacity; nothing is allocated.
+     * Output values are written at their absolute row position, so several threads may fill
+     * disjoint row ranges of the same output array, each with its own workspace.
+     *
+     * @param inputs    Input rows, each with as many values as the input layer
+     * @param from      First row to predict
+     * @param to        Row after the last row to predict
+     * @param outputs   Array receiving the outputs, row-major [row][output]
+     * @param workspace Workspace created for this network's layer sizes
+     */
+    public void predict(double[][] inputs, int from, int to, double[] outputs, NetworkWorkspace workspace) {
+        checkWorkspace(workspace);
+        int inputSize = layers[0];
+        int outputSize = layers[layers.length - 1];
+        if (from < 0 || to > inputs.length || from > to) {
+            throw new IllegalArgumentException("Invalid row range [" + from + ", " + to + ") for " + inputs.length + " rows");
+        }
+        if (outputs.length < (long) to * outputSize) {
+            throw new IllegalArgumentException("Output array holds " + outputs.length + " values, but "
+                    + (long) to * outputSize + " are needed");
+        }
+
+        double[] in = workspace.activations[0];
+        double[] out = workspace.activations[layers.length - 1];
+        for (int start = from; start < to; start += workspace.capacity) {
+            int rows = Math.min(workspace.capacity, to - start);
+            for (int r = 0; r < rows; r++) {
+                double[] row = inputs[start + r];
+                if (row.length != inputSize) {
+                    throw new IllegalArgumentException("Row " + (start + r) + " has " + row.length
+                            + " values, but the input layer has " + inputSize);
+                }
+                System.arraycopy(row, 0, in, r * inputSize, inputSize);
             }
+            forward(workspace, rows);
+            System.arraycopy(out, 0, outputs, start * outputSize, rows * outputSize);
         }
-        return neurons[layers.length - 1];
     }
 
     /**
      * Backpropagation algorithm to update weights and biases based on error.
+     * Uses the activations left in the network's workspace by the preceding {@link #feedForward(double[])}.
      *
      * @param target       Array of target values
      * @param learningRate Learning rate for weight updates
      */
     public void backpropagate(double[] target, double learningRate) {
-        double[][] deltas = new double[layers.length][];
-        for (int i = 0; i < layers.length; i++) {
-            deltas[i] = new double[layers[i]];
-        }
+        double[][] neurons = workspace.activations;
+        double[][] deltas = workspace.deltas;
 
         // Calculate output layer error
         for (int i = 0; i < layers[layers.length - 1]; i++) {
@@ -101,25 +427,59 @@ public class NeuralNetwork {
         // Backpropagate errors through hidden layers
         for (int i = layers.length - 2; i > 0; i--) {
             ActivationFunctions activation = activations.get(i - 1);
+            int fanOut = layers[i + 1];
             for (int j = 0; j < layers[i]; j++) {
-                double error = 0;
-                for (int k = 0; k < layers[i + 1]; k++) {
-                    error += deltas[i + 1][k] * weights[i][j][k];
-                }
-                deltas[i][j] = error * activation.derivative(neurons[i][j]);
+                deltas[i][j] = kernels.dot(deltas[i + 1], 0, weights[i], j * fanOut, fanOut);
             }
+            kernels.multiplyDerivative(activation, neurons[i], deltas[i], layers[i]);
         }
 
         // Update weights and biases
         for (int i = 0; i < weights.length; i++) {
-            for (int j = 0; j < weights[i].length; j++) {
-                for (int k = 0; k < weights[i][j].length; k++) {
-                    weights[i][j][k] -= learningRate * deltas[i + 1][k] * neurons[i][j];
-                }
+            int fanOut = layers[i + 1];
+            for (int j = 0; j < layers[i]; j++) {
+                kernels.axpy(-learningRate * neurons[i][j], deltas[i + 1], 0, weights[i], j * fanOut, fanOut);
             }
-            for (int j = 0; j < biases[i].length; j++) {
-                biases[i][j] -= learningRate * deltas[i + 1][j];
+            kernels.axpy(-learningRate, deltas[i + 1], 0, biases[i], 0, fanOut);
+        }
+    }
+
+    /**
+     * Forward pass over the first {@code rows} samples held in the workspace's input buffer:
+     * A[i] = f(A[i - 1] * W[i - 1] + b[i - 1]) for every layer, as one matrix product per layer.
+     *
+     * @param ws   Workspace whose first activation buffer holds the inputs, row-major
+     * @param rows Number of samples to process
+     */
+    private void forward(NetworkWorkspace ws, int rows) {
+        double[][] acts = ws.activations;
+        for (int i = 1; i < layers.length; i++) {
+            int fanOut = layers[i];
+            double[] out = acts[i];
+            for (int r = 0; r < rows; r++) {
+                System.arraycopy(biases[i - 1], 0, out, r * fanOut, fanOut);
             }
+            kernels.multiplyAdd(acts[i - 1], weights[i - 1], out, rows, layers[i - 1], fanOut);
+
+            for (int j = 0; j < rows * fanOut; j++) {
+                // Check for NaN values to avoid instability
+                if (Double.isNaN(out[j])) {
+                    System.out.println("NaN detected in feed-forward pass at layer " + i);
+                }
+            }
+            kernels.activate(activations.get(i - 1), out, rows * fanOut);
+        }
+    }
+
+    /**
+     * Verifies that a workspace was sized for this network's layers.
+     *
+     * @param ws Workspace to check
+     */
+    private void checkWorkspace(NetworkWorkspace ws) {
+        if (!Arrays.equals(ws.layers, layers)) {
+            throw new IllegalArgumentException("Workspace layer sizes " + Arrays.toString(ws.layers)
+                    + " do not match network layer sizes " + Arrays.toString(layers));
         }
     }
 
@@ -152,18 +512,444 @@ public class NeuralNetwork {
             double meanSquaredError = totalError / inputs.length;
 
             // Print progress and MSE every 10 epochs
-            if (epoch % 10 == 0 || epoch == epochs - 1) {
-                double progress = (double) (epoch + 1) / epochs * 100;
-                int barLength = 30;
-                int filledLength = (int) (barLength * progress / 100);
-                StringBuilder bar = new StringBuilder();
-                for (int j = 0; j < barLength; j++) {
-                    bar.append(j < filledLength ? "#" : "-");
+            printProgress(epoch, epochs, meanSquaredError);
+        }
+        System.out.println("\nTraining complete!");
+    }
+
+    /**
+     * Mini-batch training loop. Each layer's weights are kept in one contiguous row-major array,
+     * so the forward and backward passes for a whole batch run as blocked matrix-matrix products
+     * instead of one vector pass per sample. Weights are updated once per batch using the
+     * gradient averaged over the samples in that batch.
+     *
+     * @param inputs       2D array of input data
+     * @param targets      2D array of target values
+     * @param epochs       Number of training epochs
+     * @param learningRate Learning rate for weight updates
+     * @param batchSize    Number of samples per weight update
+     */
+    public void train(double[][] inputs, double[][] targets, int epochs, double learningRate, int batchSize) {
+        train(inputs, targets, new TrainingOptions()
+                .setEpochs(epochs)
+                .setLearningRate(learningRate)
+                .setBatchSize(batchSize));
+    }
+
+    /**
+     * Data-parallel mini-batch training loop. Each batch is split into one contiguous shard per
+     * thread; every shard runs its forward and backward pass on a fork-join pool using private
+     * scratch buffers, and the per-shard gradients are then summed in shard order and applied as
+     * a single update. Because the shard boundaries and the reduction order depend only on the
+     * batch size and thread count, a network created with a fixed seed trains to the same weights
+     * on every run with the same thread count.
+     *
+     * @param inputs       2D array of input data
+     * @param targets      2D array of target values
+     * @param epochs       Number of training epochs
+     * @param learningRate Learning rate for weight updates
+     * @param batchSize    Number of samples per weight update
+     * @param threads      Number of worker threads (and shards per batch)
+     */
+    public void train(double[][] inputs, double[][] targets, int epochs, double learningRate, int batchSize, int threads) {
+        train(inputs, targets, new TrainingOptions()
+                .setEpochs(epochs)
+                .setLearningRate(learningRate)
+                .setBatchSize(batchSize)
+                .setThreads(threads));
+    }
+
+    /**
+     * Configurable mini-batch training loop over in-memory arrays; see
+     * {@link #train(BatchSource, TrainingOptions)}.
+     *
+     * @param inputs  2D array of input data
+     * @param targets 2D array of target values
+     * @param options Training settings
+     */
+    public void train(double[][] inputs, double[][] targets, TrainingOptions options) {
+        train(new ArrayBatchSource(inputs, targets), options);
+    }
+
+    /**
+     * Trains the network on a feature matrix and a single target column with the given options, see
+     * {@link #train(BatchSource, TrainingOptions)}.
+     *
+     * @param inputs  Input features, one row per sample
+     * @param targets Array of target values
+     * @param options Training settings
+     */
+    public void train(FeatureMatrix inputs, double[] targets, TrainingOptions options) {
+        train(new FeatureMatrixBatchSource(inputs, targets), options);
+    }
+
+    /**
+     * Configurable mini-batch training loop: optimizer, learning-rate schedule, thread count,
+     * shuffling and early stopping are taken from the options. Batches are produced by a
+     * {@link BatchPipeline}, which shuffles the sample order each epoch (when enabled) and gathers
+     * the next batch on a background thread while the current one trains. With more than one thread,
+     * batches are split across a fork-join pool as described in
+     * {@link #train(double[][], double[][], int, double, int, int)}. With early stopping, the most recent
+     * samples are held out and training ends once their MSE stops improving, optionally restoring the
+     * best weights seen.
+     *
+     * @param source  Training samples
+     * @param options Training settings
+     */
+    public void train(BatchSource source, TrainingOptions options) {
+        if (source.inputSize() != layers[0] || source.targetSize() != layers[layers.length - 1]) {
+            throw new IllegalArgumentException("Sample shape " + source.inputSize() + " -> " + source.targetSize()
+                    + " does not match the network's input and output layers.");
+        }
+        int epochs = options.getEpochs();
+        int batchSize = options.getBatchSize();
+        int threads = options.getThreads();
+        Optimizer optimizer = options.getOptimizer();
+        LearningRateSchedule schedule = options.getSchedule();
+        EarlyStopping stopping = options.getEarlyStopping();
+
+        // Hold out the most recent samples for validation when early stopping is enabled
+        int trainRows = source.size();
+        if (stopping != null) {
+            int validationRows = Math.max(1, (int) Math.round(source.size() * stopping.getValidationFraction()));
+            trainRows = source.size() - validationRows;
+            if (trainRows <= 0) {
+                throw new IllegalArgumentException("Not enough rows to hold out a validation split.");
+            }
+        }
+
+        // Scratch buffers are allocated once per shard and reused for every batch
+        int batchCapacity = Math.min(batchSize, trainRows);
+        int shardCapacity = (batchCapacity + threads - 1) / threads;
+        BatchScratch[] shards = new BatchScratch[threads];
+        for (int t = 0; t < threads; t++) {
+            shards[t] = new BatchScratch(layers, shardCapacity);
+        }
+        double[] shardErrors = new double[threads];
+        optimizer.initialize(tensorSizes(), kernels);
+
+        double bestValidationError = Double.POSITIVE_INFINITY;
+        int checksWithoutImprovement = 0;
+        double[][] bestWeights = null;
+        double[][] bestBiases = null;
+
+        ForkJoinPool pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        try (BatchPipeline pipeline = new BatchPipeline(source, batchSize, trainRows, options.isShuffle(), options.getSeed())) {
+            for (int epoch = 0; epoch < epochs; epoch++) {
+                double learningRate = schedule.learningRate(epoch, options.getLearningRate());
+                double totalError = 0;
+
+                pipeline.startEpoch();
+                for (BatchPipeline.Batch batch = pipeline.next(); batch != null; batch = pipeline.next()) {
+                    int rows = batch.getRows();
+
+                    if (pool == null) {
+                        shards[0].load(batch, 0, rows);
+                        totalError += forwardBackward(shards[0], rows);
+                    } else {
+                        // Forward and backward pass for every shard in parallel
+                        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[threads];
+                        for (int t = 0; t < threads; t++) {
+                            int shard = t;
+                            int shardStart = (int) ((long) rows * shard / threads);
+                            int shardRows = (int) ((long) rows * (shard + 1) / threads) - shardStart;
+                            BatchPipeline.Batch current = batch;
+                            tasks[t] = ForkJoinTask.adapt(() -> {
+                                shards[shard].load(current, shardStart, shardRows);
+                                shardErrors[shard] = forwardBackward(shards[shard], shardRows);
+                            });
+                        }
+                        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+                        for (int t = 0; t < threads; t++) {
+                            totalError += shardErrors[t];
+                        }
+                    }
+                    pipeline.release(batch); // Let the prefetch thread refill this buffer
+
+                    // One optimizer step per batch with the gradient averaged over the batch
+                    optimizer.nextStep();
+                    double gradientScale = 1.0 / rows;
+                    if (pool == null) {
+                        applyUpdate(shards[0], optimizer, gradientScale, learningRate);
+                    } else {
+                        pool.invoke(ForkJoinTask.adapt(() -> reduceAndApply(shards, optimizer, gradientScale, learningRate)));
+                    }
+                }
+
+                // Calculate average MSE for the epoch
+                double meanSquaredError = totalError / trainRows;
+
+                // Print progress and MSE every 10 epochs
+                printProgress(epoch, epochs, meanSquaredError);
+
+                // Check the held-out samples and stop once they no longer improve
+                if (stopping != null && (epoch + 1) % stopping.getCheckInterval() == 0) {
+                    double validationError = meanSquaredError(source, trainRows, source.size(), shards[0]);
+                    if (validationError < bestValidationError - stopping.getMinDelta()) {
+                        bestValidationError = validationError;
+                        checksWithoutImprovement = 0;
+                        if (stopping.isRestoreBest()) {
+                            bestWeights = copyOf(weights, bestWeights);
+                            bestBiases = copyOf(biases, bestBiases);
+                        }
+                    } else if (++checksWithoutImprovement >= stopping.getPatience()) {
+                        System.out.printf("%nEarly stopping at epoch %d - best validation MSE: %.6f", epoch + 1, bestValidationError);
+                        break;
+                    }
                 }
-                System.out.printf("\rEpoch %d/%d [%s] %.2f%% complete - MSE: %.6f", epoch + 1, epochs, bar, progress, meanSquaredError);
-                System.out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Training was interrupted", e);
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
             }
         }
+
+        if (bestWeights != null) {
+            copyOf(bestWeights, weights);
+            copyOf(bestBiases, biases);
+        }
         System.out.println("\nTraining complete!");
     }
+
+    /**
+     * Runs the forward pass and backward pass for the batch gathered in the scratch buffers and
+     * leaves the summed (not yet averaged) weight and bias gradients in the scratch buffers.
+     *
+     * @param scratch Scratch buffers; its first activation buffer must hold the batch inputs
+     * @param rows    Number of samples in the batch
+     * @return        Sum over the batch of each sample's mean squared error
+     */
+    private double forwardBackward(BatchScratch scratch, int rows) {
+        double[][] acts = scratch.workspace.activations;
+        double[][] deltas = scratch.workspace.deltas;
+        int last = layers.length - 1;
+
+        forward(scratch.workspace, rows);
+
+        // Output layer error and batch MSE
+        int outputSize = layers[last];
+        double batchError = 0;
+        for (int j = 0; j < rows * outputSize; j++) {
+            double error = acts[last][j] - scratch.targets[j];
+            deltas[last][j] = error;
+            batchError += error * error;
+        }
+        batchError /= outputSize;
+
+        // Backward pass: D[i] = (D[i + 1] * W[i]^T) .* f'(A[i])
+        for (int i = last - 1; i > 0; i--) {
+            kernels.multiplyTransposedB(deltas[i + 1], weights[i], deltas[i], rows, layers[i + 1], layers[i]);
+            kernels.multiplyDerivative(activations.get(i - 1), acts[i], deltas[i], rows * layers[i]);
+        }
+
+        // Gradients summed over the batch: dW[i] = A[i]^T * D[i + 1], db[i] = column sums of D[i + 1]
+        for (int i = 0; i < weights.length; i++) {
+            int fanOut = layers[i + 1];
+            double[] biasGrad = scratch.biasGradients[i];
+            Arrays.fill(scratch.weightGradients[i], 0);
+            Arrays.fill(biasGrad, 0);
+            kernels.multiplyTransposedAAdd(acts[i], deltas[i + 1], scratch.weightGradients[i], rows, layers[i], fanOut);
+            for (int r = 0; r < rows; r++) {
+                int row = r * fanOut;
+                for (int j = 0; j < fanOut; j++) {
+                    biasGrad[j] += deltas[i + 1][row + j];
+                }
+            }
+        }
+        return batchError;
+    }
+
+    /**
+     * Applies one optimizer step using the gradients summed in a single scratch buffer.
+     * Tensor 2i is the weight array of layer i and tensor 2i + 1 its bias array.
+     *
+     * @param scratch       Scratch buffers holding the summed gradients of the batch
+     * @param optimizer     Update rule
+     * @param gradientScale Factor turning summed gradients into averages (1 / batch size)
+     * @param learningRate  Learning rate for this step
+     */
+    private void applyUpdate(BatchScratch scratch, Optimizer optimizer, double gradientScale, double learningRate) {
+        for (int i = 0; i < weights.length; i++) {
+            optimizer.update(2 * i, weights[i], scratch.weightGradients[i], 0, weights[i].length, gradientScale, learningRate);
+            optimizer.update(2 * i + 1, biases[i], scratch.biasGradients[i], 0, biases[i].length, gradientScale, learningRate);
+        }
+    }
+
+    /**
+     * Sums the shard gradients in shard order into the first shard's buffers and applies the
+     * optimizer step. The parameters of each layer are split into contiguous ranges that are reduced
+     * and updated in parallel; every parameter is still summed over the shards in the same order,
+     * so the result does not depend on scheduling.
+     *
+     * @param shards        Scratch buffers of all shards, holding their summed gradients
+     * @param optimizer     Update rule
+     * @param gradientScale Factor turning summed gradients into averages (1 / batch size)
+     * @param learningRate  Learning rate for this step
+     */
+    private void reduceAndApply(BatchScratch[] shards, Optimizer optimizer, double gradientScale, double learningRate) {
+        int ranges = shards.length;
+        double[][] totals = shards[0].weightGradients;
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[weights.length * ranges];
+        for (int i = 0; i < weights.length; i++) {
+            int layer = i;
+            int size = weights[i].length;
+            for (int t = 0; t < ranges; t++) {
+                int from = (int) ((long) size * t / ranges);
+                int to = (int) ((long) size * (t + 1) / ranges);
+                tasks[i * ranges + t] = ForkJoinTask.adapt(() -> {
+                    double[] total = totals[layer];
+                    for (int j = from; j < to; j++) {
+                        double g = total[j];
+                        for (int s = 1; s < ranges; s++) {
+                            g += shards[s].weightGradients[layer][j];
+                        }
+                        total[j] = g;
+                    }
+                    optimizer.update(2 * layer, weights[layer], total, from, to, gradientScale, learningRate);
+                });
+            }
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        for (int i = 0; i < biases.length; i++) {
+            double[] total = shards[0].biasGradients[i];
+            for (int j = 0; j < total.length; j++) {
+                for (int s = 1; s < ranges; s++) {
+                    total[j] += shards[s].biasGradients[i][j];
+                }
+            }
+            optimizer.update(2 * i + 1, biases[i], total, 0, total.length, gradientScale, learningRate);
+        }
+    }
+
+    /**
+     * Mean squared error of the network on samples [from, to) of a source, evaluated in batches.
+     *
+     * @param source  Samples to evaluate
+     * @param from    First sample to evaluate (inclusive)
+     * @param to      Last sample to evaluate (exclusive)
+     * @param scratch Scratch buffers used for the batched forward passes
+     * @return        Mean over the samples of each sample's mean squared error
+     */
+    private double meanSquaredError(BatchSource source, int from, int to, BatchScratch scratch) {
+        NetworkWorkspace ws = scratch.workspace;
+        int outputSize = layers[layers.length - 1];
+        double[] outputs = ws.activations[layers.length - 1];
+        int[] indices = new int[to - from];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = from + i;
+        }
+
+        double totalError = 0;
+        for (int start = 0; start < indices.length; start += ws.capacity) {
+            int rows = Math.min(ws.capacity, indices.length - start);
+            source.gather(indices, start, rows, ws.activations[0], scratch.targets);
+            forward(ws, rows);
+            for (int r = 0; r < rows; r++) {
+                double mse = 0;
+                for (int j = 0; j < outputSize; j++) {
+                    double error = outputs[r * outputSize + j] - scratch.targets[r * outputSize + j];
+                    mse += error * error;
+                }
+                totalError += mse / outputSize;
+            }
+        }
+        return totalError / indices.length;
+    }
+
+    /**
+     * Number of parameters in each optimizer tensor: weights then biases of every layer.
+     *
+     * @return Tensor sizes in optimizer order
+     */
+    private int[] tensorSizes() {
+        int[] sizes = new int[2 * weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            sizes[2 * i] = weights[i].length;
+            sizes[2 * i + 1] = biases[i].length;
+        }
+        return sizes;
+    }
+
+    /**
+     * Copies per-layer parameter arrays into a destination of the same shape, allocating it if needed.
+     *
+     * @param source      Arrays to copy
+     * @param destination Arrays to copy into, or null to allocate new ones
+     * @return            The destination arrays
+     */
+    private static double[][] copyOf(double[][] source, double[][] destination) {
+        if (destination == null) {
+            destination = new double[source.length][];
+            for (int i = 0; i < source.length; i++) {
+                destination[i] = new double[source[i].length];
+            }
+        }
+        for (int i = 0; i < source.length; i++) {
+            System.arraycopy(source[i], 0, destination[i], 0, source[i].length);
+        }
+        return destination;
+    }
+
+    /**
+     * Prints a progress bar with the current MSE every 10 epochs and on the final epoch.
+     *
+     * @param epoch            Zero-based index of the epoch that just finished
+     * @param epochs           Total number of epochs
+     * @param meanSquaredError Average MSE of the epoch
+     */
+    static void printProgress(int epoch, int epochs, double meanSquaredError) {
+        if (epoch % 10 == 0 || epoch == epochs - 1) {
+            double progress = (double) (epoch + 1) / epochs * 100;
+            int barLength = 30;
+            int filledLength = (int) (barLength * progress / 100);
+            StringBuilder bar = new StringBuilder();
+            for (int j = 0; j < barLength; j++) {
+                bar.append(j < filledLength ? "#" : "-");
+            }
+            System.out.printf("\rEpoch %d/%d [%s] %.2f%% complete - MSE: %.6f", epoch + 1, epochs, bar, progress, meanSquaredError);
+            System.out.flush();
+        }
+    }
+
+    /**
+     * BatchScratch - Private per-worker buffers for mini-batch training: a workspace with the
+     * activations and deltas of the batch, the gathered batch targets, and the summed gradients.
+     */
+    private static final class BatchScratch {
+        private final int[] layers;
+        private final NetworkWorkspace workspace;
+        private final double[][] weightGradients;
+        private final double[][] biasGradients;
+        private final double[] targets;
+
+        private BatchScratch(int[] layers, int capacity) {
+            this.layers = layers;
+            this.workspace = new NetworkWorkspace(layers, capacity);
+            this.weightGradients = new double[layers.length - 1][];
+            this.biasGradients = new double[layers.length - 1][];
+            for (int i = 0; i < layers.length - 1; i++) {
+                weightGradients[i] = new double[layers[i] * layers[i + 1]];
+                biasGradients[i] = new double[layers[i + 1]];
+            }
+            this.targets = new double[capacity * layers[layers.length - 1]];
+        }
+
+        /**
+         * Copies rows [start, start + rows) of a gathered batch into this scratch's buffers.
+         *
+         * @param batch Batch produced by the input pipeline
+         * @param start Index of the first row to copy
+         * @param rows  Number of rows to copy
+         */
+        private void load(BatchPipeline.Batch batch, int start, int rows) {
+            int inputSize = layers[0];
+            int outputSize = layers[layers.length - 1];
+            System.arraycopy(batch.getInputs(), start * inputSize, workspace.activations[0], 0, rows * inputSize);
+            System.arraycopy(batch.getTargets(), start * outputSize, targets, 0, rows * outputSize);
+        }
+    }
 }
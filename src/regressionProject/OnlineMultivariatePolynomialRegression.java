@@ -0,0 +1,475 @@
+package regressionProject;
+
+/**
+ * OnlineMultivariatePolynomialRegression - Multivariate polynomial regression fitted incrementally with
+ * recursive least squares (RLS). Uses the same polynomial terms and coefficient layout as
+ * {@link MultivariatePolynomialRegression}, but instead of solving the full history once it folds in
+ * one observation at a time in O(p^2) time, where p is the number of coefficients.
+ *
+ * Two optional ways to follow a changing process are supported:
+ * - an exponential forgetting factor lambda in (0, 1]: each update multiplies the weight of all older
+ *   observations by lambda (1 keeps everything, 0.99 gives an effective memory of about 100 rows);
+ * - a fixed sliding window: once the window is full, the oldest observation is removed again by a
+ *   rank-one downdate, so the fit only reflects the most recent rows. Once per window length the state is
+ *   rebuilt exactly from the stored rows to clear accumulated rounding errors.
+ * Both can be combined.
+ *
+ * Updates are serialized; predictions read an immutable coefficient snapshot that is replaced after each
+ * update, so readers on other threads always see one consistent set of coefficients without locking.
+ */
+public class OnlineMultivariatePolynomialRegression {
+    private static final double DEFAULT_INITIAL_VARIANCE = 1e6; // Diagonal of the initial inverse information matrix
+
+    private final int degree;             // Degree of the polynomial for each feature
+    private final int numFeatures;        // Number of original features
+    private final int size;               // Number of coefficients p (intercept plus polynomial terms)
+    private final PolynomialFeatureExpander expander; // Expansion of the raw features into polynomial terms
+    private final double forgettingFactor; // Weight decay lambda applied to older observations per update
+    private final int windowSize;         // Maximum number of observations kept, 0 for unbounded
+
+    private final double[] theta;         // Current coefficients
+    private final double[] p;             // Inverse information matrix P, p x p row-major
+    private final double[] terms;         // Scratch: polynomial terms of the current observation
+    private final double[] gain;          // Scratch: P * terms
+
+    private final double[] windowTerms;   // Terms of the observations in the window, ring buffer of p-vectors
+    private final double[] windowTargets; // Targets of the observations in the window
+    private int windowStart;              // Ring buffer index of the oldest observation
+    private int windowCount;              // Number of observations currently in the window
+    private double oldestWeight = 1;      // Current weight of the observation that leaves the window next
+    private double priorWeight;           // Current weight of the initial information matrix (1 / initialVariance, decayed)
+    private int sinceRefresh;             // Downdates since P and the coefficients were last rebuilt from the window
+
+    private long observations;            // Total number of observations folded in
+    private volatile MultivariatePolynomialPredictor snapshot; // Published coefficients for readers
+
+    /**
+     * Constructor for an unbounded online model without forgetting.
+     *
+     * @param degree      Degree of the polynomial for each feature
+     * @param numFeatures Number of original features
+     */
+    public OnlineMultivariatePolynomialRegression(int degree, int numFeatures) {
+        this(degree, numFeatures, 1.0, 0);
+    }
+
+    /**
+     * Constructor for an online model with optional forgetting and sliding window.
+     *
+     * @param degree           Degree of the polynomial for each feature
+     * @param numFeatures      Number of original features
+     * @param forgettingFactor Weight decay per update in (0, 1]; 1 disables forgetting
+     * @param windowSize       Number of most recent observations to fit on, or 0 for all of them
+     */
+    public OnlineMultivariatePolynomialRegression(int degree, int numFeatures, double forgettingFactor, int windowSize) {
+        this(degree, numFeatures, forgettingFactor, windowSize, DEFAULT_INITIAL_VARIANCE);
+    }
+
+    /**
+     * Constructor with full control over the RLS initialization.
+     *
+     * @param degree           Degree of the polynomial for each feature
+     * @param numFeatures      Number of original features
+     * @param forgettingFactor Weight decay per update in (0, 1]; 1 disables forgetting
+     * @param windowSize       Number of most recent observations to fit on, or 0 for all of them
+     * @param initialVariance  Diagonal of the initial inverse information matrix; larger values mean a weaker
+     *                         pull of the first estimates towards zero
+     */
+    public OnlineMultivariatePolynomialRegression(int degree, int numFeatures, double forgettingFactor, int windowSize,
+                                                  double initialVariance) {
+        if (degree <= 0 || numFeatures <= 0) {
+            throw new IllegalArgumentException("Degree and feature count must be positive, but received "
+                    + degree + " and " + numFeatures);
+        }
+        if (!(forgettingFactor > 0 && forgettingFactor <= 1)) {
+            throw new IllegalArgumentException("Forgetting factor must be in (0, 1], but received " + forgettingFactor);
+        }
+        if (windowSize < 0) {
+            throw new IllegalArgumentException("Window size must not be negative, but received " + windowSize);
+        }
+        if (!(initialVariance > 0)) {
+            throw new IllegalArgumentException("Initial variance must be positive, but received " + initialVariance);
+        }
+        this.degree = degree;
+        this.numFeatures = numFeatures;
+        this.expander = new PolynomialFeatureExpander(numFeatures, degree);
+        this.size = expander.getNumTerms() + 1;
+        this.forgettingFactor = forgettingFactor;
+        this.windowSize = windowSize;
+
+        this.theta = new double[size];
+        this.p = new double[size * size];
+        for (int i = 0; i < size; i++) {
+            p[i * size + i] = initialVariance;
+        }
+        this.terms = new double[size];
+        this.gain = new double[size];
+        this.windowTerms = new double[windowSize * size];
+        this.windowTargets = new double[windowSize];
+        this.priorWeight = 1 / initialVariance;
+        this.snapshot = new MultivariatePolynomialPredictor(theta, degree, numFeatures);
+    }
+
+    /**
+     * Folds one observation into the fit and publishes the new coefficients.
+     *
+     * @param x Array of input features (length must match numFeatures)
+     * @param y Target value
+     */
+    public synchronized void update(double[] x, double y) {
+        checkFeatures(x);
+        fold(new double[][] {x}, new double[] {y});
+    }
+
+    /**
+     * Folds a small batch of observations into the fit, in order, and publishes the coefficients once
+     * at the end, so readers never see a state in the middle of the batch. The batch is applied as a
+     * whole or not at all: every row is validated before the first one is folded in.
+     *
+     * @param X 2D array of input features (each row is an observation)
+     * @param y Array of target values corresponding to each observation
+     */
+    public synchronized void update(double[][] X, double[] y) {
+        if (X.length != y.length) {
+            throw new IllegalArgumentException("Got " + X.length + " observations but " + y.length + " targets");
+        }
+        for (double[] x : X) {
+            checkFeatures(x);
+        }
+        fold(X, y);
+    }
+
+    /**
+     * Checks that an observation has the expected number of features.
+     *
+     * @param x Array of input features
+     */
+    private void checkFeatures(double[] x) {
+        if (x.length != numFeatures) {
+            throw new IllegalArgumentException("Incorrect number of input features: expected " + numFeatures + ", but received " + x.length);
+        }
+    }
+
+    /**
+     * Folds validated observations into the fit and publishes the coefficients. The state is saved
+     * first and restored if an update, downdate or window refresh fails on an ill-conditioned system,
+     * so a failed batch leaves no trace. Only P, the coefficients and the window slots the batch
+     * overwrites are saved, which costs less than the updates themselves.
+     *
+     * @param X 2D array of input features
+     * @param y Array of target values
+     */
+    private void fold(double[][] X, double[] y) {
+        Checkpoint checkpoint = new Checkpoint(X.length);
+        try {
+            for (int i = 0; i < X.length; i++) {
+                add(X[i], y[i]);
+            }
+        } catch (IllegalStateException e) {
+            checkpoint.restore();
+            throw e;
+        }
+        publish();
+    }
+
+    /**
+     * Adds one observation: decays older ones by the forgetting factor, applies the RLS update and,
+     * when the window is full, removes the oldest observation again.
+     *
+     * @param x Array of input features, already checked
+     * @param y Target value
+     */
+    private void add(double[] x, double y) {
+        terms[0] = 1; // Intercept
+        expander.expand(x, terms, 1);
+
+        // Forgetting: scaling the information matrix by lambda scales its inverse by 1 / lambda
+        if (forgettingFactor < 1) {
+            double scale = 1 / forgettingFactor;
+            for (int i = 0; i < p.length; i++) {
+                p[i] *= scale;
+            }
+            oldestWeight *= forgettingFactor;
+            priorWeight *= forgettingFactor;
+        }
+        rankOneUpdate(terms, 0, y, 1);
+        observations++;
+
+        if (windowSize > 0) {
+            int slot;
+            if (windowCount == windowSize) {
+                // The window is full: remove the oldest observation with its current (decayed) weight
+                slot = windowStart;
+                rankOneUpdate(windowTerms, slot * size, windowTargets[slot], -oldestWeight);
+                windowStart = (windowStart + 1) % windowSize;
+                oldestWeight /= forgettingFactor;
+            } else {
+                slot = (windowStart + windowCount) % windowSize;
+                windowCount++;
+                if (windowCount == 1) {
+                    oldestWeight = 1;
+                }
+            }
+            System.arraycopy(terms, 0, windowTerms, slot * size, size);
+            windowTargets[slot] = y;
+
+            // Downdates do not damp rounding errors the way updates do, so once per window length the
+            // state is rebuilt exactly from the stored observations (amortized O(p^2) per update)
+            if (windowCount == windowSize && ++sinceRefresh >= windowSize) {
+                refresh();
+                sinceRefresh = 0;
+            }
+        }
+    }
+
+    /**
+     * Recomputes P and the coefficients exactly from the observations in the window, discarding the
+     * rounding errors accumulated by the rank-one updates. Costs O(w * p^2 + p^3) for a window of w rows.
+     */
+    private void refresh() {
+        // Weighted information matrix R = prior + sum of w_k * phi_k * phi_k^T, and b = sum of w_k * phi_k * y_k
+        double[] information = new double[size * size];
+        double[] b = new double[size];
+        for (int i = 0; i < size; i++) {
+            information[i * size + i] = priorWeight;
+        }
+        double weight = oldestWeight;
+        for (int k = 0; k < windowCount; k++) {
+            int slot = (windowStart + k) % windowSize;
+            int offset = slot * size;
+            for (int i = 0; i < size; i++) {
+                double wi = weight * windowTerms[offset + i];
+                b[i] += wi * windowTargets[slot];
+                int row = i * size;
+                for (int j = 0; j <= i; j++) {
+                    information[row + j] += wi * windowTerms[offset + j];
+                }
+            }
+            weight /= forgettingFactor;
+        }
+
+        // Cholesky factorization R = L * L^T in the lower triangle
+        for (int j = 0; j < size; j++) {
+            double diagonal = information[j * size + j];
+            for (int k = 0; k < j; k++) {
+                diagonal -= information[j * size + k] * information[j * size + k];
+            }
+            if (!(diagonal > 0)) {
+                throw new IllegalStateException("Window information matrix is not positive definite; "
+                        + "use a larger window or rescale the features");
+            }
+            double ljj = Math.sqrt(diagonal);
+            information[j * size + j] = ljj;
+            for (int i = j + 1; i < size; i++) {
+                double sum = information[i * size + j];
+                for (int k = 0; k < j; k++) {
+                    sum -= information[i * size + k] * information[j * size + k];
+                }
+                information[i * size + j] = sum / ljj;
+            }
+        }
+
+        // P = R^-1, one column at a time by forward and back substitution
+        double[] column = gain;
+        for (int c = 0; c < size; c++) {
+            for (int i = 0; i < size; i++) {
+                double sum = i == c ? 1 : 0;
+                for (int k = 0; k < i; k++) {
+                    sum -= information[i * size + k] * column[k];
+                }
+                column[i] = sum / information[i * size + i];
+            }
+            for (int i = size - 1; i >= 0; i--) {
+                double sum = column[i];
+                for (int k = i + 1; k < size; k++) {
+                    sum -= information[k * size + i] * column[k];
+                }
+                column[i] = sum / information[i * size + i];
+            }
+            for (int i = 0; i < size; i++) {
+                p[i * size + c] = column[i];
+            }
+        }
+
+        // theta = P * b
+        for (int i = 0; i < size; i++) {
+            double sum = 0;
+            for (int j = 0; j < size; j++) {
+                sum += p[i * size + j] * b[j];
+            }
+            theta[i] = sum;
+        }
+    }
+
+    /**
+     * Weighted Sherman-Morrison update of the inverse information matrix and the coefficients for one
+     * observation; a negative weight removes an observation again (downdate).
+     *
+     * @param phi    Array holding the polynomial terms of the observation
+     * @param offset Index of the first term in phi
+     * @param y      Target value of the observation
+     * @param weight Weight of the observation, negative to remove it
+     */
+    private void rankOneUpdate(double[] phi, int offset, double y, double weight) {
+        // gain = P * phi, and the prediction error before the update
+        double quadratic = 0;
+        double error = y;
+        for (int i = 0; i < size; i++) {
+            double sum = 0;
+            int row = i * size;
+            for (int j = 0; j < size; j++) {
+                sum += p[row + j] * phi[offset + j];
+            }
+            gain[i] = sum;
+            quadratic += phi[offset + i] * sum;
+            error -= theta[i] * phi[offset + i];
+        }
+
+        double denominator = 1 + weight * quadratic;
+        if (!(denominator > 0)) {
+            throw new IllegalStateException("Recursive least squares update became ill-conditioned; "
+                    + "use a larger window or rescale the features");
+        }
+        double factor = weight / denominator;
+        for (int i = 0; i < size; i++) {
+            theta[i] += factor * gain[i] * error;
+        }
+        // P -= factor * gain * gain^T on one triangle, mirrored so that P stays exactly symmetric; rounding
+        // differences between the two triangles would otherwise grow by 1 / lambda per update
+        for (int i = 0; i < size; i++) {
+            double gi = factor * gain[i];
+            for (int j = i; j < size; j++) {
+                double value = p[i * size + j] - gi * gain[j];
+                p[i * size + j] = value;
+                p[j * size + i] = value;
+            }
+        }
+    }
+
+    /**
+     * Publishes an immutable copy of the current coefficients for readers.
+     */
+    private void publish() {
+        snapshot = new MultivariatePolynomialPredictor(theta, degree, numFeatures);
+    }
+
+    /**
+     * Predicts the target value for a new observation using the latest published coefficients.
+     *
+     * @param x Array of input features (length must match numFeatures)
+     * @return  Predicted target value
+     */
+    public double predict(double[] x) {
+        return snapshot.predict(x);
+    }
+
+    /**
+     * Gets the latest published coefficients as an immutable predictor. The predictor does not change
+     * when the model is updated later, so it can be used for a consistent series of predictions.
+     *
+     * @return Snapshot of the current fit
+     */
+    public MultivariatePolynomialPredictor compile() {
+        return snapshot;
+    }
+
+    /**
+     * Converts the latest published coefficients into a regular model, for example to save it with {@link ModelIO}.
+     *
+     * @return MultivariatePolynomialRegression with the current coefficients
+     */
+    public MultivariatePolynomialRegression toRegression() {
+        return new MultivariatePolynomialRegression(snapshot.getCoefficients(), degree, numFeatures);
+    }
+
+    /**
+     * Gets the latest published coefficients.
+     *
+     * @return Copy of the intercept followed by the coefficients of x_i^d, ordered by feature then degree
+     */
+    public double[] getCoefficients() {
+        return snapshot.getCoefficients();
+    }
+
+    /**
+     * Gets the total number of observations folded in since construction, including any that have
+     * since left the window.
+     *
+     * @return Number of observations
+     */
+    public synchronized long getObservationCount() {
+        return observations;
+    }
+
+    /**
+     * Gets the degree of the polynomial for each feature.
+     *
+     * @return Polynomial degree
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /**
+     * Gets the number of original input features.
+     *
+     * @return Number of features expected by predict and update
+     */
+    public int getNumFeatures() {
+        return numFeatures;
+    }
+
+    /**
+     * Checkpoint - Copy of the fitting state that a batch of updates may change.
+     */
+    private final class Checkpoint {
+        private final double[] theta = OnlineMultivariatePolynomialRegression.this.theta.clone();
+        private final double[] p = OnlineMultivariatePolynomialRegression.this.p.clone();
+        private final int firstSlot;           // First window slot the batch writes to
+        private final double[] windowTerms;    // Saved terms of the slots the batch writes to
+        private final double[] windowTargets;  // Saved targets of the slots the batch writes to
+        private final int windowStart = OnlineMultivariatePolynomialRegression.this.windowStart;
+        private final int windowCount = OnlineMultivariatePolynomialRegression.this.windowCount;
+        private final double oldestWeight = OnlineMultivariatePolynomialRegression.this.oldestWeight;
+        private final double priorWeight = OnlineMultivariatePolynomialRegression.this.priorWeight;
+        private final int sinceRefresh = OnlineMultivariatePolynomialRegression.this.sinceRefresh;
+        private final long observations = OnlineMultivariatePolynomialRegression.this.observations;
+
+        /**
+         * Constructor that saves the state before a batch.
+         *
+         * @param rows Number of observations in the batch
+         */
+        Checkpoint(int rows) {
+            int slots = Math.min(rows, windowSize);
+            this.firstSlot = windowSize == 0 ? 0 : (windowStart + windowCount) % windowSize;
+            this.windowTerms = new double[slots * size];
+            this.windowTargets = new double[slots];
+            for (int k = 0; k < slots; k++) {
+                int slot = (firstSlot + k) % windowSize;
+                System.arraycopy(OnlineMultivariatePolynomialRegression.this.windowTerms, slot * size, windowTerms, k * size, size);
+                windowTargets[k] = OnlineMultivariatePolynomialRegression.this.windowTargets[slot];
+            }
+        }
+
+        /**
+         * Puts the saved state back.
+         */
+        void restore() {
+            OnlineMultivariatePolynomialRegression model = OnlineMultivariatePolynomialRegression.this;
+            System.arraycopy(theta, 0, model.theta, 0, theta.length);
+            System.arraycopy(p, 0, model.p, 0, p.length);
+            for (int k = 0; k < windowTargets.length; k++) {
+                int slot = (firstSlot + k) % windowSize;
+                System.arraycopy(windowTerms, k * size, model.windowTerms, slot * size, size);
+                model.windowTargets[slot] = windowTargets[k];
+            }
+            model.windowStart = windowStart;
+            model.windowCount = windowCount;
+            model.oldestWeight = oldestWeight;
+            model.priorWeight = priorWeight;
+            model.sinceRefresh = sinceRefresh;
+            model.observations = observations;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package regressionProject;
+
+/**
+ * Optimizer - Update rule that turns gradients into parameter changes during neural network training.
+ * The network's parameters are handed to the optimizer as numbered tensors (the flat weight and bias
+ * arrays of each layer), and any per-parameter state an optimizer needs, such as momentum or running
+ * averages of squared gradients, is kept in flat primitive arrays parallel to those tensors.
+ */
+public interface Optimizer {
+
+    /**
+     * Allocates per-parameter state for tensors of the given sizes, discarding any previous state.
+     * Called once at the start of training.
+     *
+     * @param tensorSizes Number of parameters in each tensor
+     */
+    void initialize(int[] tensorSizes);
+
+    /**
+     * Allocates per-parameter state and receives the dense kernels of the network being trained, so
+     * update rules built from scaled vector additions can run them on the network's backend.
+     * The network calls this form; the default ignores the kernels.
+     *
+     * @param tensorSizes Number of parameters in each tensor
+     * @param kernels     Backend of the network being trained
+     */
+    default void initialize(int[] tensorSizes, DenseKernels kernels) {
+        initialize(tensorSizes);
+    }
+
+    /**
+     * Advances the optimizer's step counter. Called once per batch, before that batch's updates.
+     */
+    default void nextStep() {
+        // Stateless by default
+    }
+
+    /**
+     * Updates the parameters in [from, to) of one tensor. Different ranges of the same tensor may be
+     * updated concurrently, so implementations must only touch state inside the given range.
+     *
+     * @param tensor        Index of the tensor being updated
+     * @param params        Parameters of the tensor, updated in place
+     * @param gradients     Gradients of the tensor
+     * @param from          First index to update (inclusive)
+     * @param to            Last index to update (exclusive)
+     * @param gradientScale Factor applied to every gradient first, e.g. 1 / batch size
+     * @param learningRate  Learning rate for this step
+     */
+    void update(int tensor, double[] params, double[] gradients, int from, int to,
+                double gradientScale, double learningRate);
+}
@@ -0,0 +1,276 @@
+package regressionProject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PolynomialFeatureExpander - Reusable, allocation-free expansion of raw features into polynomial terms.
+ *
+ * The term layout is computed once in the constructor. It starts with the pure powers x_i^d for every feature
+ * i and d = 1..degree, ordered by feature then degree (the layout used by {@link MultivariatePolynomialRegression}).
+ * Optionally it continues with interaction terms: every product of two or more distinct features whose total
+ * degree is between 2 and the interaction degree, such as x_0 * x_1 or x_0^2 * x_1, ordered by total degree.
+ *
+ * Every term is stored as the product of an earlier term (its parent) and one feature, so expanding a row costs
+ * exactly one multiplication per term, with no Math.pow and no boxing. Output goes into a caller-provided flat
+ * buffer, either row-major ([row][term]) or column-major ([term][row]). Instances are immutable and can be
+ * shared between threads.
+ */
+public final class PolynomialFeatureExpander {
+    private final int numFeatures;      // Number of raw input features
+    private final int degree;           // Highest power of each single feature
+    private final int interactionDegree; // Highest total degree of the interaction terms, 0 for none
+    private final int[] parents;        // Index of the term multiplied to form each term, -1 for the raw feature
+    private final int[] factors;        // Feature multiplied into the parent to form each term
+    private final int[][] exponents;    // Exponent of every feature in each term
+
+    /**
+     * Constructor for pure powers x_i, x_i^2, ..., x_i^degree of every feature, without interaction terms.
+     *
+     * @param numFeatures Number of raw input features
+     * @param degree      Highest power of each feature
+     */
+    public PolynomialFeatureExpander(int numFeatures, int degree) {
+        this(numFeatures, degree, 0);
+    }
+
+    /**
+     * Constructor for pure powers plus interaction terms up to a total degree.
+     *
+     * @param numFeatures       Number of raw input features
+     * @param degree            Highest power of each feature on its own
+     * @param interactionDegree Highest total degree of the products of distinct features; 0 or 1 for none
+     */
+    public PolynomialFeatureExpander(int numFeatures, int degree, int interactionDegree) {
+        if (numFeatures <= 0 || degree <= 0) {
+            throw new IllegalArgumentException("Feature count and degree must be positive, but received "
+                    + numFeatures + " and " + degree);
+        }
+        if (interactionDegree < 0) {
+            throw new IllegalArgumentException("Interaction degree must not be negative, but received " + interactionDegree);
+        }
+        this.numFeatures = numFeatures;
+        this.degree = degree;
+        this.interactionDegree = interactionDegree < 2 ? 0 : interactionDegree;
+
+        List<int[]> terms = new ArrayList<>();
+        for (int i = 0; i < numFeatures; i++) {
+            for (int d = 1; d <= degree; d++) {
+                int[] e = new int[numFeatures];
+                e[i] = d;
+                terms.add(e);
+            }
+        }
+        for (int total = 2; total <= this.interactionDegree; total++) {
+            addInteractions(new int[numFeatures], 0, total, terms);
+        }
+
+        // Link every term to an earlier one that differs by a single factor
+        Map<String, Integer> index = new HashMap<>();
+        int count = terms.size();
+        this.parents = new int[count];
+        this.factors = new int[count];
+        this.exponents = new int[count][];
+        for (int t = 0; t < count; t++) {
+            int[] e = terms.get(t);
+            exponents[t] = e;
+            index.put(Arrays.toString(e), t);
+            parents[t] = -2;
+            for (int i = 0; i < numFeatures && parents[t] == -2; i++) {
+                if (e[i] == 0) {
+                    continue;
+                }
+                e[i]--;
+                boolean constant = Arrays.stream(e).allMatch(v -> v == 0);
+                Integer parent = constant ? Integer.valueOf(-1) : index.get(Arrays.toString(e));
+                e[i]++;
+                if (parent != null) {
+                    parents[t] = parent;
+                    factors[t] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds every exponent vector with at least two non-zero entries and the given total degree, in
+     * lexicographically descending order.
+     *
+     * @param e         Exponent vector being filled
+     * @param feature   Next feature to assign an exponent to
+     * @param remaining Degree still to distribute
+     * @param terms     List receiving copies of the complete vectors
+     */
+    private void addInteractions(int[] e, int feature, int remaining, List<int[]> terms) {
+        if (feature == numFeatures - 1) {
+            e[feature] = remaining;
+            int nonZero = 0;
+            for (int v : e) {
+                nonZero += v > 0 ? 1 : 0;
+            }
+            if (nonZero >= 2) {
+                terms.add(e.clone());
+            }
+            e[feature] = 0;
+            return;
+        }
+        for (int v = remaining; v >= 0; v--) {
+            e[feature] = v;
+            addInteractions(e, feature + 1, remaining - v, terms);
+        }
+        e[feature] = 0;
+    }
+
+    /**
+     * Expands one row into its terms.
+     *
+     * @param x      Raw features of the row (length must match the feature count)
+     * @param output Array receiving {@link #getNumTerms()} values
+     * @param offset Index of the first term in output
+     */
+    public void expand(double[] x, double[] output, int offset) {
+        if (x.length != numFeatures) {
+            throw new IllegalArgumentException("Incorrect number of input features: expected " + numFeatures + ", but received " + x.length);
+        }
+        for (int t = 0; t < parents.length; t++) {
+            int parent = parents[t];
+            double value = x[factors[t]];
+            output[offset + t] = parent < 0 ? value : output[offset + parent] * value;
+        }
+    }
+
+    /**
+     * Expands rows {@code from} (inclusive) to {@code to} (exclusive) into a flat buffer.
+     * Row-major output places term t of the r-th expanded row at {@code r * terms + t}; column-major output
+     * places it at {@code t * (to - from) + r}, so each term is one contiguous column.
+     *
+     * @param X           2D array of raw features (each row is an observation)
+     * @param from        First row to expand
+     * @param to          Row after the last row to expand
+     * @param output      Buffer of at least {@code (to - from) * terms} values
+     * @param columnMajor Whether to write the terms column by column instead of row by row
+     */
+    public void expand(double[][] X, int from, int to, double[] output, boolean columnMajor) {
+        int rows = to - from;
+        int terms = parents.length;
+        if (from < 0 || to > X.length || rows < 0) {
+            throw new IllegalArgumentException("Invalid row range [" + from + ", " + to + ") for " + X.length + " rows");
+        }
+        if (output.length < (long) rows * terms) {
+            throw new IllegalArgumentException("Output buffer holds " + output.length + " values, but "
+                    + (long) rows * terms + " are needed");
+        }
+        if (!columnMajor) {
+            for (int r = 0; r < rows; r++) {
+                expand(X[from + r], output, r * terms);
+            }
+            return;
+        }
+
+        for (int r = 0; r < rows; r++) {
+            if (X[from + r].length != numFeatures) {
+                throw new IllegalArgumentException("Incorrect number of input features in row " + (from + r)
+                        + ": expected " + numFeatures + ", but received " + X[from + r].length);
+            }
+        }
+        // One term at a time: each column is its parent column times one feature column
+        for (int t = 0; t < terms; t++) {
+            int column = t * rows;
+            int parent = parents[t] * rows;
+            int factor = factors[t];
+            if (parents[t] < 0) {
+                for (int r = 0; r < rows; r++) {
+                    output[column + r] = X[from + r][factor];
+                }
+            } else {
+                for (int r = 0; r < rows; r++) {
+                    output[column + r] = output[parent + r] * X[from + r][factor];
+                }
+            }
+        }
+    }
+
+    /**
+     * Expands all rows into a new 2D array, for APIs that require one row array per observation.
+     *
+     * @param X 2D array of raw features (each row is an observation)
+     * @return  2D array with one row of terms per observation
+     */
+    public double[][] expand(double[][] X) {
+        double[][] expanded = new double[X.length][parents.length];
+        for (int r = 0; r < X.length; r++) {
+            expand(X[r], expanded[r], 0);
+        }
+        return expanded;
+    }
+
+    /**
+     * Evaluates a linear model over the expanded terms: intercept + sum of coefficient * term.
+     *
+     * @param coefficients Intercept followed by one coefficient per term, in this expander's layout
+     * @param x            Raw features of the observation
+     * @param terms        Scratch array of at least {@link #getNumTerms()} values, overwritten
+     * @return             Model value
+     */
+    public double evaluate(double[] coefficients, double[] x, double[] terms) {
+        if (coefficients.length != parents.length + 1) {
+            throw new IllegalArgumentException("Expected " + (parents.length + 1) + " coefficients, but received "
+                    + coefficients.length);
+        }
+        expand(x, terms, 0);
+        double y = coefficients[0];
+        for (int t = 0; t < parents.length; t++) {
+            y += coefficients[t + 1] * terms[t];
+        }
+        return y;
+    }
+
+    /**
+     * Gets the number of terms produced per row (excluding any intercept).
+     *
+     * @return Number of terms
+     */
+    public int getNumTerms() {
+        return parents.length;
+    }
+
+    /**
+     * Gets the exponent of every feature in a term.
+     *
+     * @param term Index of the term
+     * @return     Copy of the exponents, one per feature
+     */
+    public int[] getExponents(int term) {
+        return exponents[term].clone();
+    }
+
+    /**
+     * Gets the number of raw input features.
+     *
+     * @return Number of features
+     */
+    public int getNumFeatures() {
+        return numFeatures;
+    }
+
+    /**
+     * Gets the highest power of each single feature.
+     *
+     * @return Polynomial degree
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /**
+     * Gets the highest total degree of the interaction terms.
+     *
+     * @return Interaction degree, 0 when there are no interaction terms
+     */
+    public int getInteractionDegree() {
+        return interactionDegree;
+    }
+}
@@ -0,0 +1,73 @@
+package regressionProject;
+
+/**
+ * PolynomialPredictor - Immutable, compiled form of a fitted univariate polynomial.
+ * Holds the coefficients in a primitive array and evaluates the polynomial with Horner's rule,
+ * so a prediction costs one multiply-add per degree and allocates nothing. Instances never change
+ * after construction and can be shared freely between threads.
+ * Obtain one with {@link PolynomialRegression#compile()}.
+ */
+public final class PolynomialPredictor {
+    private final double[] coefficients; // Intercept followed by the coefficients of x, x^2, ..., x^degree
+
+    /**
+     * Constructor to compile a polynomial from its coefficients.
+     *
+     * @param coefficients Intercept followed by the coefficients of x, x^2, ..., x^degree (copied)
+     */
+    public PolynomialPredictor(double[] coefficients) {
+        if (coefficients.length == 0) {
+            throw new IllegalArgumentException("At least the intercept coefficient is required.");
+        }
+        this.coefficients = coefficients.clone();
+    }
+
+    /**
+     * Predicts the y-value for a given x-value.
+     *
+     * @param x Input x-value
+     * @return  Predicted y-value
+     */
+    public double predict(double x) {
+        // Horner's rule: c0 + x * (c1 + x * (c2 + ... + x * cn))
+        double y = coefficients[coefficients.length - 1];
+        for (int j = coefficients.length - 2; j >= 0; j--) {
+            y = y * x + coefficients[j];
+        }
+        return y;
+    }
+
+    /**
+     * Predicts the y-values for a whole array of x-values in one pass.
+     *
+     * @param x           Input x-values
+     * @param predictions Array receiving one predicted y-value per x-value (length must be at least x.length)
+     */
+    public void predict(double[] x, double[] predictions) {
+        if (predictions.length < x.length) {
+            throw new IllegalArgumentException("Prediction array holds " + predictions.length + " values, but "
+                    + x.length + " x-values were given");
+        }
+        for (int i = 0; i < x.length; i++) {
+            predictions[i] = predict(x[i]);
+        }
+    }
+
+    /**
+     * Gets the compiled coefficients.
+     *
+     * @return Copy of the intercept followed by the coefficients of x, x^2, ..., x^degree
+     */
+    public double[] getCoefficients() {
+        return coefficients.clone();
+    }
+
+    /**
+     * Gets the degree of the polynomial.
+     *
+     * @return Polynomial degree
+     */
+    public int getDegree() {
+        return coefficients.length - 1;
+    }
+}
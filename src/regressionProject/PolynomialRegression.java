@@ -8,8 +8,9 @@ import org.apache.commons.math3.stat.regression.OLSMultipleLinearRegression;
  * and one dependent variable (y), using ordinary least squares (OLS) regression.
  */
 public class PolynomialRegression {
-    private final OLSMultipleLinearRegression regression; // OLS regression model from Apache Commons Math
-    private final int degree;                             // Degree of the polynomial
+    private final double[] coefficients; // Intercept followed by the coefficients of x, x^2, ..., x^degree
+    private final int degree;            // Degree of the polynomial
+    private final PolynomialPredictor predictor; // Compiled form used for predictions
 
     /**
      * Constructor to initialize and fit a polynomial regression model.
@@ -20,7 +21,7 @@ public class PolynomialRegression {
      */
     public PolynomialRegression(double[] x, double[] y, int degree) {
         this.degree = degree;
-        regression = new OLSMultipleLinearRegression();
+        OLSMultipleLinearRegression regression = new OLSMultipleLinearRegression();
         
         // Transform x-values to polynomial terms up to the specified degree
         double[][] xPoly = new double[x.length][degree];
@@ -31,6 +32,24 @@ public class PolynomialRegression {
         }
         
         regression.newSampleData(y, xPoly); // Fit the model with the transformed polynomial features
+        this.coefficients = regression.estimateRegressionParameters(); // Solve once and keep the result
+        this.predictor = new PolynomialPredictor(coefficients);
+    }
+
+    /**
+     * Constructor for a model with known coefficients, used when loading a saved model.
+     *
+     * @param coefficients Intercept followed by the coefficients of x, x^2, ..., x^degree
+     * @param degree       Degree of the polynomial
+     */
+    PolynomialRegression(double[] coefficients, int degree) {
+        if (coefficients.length != degree + 1) {
+            throw new IllegalArgumentException("Expected " + (degree + 1) + " coefficients for degree " + degree
+                    + ", but received " + coefficients.length);
+        }
+        this.coefficients = coefficients;
+        this.degree = degree;
+        this.predictor = new PolynomialPredictor(coefficients);
     }
 
     /**
@@ -40,20 +59,44 @@ public class PolynomialRegression {
      * @return  Predicted y-value
      */
     public double predict(double x) {
-        // Create polynomial terms for the input x-value up to the specified degree
-        double[] xPoly = new double[degree];
-        for (int j = 0; j < degree; j++) {
-            xPoly[j] = Math.pow(x, j + 1);
-        }
-        
-        // Get model coefficients from the regression object
-        double[] coefficients = regression.estimateRegressionParameters();
-        
-        // Calculate predicted y-value using intercept and polynomial coefficients
-        double yPred = coefficients[0]; // intercept term
-        for (int j = 0; j < degree; j++) {
-            yPred += coefficients[j + 1] * xPoly[j];
-        }
-        return yPred;
+        return predictor.predict(x);
+    }
+
+    /**
+     * Predicts the y-values for a whole array of x-values in one pass.
+     *
+     * @param x           Input x-values for which predictions are made
+     * @param predictions Array receiving one predicted y-value per x-value (length must be at least x.length)
+     */
+    public void predict(double[] x, double[] predictions) {
+        predictor.predict(x, predictions);
+    }
+
+    /**
+     * Gets the compiled, immutable predictor for this model. It evaluates the polynomial with
+     * Horner's rule and can be shared across threads.
+     *
+     * @return Predictor holding this model's coefficients
+     */
+    public PolynomialPredictor compile() {
+        return predictor;
+    }
+
+    /**
+     * Gets the fitted coefficients.
+     *
+     * @return Copy of the intercept followed by the coefficients of x, x^2, ..., x^degree
+     */
+    public double[] getCoefficients() {
+        return coefficients.clone();
+    }
+
+    /**
+     * Gets the degree of the polynomial.
+     *
+     * @return Polynomial degree
+     */
+    public int getDegree() {
+        return degree;
     }
 }
@@ -0,0 +1,585 @@
+package regressionProject;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PredictionServer - Embedded HTTP service that scores trained models, built on the JDK's
+ * {@code com.sun.net.httpserver}.
+ *
+ * Every model has a batching thread. Requests that arrive for a model while its batching thread is
+ * collecting, within the batch window after the first of them, are scored together in one batched pass
+ * (one matrix product per network layer, or one pass per polynomial feature) and their responses
+ * released at once. Under load this replaces many single-row passes with a few wide ones; a lone request
+ * waits at most one window.
+ *
+ * Endpoints:
+ * <pre>
+ *   POST /predict/{model}  body: one row of comma-separated features per line
+ *                          response: one row of comma-separated outputs per line
+ *   GET  /models           one line per model: name, input count, output count
+ *   GET  /stats            one JSON object per model: requests, throughput, p50/p99 latency, batching
+ * </pre>
+ * Malformed requests get 400, unknown models 404.
+ */
+public final class PredictionServer {
+    private final HttpServer server;            // Underlying HTTP server
+    private final ExecutorService handlers;     // Threads that parse requests and wait for their batch
+    private final long windowNanos;             // How long a batch stays open after its first request
+    private final int maxBatchRows;             // Rows after which a batch is scored without waiting
+    private final Map<String, Batcher> models = new ConcurrentHashMap<>(); // Batching thread of every model
+    private volatile boolean stopped;           // Set once stop() has been called
+
+    /**
+     * Constructor that binds the server without starting it.
+     *
+     * @param address        Address and port to listen on; port 0 picks a free port
+     * @param batchWindow    How long a batch collects requests after its first one; zero scores whatever
+     *                       is already queued
+     * @param maxBatchRows   Maximum number of rows scored in one batch
+     * @param handlerThreads Number of request threads, which bounds the requests that can share a batch
+     * @throws IOException If the address cannot be bound
+     */
+    public PredictionServer(InetSocketAddress address, Duration batchWindow, int maxBatchRows, int handlerThreads)
+            throws IOException {
+        if (batchWindow.isNegative()) {
+            throw new IllegalArgumentException("Batch window must not be negative, but received " + batchWindow);
+        }
+        if (maxBatchRows <= 0 || handlerThreads <= 0) {
+            throw new IllegalArgumentException("Batch size and thread count must be positive, but received "
+                    + maxBatchRows + " and " + handlerThreads);
+        }
+        this.windowNanos = batchWindow.toNanos();
+        this.maxBatchRows = maxBatchRows;
+        this.server = HttpServer.create(address, 0);
+        AtomicInteger count = new AtomicInteger();
+        this.handlers = Executors.newFixedThreadPool(handlerThreads, task -> {
+            Thread thread = new Thread(task, "prediction-handler-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(handlers);
+        server.createContext("/predict/", this::handlePredict);
+        server.createContext("/models", this::handleModels);
+        server.createContext("/stats", this::handleStats);
+    }
+
+    /**
+     * Serves a neural network.
+     *
+     * @param name    Model name used in the request path
+     * @param network Trained network
+     */
+    public void addModel(String name, NeuralNetwork network) {
+        int[] layers = network.getLayers();
+        NetworkWorkspace workspace = network.createWorkspace(maxBatchRows); // Used by the batching thread only
+        addModel(name, new Scorer(layers[0], layers[layers.length - 1]) {
+            @Override
+            void score(FeatureMatrix inputs, double[] outputs) {
+                network.predict(inputs, outputs, workspace);
+            }
+        });
+    }
+
+    /**
+     * Serves a multivariate polynomial regression.
+     *
+     * @param name  Model name used in the request path
+     * @param model Fitted model
+     */
+    public void addModel(String name, MultivariatePolynomialRegression model) {
+        MultivariatePolynomialPredictor predictor = model.compile();
+        addModel(name, new Scorer(predictor.getNumFeatures(), 1) {
+            @Override
+            void score(FeatureMatrix inputs, double[] outputs) {
+                predictor.predict(inputs, outputs);
+            }
+        });
+    }
+
+    /**
+     * Loads a model saved with {@link ModelIO} and serves it; the file may hold a neural network or a
+     * multivariate polynomial regression.
+     *
+     * @param name Model name used in the request path
+     * @param path Model file
+     * @throws IOException If the file cannot be read or holds another kind of model
+     */
+    public void loadModel(String name, Path path) throws IOException {
+        if (ModelIO.holdsNeuralNetwork(path)) {
+            addModel(name, ModelIO.loadNeuralNetwork(path));
+        } else {
+            addModel(name, ModelIO.loadMultivariatePolynomialRegression(path));
+        }
+    }
+
+    /**
+     * Registers a model and starts its batching thread.
+     *
+     * @param name   Model name used in the request path
+     * @param scorer Batched scoring of the model
+     */
+    private void addModel(String name, Scorer scorer) {
+        if (name.isEmpty() || name.contains("/")) {
+            throw new IllegalArgumentException("Invalid model name '" + name + "'");
+        }
+        Batcher batcher = new Batcher(name, scorer);
+        if (models.putIfAbsent(name, batcher) != null) {
+            throw new IllegalArgumentException("A model named '" + name + "' is already served");
+        }
+        batcher.thread.start();
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests, fails those still queued and stops the batching threads.
+     */
+    public void stop() {
+        stopped = true;
+        server.stop(0);
+        for (Batcher batcher : models.values()) {
+            batcher.thread.interrupt();
+        }
+        handlers.shutdownNow();
+    }
+
+    /**
+     * Gets the port the server listens on, useful when it was bound to port 0.
+     *
+     * @return Local port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the latency and batching statistics of a model.
+     *
+     * @param name Model name
+     * @return     Live statistics of the model
+     */
+    public LatencyStatistics getStatistics(String name) {
+        return batcher(name).statistics;
+    }
+
+    /**
+     * Scores rows through the model's batching thread, as a request to {@code /predict/{name}} would, so
+     * in-process callers share batches with HTTP requests.
+     *
+     * @param name   Model name
+     * @param inputs Row-major input features, a whole number of rows
+     * @return       Row-major outputs
+     */
+    public double[] predict(String name, double[] inputs) {
+        Batcher batcher = batcher(name);
+        int inputSize = batcher.scorer.inputSize;
+        if (inputs.length == 0 || inputs.length % inputSize != 0) {
+            throw new IllegalArgumentException("Model '" + name + "' takes rows of " + inputSize + " features, but received "
+                    + inputs.length + " values");
+        }
+        if (stopped) {
+            throw new IllegalStateException("The prediction server has stopped.");
+        }
+        if (batcher.failure != null) {
+            throw new IllegalStateException("The batching thread of model '" + name + "' has failed", batcher.failure);
+        }
+        Request request = new Request(inputs, inputs.length / inputSize);
+        batcher.queue.add(request);
+        if (stopped) {
+            // stop() may have landed between the check above and the add, after the batching thread drained
+            // its queue; nobody else would complete this request. If it was scored after all, this is a no-op.
+            request.result.completeExceptionally(new IllegalStateException("The prediction server has stopped."));
+        } else if (batcher.failure != null) {
+            // Same race against the batching thread dying
+            request.result.completeExceptionally(
+                    new IllegalStateException("The batching thread of model '" + name + "' has failed", batcher.failure));
+        }
+        try {
+            return request.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Looks up a served model.
+     *
+     * @param name Model name
+     * @return     Its batching thread
+     */
+    private Batcher batcher(String name) {
+        Batcher batcher = models.get(name);
+        if (batcher == null) {
+            throw new UnknownModelException(name);
+        }
+        return batcher;
+    }
+
+    /**
+     * Handles {@code POST /predict/{model}}.
+     *
+     * @param exchange Request and response
+     * @throws IOException If the response cannot be sent
+     */
+    private void handlePredict(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "Use POST\n");
+                return;
+            }
+            String name = exchange.getRequestURI().getPath().substring("/predict/".length());
+            Batcher batcher;
+            double[] outputs;
+            try {
+                batcher = batcher(name);
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                outputs = predict(name, parseRows(body, batcher.scorer.inputSize));
+            } catch (UnknownModelException e) {
+                send(exchange, 404, e.getMessage() + "\n");
+                return;
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, e.getMessage() + "\n");
+                return;
+            }
+            send(exchange, 200, formatRows(outputs, batcher.scorer.outputSize));
+            batcher.statistics.record(System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            send(exchange, 500, e.toString() + "\n");
+        }
+    }
+
+    /**
+     * Handles {@code GET /models}.
+     *
+     * @param exchange Request and response
+     * @throws IOException If the response cannot be sent
+     */
+    private void handleModels(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            StringBuilder body = new StringBuilder();
+            for (Batcher batcher : models.values()) {
+                body.append(batcher.name).append(' ').append(batcher.scorer.inputSize).append(' ')
+                        .append(batcher.scorer.outputSize).append('\n');
+            }
+            send(exchange, 200, body.toString());
+        }
+    }
+
+    /**
+     * Handles {@code GET /stats}.
+     *
+     * @param exchange Request and response
+     * @throws IOException If the response cannot be sent
+     */
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            StringBuilder body = new StringBuilder("{");
+            for (Batcher batcher : models.values()) {
+                if (body.length() > 1) {
+                    body.append(',');
+                }
+                appendJsonString(body, batcher.name).append(':').append(batcher.statistics);
+            }
+            send(exchange, 200, body.append("}\n").toString());
+        }
+    }
+
+    /**
+     * Appends a string as a quoted JSON string, escaping quotes, backslashes and control characters.
+     *
+     * @param json  Builder receiving the JSON
+     * @param value String to append
+     * @return      The builder
+     */
+    static StringBuilder appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"');
+    }
+
+    /**
+     * Sends a complete plain-text response.
+     *
+     * @param exchange Request and response
+     * @param status   HTTP status code
+     * @param body     Response body
+     * @throws IOException If the response cannot be sent
+     */
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Parses a request body of comma-separated rows into one row-major array. Blank lines are skipped.
+     *
+     * @param body      Request body
+     * @param inputSize Number of features per row
+     * @return          Row-major input features
+     */
+    static double[] parseRows(String body, int inputSize) {
+        List<String> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                lines.add(line);
+            }
+        }
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("The request holds no rows.");
+        }
+        double[] inputs = new double[lines.size() * inputSize];
+        for (int r = 0; r < lines.size(); r++) {
+            String[] fields = lines.get(r).split(",");
+            if (fields.length != inputSize) {
+                throw new IllegalArgumentException("Row " + (r + 1) + " has " + fields.length + " values, expected "
+                        + inputSize);
+            }
+            for (int c = 0; c < inputSize; c++) {
+                try {
+                    inputs[r * inputSize + c] = Double.parseDouble(fields[c].trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Row " + (r + 1) + " has an invalid number '" + fields[c].trim() + "'");
+                }
+            }
+        }
+        return inputs;
+    }
+
+    /**
+     * Formats row-major outputs as one comma-separated line per row.
+     *
+     * @param outputs    Row-major outputs
+     * @param outputSize Number of outputs per row
+     * @return           Response body
+     */
+    static String formatRows(double[] outputs, int outputSize) {
+        StringBuilder body = new StringBuilder(outputs.length * 20);
+        for (int i = 0; i < outputs.length; i++) {
+            body.append(outputs[i]).append((i + 1) % outputSize == 0 ? '\n' : ',');
+        }
+        return body.toString();
+    }
+
+    /**
+     * Scorer - Batched evaluation of one served model.
+     */
+    private abstract static class Scorer {
+        final int inputSize;  // Number of features per row
+        final int outputSize; // Number of outputs per row
+
+        /**
+         * Constructor with the model's shape.
+         *
+         * @param inputSize  Number of features per row
+         * @param outputSize Number of outputs per row
+         */
+        Scorer(int inputSize, int outputSize) {
+            this.inputSize = inputSize;
+            this.outputSize = outputSize;
+        }
+
+        /**
+         * Scores a batch; always called from the model's batching thread.
+         *
+         * @param inputs  Row-major input features
+         * @param outputs Array receiving the outputs, row-major [row][output]
+         */
+        abstract void score(FeatureMatrix inputs, double[] outputs);
+    }
+
+    /**
+     * Request - Rows waiting to be scored and the future that receives their outputs.
+     */
+    private static final class Request {
+        final double[] inputs; // Row-major input features
+        final int rows;        // Number of rows
+        final CompletableFuture<double[]> result = new CompletableFuture<>(); // Completed by the batching thread
+
+        /**
+         * Constructor for a parsed request.
+         *
+         * @param inputs Row-major input features
+         * @param rows   Number of rows
+         */
+        Request(double[] inputs, int rows) {
+            this.inputs = inputs;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * Batcher - The queue and batching thread of one model.
+     */
+    private final class Batcher implements Runnable {
+        final String name;                                // Model name
+        final Scorer scorer;                              // Batched scoring of the model
+        final BlockingQueue<Request> queue = new LinkedBlockingQueue<>(); // Requests waiting for a batch
+        final LatencyStatistics statistics = new LatencyStatistics(); // Request latencies and batch sizes
+        final Thread thread;                              // Thread running this batcher
+        volatile Throwable failure;                       // Set if the batching thread died of an unexpected error
+
+        /**
+         * Constructor that creates, but does not start, the batching thread.
+         *
+         * @param name   Model name
+         * @param scorer Batched scoring of the model
+         */
+        Batcher(String name, Scorer scorer) {
+            this.name = name;
+            this.scorer = scorer;
+            this.thread = new Thread(this, "prediction-batcher-" + name);
+            thread.setDaemon(true);
+        }
+
+        /**
+         * Collects requests into batches and scores them until the thread is interrupted. Scoring failures
+         * only fail their own batch; if the batching itself fails, every waiting request is failed and
+         * later requests are rejected.
+         */
+        @Override
+        public void run() {
+            List<Request> batch = new ArrayList<>();
+            Request carried = null; // Request that did not fit into the previous batch
+            Throwable reason;       // Exception handed to every request left unscored
+            try {
+                while (true) {
+                    Request first = carried != null ? carried : queue.take();
+                    carried = null;
+                    batch.add(first);
+                    int rows = first.rows;
+                    long deadline = System.nanoTime() + windowNanos;
+                    while (rows < maxBatchRows) {
+                        long wait = deadline - System.nanoTime();
+                        Request next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : queue.poll();
+                        if (next == null) {
+                            break;
+                        }
+                        if (rows + next.rows > maxBatchRows) {
+                            carried = next;
+                            break;
+                        }
+                        batch.add(next);
+                        rows += next.rows;
+                    }
+                    score(batch, rows);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                // Server stopped
+                reason = new IllegalStateException("The prediction server has stopped.");
+            } catch (Throwable e) {
+                failure = e;
+                reason = new IllegalStateException("The batching thread of model '" + name + "' has failed", e);
+            }
+            // Fail everything that will not be scored
+            for (Request request : batch) {
+                request.result.completeExceptionally(reason);
+            }
+            if (carried != null) {
+                carried.result.completeExceptionally(reason);
+            }
+            for (Request request; (request = queue.poll()) != null; ) {
+                request.result.completeExceptionally(reason);
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+        }
+
+        /**
+         * Scores one batch in a single pass and hands every request its slice of the outputs. Any failure,
+         * including an Error such as running out of memory for the outputs, fails only this batch.
+         *
+         * @param batch Requests in the batch
+         * @param rows  Total number of rows
+         */
+        private void score(List<Request> batch, int rows) {
+            int inputSize = scorer.inputSize;
+            int outputSize = scorer.outputSize;
+            try {
+                double[] outputs = new double[rows * outputSize];
+                double[] inputs;
+                if (batch.size() == 1) {
+                    inputs = batch.get(0).inputs;
+                } else {
+                    inputs = new double[rows * inputSize];
+                    int offset = 0;
+                    for (Request request : batch) {
+                        System.arraycopy(request.inputs, 0, inputs, offset, request.inputs.length);
+                        offset += request.inputs.length;
+                    }
+                }
+                scorer.score(new FeatureMatrix(inputs, rows, inputSize, false), outputs);
+                int offset = 0;
+                for (Request request : batch) {
+                    int length = request.rows * outputSize;
+                    request.result.complete(Arrays.copyOfRange(outputs, offset, offset + length));
+                    offset += length;
+                }
+            } catch (Throwable e) {
+                // Requests already handed their outputs keep them
+                for (Request request : batch) {
+                    request.result.completeExceptionally(e);
+                }
+                return;
+            }
+            statistics.recordBatch(rows);
+        }
+    }
+
+    /**
+     * UnknownModelException - Thrown when a request names a model that is not served.
+     */
+    private static final class UnknownModelException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructor for a model name.
+         *
+         * @param name Requested model name
+         */
+        UnknownModelException(String name) {
+            super("No model named '" + name + "' is served");
+        }
+    }
+}
@@ -0,0 +1,489 @@
+package regressionProject;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.apache.commons.math3.linear.RealMatrix;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * RidgePath - Ridge regression for {@link PolynomialRegression} and {@link MultivariatePolynomialRegression}
+ * over a whole grid of regularization strengths from one decomposition.
+ *
+ * The polynomial terms are centred and scaled to unit variance, so the intercept is not penalized and one
+ * lambda means the same for x and x^4. The fit minimizes (1/n) |y - X b|^2 + lambda |b_s|^2, where b_s are the
+ * coefficients of the standardized terms. Their correlation matrix R = V D V^T is accumulated in parallel
+ * without building the design matrix (see {@link GramMatrixFitter}) and eigendecomposed once. Every lambda is
+ * then solved as b_s = V (D + lambda I)^-1 V^T c with c = Z^T y / n, a single p x p matrix-vector product;
+ * the training error, effective degrees of freedom and generalized cross-validation score need only O(p).
+ *
+ * An instance is immutable and can be queried from several threads.
+ */
+public final class RidgePath {
+    private static final int TASK_ROWS = 16384;          // Rows per task when computing the term means
+    private static final double MIN_EIGENVALUE = 1e-12;  // Relative eigenvalue below which a direction is dropped
+
+    private final int degree;            // Degree of the polynomial for each feature
+    private final int numFeatures;       // Number of original features
+    private final long rows;             // Number of observations n
+    private final double meanY;          // Mean of the targets
+    private final double[] means;        // Mean of every term
+    private final double[] scales;       // Standard deviation of every term (1 for constant terms)
+    private final double[] eigenvalues;  // Eigenvalues D of the correlation matrix, clamped at 0
+    private final double[] eigenvectors; // Eigenvectors V, p x p row-major, column k belongs to eigenvalue k
+    private final double[] projected;    // V^T c, the targets' correlations in the eigenbasis
+    private final double varianceY;      // Mean squared deviation of the targets
+
+    /**
+     * Constructor to decompose a multivariate polynomial design with the same terms as
+     * {@link MultivariatePolynomialRegression}.
+     *
+     * @param X           2D array of input features (each row is an observation, each column a feature)
+     * @param y           Array of target values corresponding to each observation
+     * @param degree      Degree of the polynomial for each feature
+     * @param numFeatures Number of original features in the dataset
+     */
+    public RidgePath(double[][] X, double[] y, int degree, int numFeatures) {
+        this(multivariateTerms(X, degree, numFeatures), y, degree, numFeatures);
+    }
+
+    /**
+     * Constructor to decompose a multivariate polynomial design over a feature matrix, where every column
+     * is a feature.
+     *
+     * @param X      Matrix of input features, one row per observation
+     * @param y      Array of target values corresponding to each observation
+     * @param degree Degree of the polynomial for each feature
+     */
+    public RidgePath(FeatureMatrix X, double[] y, int degree) {
+        this(multivariateTerms(X, degree), y, degree, X.columns());
+    }
+
+    /**
+     * Constructor to decompose a univariate polynomial design with the terms x, x^2, ..., x^degree.
+     *
+     * @param x      Array of x-values (independent variable)
+     * @param y      Array of y-values (dependent variable)
+     * @param degree Degree of the polynomial
+     */
+    public RidgePath(double[] x, double[] y, int degree) {
+        this(polynomialTerms(x, degree), y, degree, 1);
+    }
+
+    /**
+     * Constructor that standardizes the terms and decomposes their correlation matrix.
+     *
+     * @param terms       Design of the polynomial terms, without the intercept column
+     * @param y           Target values, one per row
+     * @param degree      Degree of the polynomial for each feature
+     * @param numFeatures Number of original features
+     */
+    private RidgePath(GramMatrixFitter.Design terms, double[] y, int degree, int numFeatures) {
+        int n = terms.rows();
+        int p = terms.terms();
+        if (y.length != n) {
+            throw new IllegalArgumentException("Got " + n + " observations but " + y.length + " targets");
+        }
+        if (n < 2) {
+            throw new IllegalArgumentException("At least 2 observations are needed, but received " + n);
+        }
+        this.degree = degree;
+        this.numFeatures = numFeatures;
+        this.rows = n;
+
+        // First pass: means, so the second pass can sum centred values without cancellation
+        this.means = termMeans(terms);
+        double sumY = 0;
+        for (double value : y) {
+            sumY += value;
+        }
+        this.meanY = sumY / n;
+        double[] centredY = new double[n];
+        for (int i = 0; i < n; i++) {
+            centredY[i] = y[i] - meanY;
+        }
+        GramMatrixFitter.Design centred = new GramMatrixFitter.Design() {
+            @Override
+            public int rows() {
+                return n;
+            }
+
+            @Override
+            public int terms() {
+                return p;
+            }
+
+            @Override
+            public void expand(int row, double[] output, int offset) {
+                terms.expand(row, output, offset);
+                for (int j = 0; j < p; j++) {
+                    output[offset + j] -= means[j];
+                }
+            }
+        };
+        GramMatrixFitter.NormalEquations normal = GramMatrixFitter.accumulate(centred, centredY);
+
+        // Scale to the correlation matrix R = Z^T Z / n and c = Z^T y / n
+        this.scales = new double[p];
+        for (int j = 0; j < p; j++) {
+            double variance = normal.gram[j * p + j] / n;
+            scales[j] = variance > 0 ? Math.sqrt(variance) : 1;
+        }
+        double[][] correlation = new double[p][p];
+        double[] c = new double[p];
+        for (int j = 0; j < p; j++) {
+            for (int k = 0; k < p; k++) {
+                correlation[j][k] = normal.gram[j * p + k] / (n * scales[j] * scales[k]);
+            }
+            c[j] = normal.xty[j] / (n * scales[j]);
+        }
+        this.varianceY = normal.yty / n;
+
+        RealMatrix matrix = new Array2DRowRealMatrix(correlation, false);
+        EigenDecomposition decomposition = new EigenDecomposition(matrix);
+        double[] values = decomposition.getRealEigenvalues();
+        this.eigenvalues = new double[p];
+        this.eigenvectors = new double[p * p];
+        this.projected = new double[p];
+        for (int k = 0; k < p; k++) {
+            eigenvalues[k] = Math.max(values[k], 0); // Rounding can push a zero eigenvalue slightly negative
+            double[] vector = decomposition.getEigenvector(k).toArray();
+            double dot = 0;
+            for (int j = 0; j < p; j++) {
+                eigenvectors[j * p + k] = vector[j];
+                dot += vector[j] * c[j];
+            }
+            projected[k] = dot;
+        }
+    }
+
+    /**
+     * Creates the design of the pure power terms of a multivariate data set.
+     *
+     * @param X           2D array of input features
+     * @param degree      Degree of the polynomial for each feature
+     * @param numFeatures Number of original features
+     * @return            Design with the terms x_i^d, ordered by feature then degree
+     */
+    private static GramMatrixFitter.Design multivariateTerms(double[][] X, int degree, int numFeatures) {
+        if (degree <= 0 || numFeatures <= 0) {
+            throw new IllegalArgumentException("Degree and feature count must be positive, but received "
+                    + degree + " and " + numFeatures);
+        }
+        PolynomialFeatureExpander expander = new PolynomialFeatureExpander(numFeatures, degree);
+        return new GramMatrixFitter.Design() {
+            @Override
+            public int rows() {
+                return X.length;
+            }
+
+            @Override
+            public int terms() {
+                return expander.getNumTerms();
+            }
+
+            @Override
+            public void expand(int row, double[] output, int offset) {
+                expander.expand(X[row], output, offset);
+            }
+        };
+    }
+
+    /**
+     * Creates the design of the pure power terms of a feature matrix, copying each row into a per-thread
+     * scratch array.
+     *
+     * @param X      Matrix of input features
+     * @param degree Degree of the polynomial for each feature
+     * @return       Design with the terms x_i^d, ordered by feature then degree
+     */
+    private static GramMatrixFitter.Design multivariateTerms(FeatureMatrix X, int degree) {
+        if (degree <= 0) {
+            throw new IllegalArgumentException("Degree must be positive, but received " + degree);
+        }
+        PolynomialFeatureExpander expander = new PolynomialFeatureExpander(X.columns(), degree);
+        ThreadLocal<double[]> scratch = ThreadLocal.withInitial(() -> new double[X.columns()]);
+        return new GramMatrixFitter.Design() {
+            @Override
+            public int rows() {
+                return X.rows();
+            }
+
+            @Override
+            public int terms() {
+                return expander.getNumTerms();
+            }
+
+            @Override
+            public void expand(int row, double[] output, int offset) {
+                double[] x = scratch.get();
+                X.copyRow(row, x, 0);
+                expander.expand(x, output, offset);
+            }
+        };
+    }
+
+    /**
+     * Creates the design of the power terms of a univariate data set.
+     *
+     * @param x      Array of x-values
+     * @param degree Degree of the polynomial
+     * @return       Design with the terms x, x^2, ..., x^degree
+     */
+    private static GramMatrixFitter.Design polynomialTerms(double[] x, int degree) {
+        if (degree <= 0) {
+            throw new IllegalArgumentException("Degree must be positive, but received " + degree);
+        }
+        return new GramMatrixFitter.Design() {
+            @Override
+            public int rows() {
+                return x.length;
+            }
+
+            @Override
+            public int terms() {
+                return degree;
+            }
+
+            @Override
+            public void expand(int row, double[] output, int offset) {
+                double power = 1;
+                for (int d = 0; d < degree; d++) {
+                    power *= x[row];
+                    output[offset + d] = power;
+                }
+            }
+        };
+    }
+
+    /**
+     * Computes the mean of every term, summing row ranges in parallel and merging them in order.
+     *
+     * @param terms Design of the terms
+     * @return      Mean of each column
+     */
+    private static double[] termMeans(GramMatrixFitter.Design terms) {
+        int n = terms.rows();
+        int p = terms.terms();
+        int chunks = (n + TASK_ROWS - 1) / TASK_ROWS;
+        double[][] sums = new double[chunks][p];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunks];
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            tasks[c] = ForkJoinTask.adapt(() -> {
+                double[] row = new double[p];
+                for (int i = chunk * TASK_ROWS, end = Math.min(n, i + TASK_ROWS); i < end; i++) {
+                    terms.expand(i, row, 0);
+                    for (int j = 0; j < p; j++) {
+                        sums[chunk][j] += row[j];
+                    }
+                }
+            });
+        }
+        ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        double[] means = new double[p];
+        for (double[] sum : sums) {
+            for (int j = 0; j < p; j++) {
+                means[j] += sum[j];
+            }
+        }
+        for (int j = 0; j < p; j++) {
+            means[j] /= n;
+        }
+        return means;
+    }
+
+    /**
+     * Creates a grid of regularization strengths spaced evenly on a log scale.
+     *
+     * @param min   Smallest lambda, positive
+     * @param max   Largest lambda, at least min
+     * @param count Number of values, at least 2
+     * @return      Lambdas from min to max
+     */
+    public static double[] lambdaGrid(double min, double max, int count) {
+        if (!(min > 0) || max < min || count < 2) {
+            throw new IllegalArgumentException("Need 0 < min <= max and at least 2 values, but received "
+                    + min + ", " + max + " and " + count);
+        }
+        double[] lambdas = new double[count];
+        double logMin = Math.log(min);
+        double step = (Math.log(max) - logMin) / (count - 1);
+        for (int i = 0; i < count; i++) {
+            lambdas[i] = Math.exp(logMin + i * step);
+        }
+        return lambdas;
+    }
+
+    /**
+     * Computes the shrinkage factor 1 / (d + lambda) of one eigen-direction.
+     *
+     * @param k      Index of the eigenvalue
+     * @param lambda Regularization strength
+     * @return       Inverse of the regularized eigenvalue, 0 for a direction without variance
+     */
+    private double inverse(int k, double lambda) {
+        double value = eigenvalues[k] + lambda;
+        // Directions with (almost) no variance are dropped, which makes lambda = 0 a truncated least squares fit
+        return value > MIN_EIGENVALUE * eigenvalues.length ? 1 / value : 0;
+    }
+
+    /**
+     * Checks a regularization strength.
+     *
+     * @param lambda Regularization strength
+     */
+    private static void checkLambda(double lambda) {
+        if (!(lambda >= 0) || Double.isInfinite(lambda)) {
+            throw new IllegalArgumentException("Lambda must be finite and non-negative, but received " + lambda);
+        }
+    }
+
+    /**
+     * Gets the ridge coefficients for one regularization strength, in the original scale of the terms.
+     *
+     * @param lambda Regularization strength, 0 for (truncated) ordinary least squares
+     * @return       Intercept followed by one coefficient per term, ordered by feature then degree
+     */
+    public double[] getCoefficients(double lambda) {
+        checkLambda(lambda);
+        int p = projected.length;
+        double[] weights = new double[p];
+        for (int k = 0; k < p; k++) {
+            weights[k] = projected[k] * inverse(k, lambda);
+        }
+        double[] coefficients = new double[p + 1];
+        double intercept = meanY;
+        for (int j = 0; j < p; j++) {
+            double sum = 0;
+            int offset = j * p;
+            for (int k = 0; k < p; k++) {
+                sum += eigenvectors[offset + k] * weights[k];
+            }
+            double coefficient = sum / scales[j];
+            coefficients[j + 1] = coefficient;
+            intercept -= coefficient * means[j];
+        }
+        coefficients[0] = intercept;
+        return coefficients;
+    }
+
+    /**
+     * Gets the mean squared error of the ridge fit on the data it was computed from.
+     *
+     * @param lambda Regularization strength
+     * @return       Training MSE
+     */
+    public double getTrainingMeanSquaredError(double lambda) {
+        checkLambda(lambda);
+        // |y - Z b|^2 / n = var(y) - sum z_k^2 (d_k + 2 lambda) / (d_k + lambda)^2
+        double explained = 0;
+        for (int k = 0; k < projected.length; k++) {
+            double inverse = inverse(k, lambda);
+            explained += projected[k] * projected[k] * (eigenvalues[k] + 2 * lambda) * inverse * inverse;
+        }
+        return Math.max(varianceY - explained, 0);
+    }
+
+    /**
+     * Gets the effective number of parameters, the trace of the hat matrix including the intercept.
+     *
+     * @param lambda Regularization strength
+     * @return       Degrees of freedom, between 1 and the number of coefficients
+     */
+    public double getEffectiveDegreesOfFreedom(double lambda) {
+        checkLambda(lambda);
+        double trace = 1;
+        for (int k = 0; k < eigenvalues.length; k++) {
+            trace += eigenvalues[k] * inverse(k, lambda);
+        }
+        return trace;
+    }
+
+    /**
+     * Gets the generalized cross-validation score, an estimate of the out-of-sample MSE
+     * computed without refitting: MSE / (1 - df / n)^2.
+     *
+     * @param lambda Regularization strength
+     * @return       GCV score, lower is better
+     */
+    public double getGeneralizedCrossValidation(double lambda) {
+        double remaining = 1 - getEffectiveDegreesOfFreedom(lambda) / rows;
+        return getTrainingMeanSquaredError(lambda) / (remaining * remaining);
+    }
+
+    /**
+     * Picks the regularization strength with the lowest generalized cross-validation score.
+     *
+     * @param lambdas Candidate regularization strengths
+     * @return        Best lambda of the grid
+     */
+    public double selectLambda(double[] lambdas) {
+        if (lambdas.length == 0) {
+            throw new IllegalArgumentException("At least one lambda is needed");
+        }
+        double best = lambdas[0];
+        double bestScore = getGeneralizedCrossValidation(best);
+        for (int i = 1; i < lambdas.length; i++) {
+            double score = getGeneralizedCrossValidation(lambdas[i]);
+            if (score < bestScore) {
+                best = lambdas[i];
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Builds the multivariate polynomial regression model for one regularization strength.
+     *
+     * @param lambda Regularization strength
+     * @return       MultivariatePolynomialRegression with the ridge coefficients
+     */
+    public MultivariatePolynomialRegression toMultivariateRegression(double lambda) {
+        return new MultivariatePolynomialRegression(getCoefficients(lambda), degree, numFeatures);
+    }
+
+    /**
+     * Builds the univariate polynomial regression model for one regularization strength.
+     *
+     * @param lambda Regularization strength
+     * @return       PolynomialRegression with the ridge coefficients
+     */
+    public PolynomialRegression toPolynomialRegression(double lambda) {
+        if (numFeatures != 1) {
+            throw new IllegalStateException("The path was computed for " + numFeatures
+                    + " features; use toMultivariateRegression instead");
+        }
+        return new PolynomialRegression(getCoefficients(lambda), degree);
+    }
+
+    /**
+     * Gets the number of observations the path was computed from.
+     *
+     * @return Observation count
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the degree of the polynomial for each feature.
+     *
+     * @return Polynomial degree
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /**
+     * Gets the number of original features.
+     *
+     * @return Feature count
+     */
+    public int getNumFeatures() {
+        return numFeatures;
+    }
+}
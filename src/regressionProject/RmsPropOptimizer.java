@@ -0,0 +1,52 @@
+package regressionProject;
+
+/**
+ * RmsPropOptimizer - RMSProp adaptive learning rates.
+ * Keeps an exponentially decaying average of squared gradients per parameter and divides each step
+ * by its square root, so parameters with large or noisy gradients take proportionally smaller steps.
+ */
+public class RmsPropOptimizer implements Optimizer {
+    private final double decay;     // Decay rate of the squared-gradient average
+    private final double epsilon;   // Small constant avoiding division by zero
+    private double[][] meanSquare;  // Running average of squared gradients, one flat array per tensor
+
+    /**
+     * Constructor with the usual defaults (decay 0.9, epsilon 1e-8).
+     */
+    public RmsPropOptimizer() {
+        this(0.9, 1e-8);
+    }
+
+    /**
+     * Constructor to create an RMSProp optimizer.
+     *
+     * @param decay   Decay rate of the squared-gradient average in [0, 1)
+     * @param epsilon Small positive constant added to the denominator
+     */
+    public RmsPropOptimizer(double decay, double epsilon) {
+        if (decay < 0 || decay >= 1) {
+            throw new IllegalArgumentException("Decay must be in [0, 1), but received " + decay);
+        }
+        this.decay = decay;
+        this.epsilon = epsilon;
+    }
+
+    @Override
+    public void initialize(int[] tensorSizes) {
+        meanSquare = new double[tensorSizes.length][];
+        for (int i = 0; i < tensorSizes.length; i++) {
+            meanSquare[i] = new double[tensorSizes[i]];
+        }
+    }
+
+    @Override
+    public void update(int tensor, double[] params, double[] gradients, int from, int to,
+                       double gradientScale, double learningRate) {
+        double[] s = meanSquare[tensor];
+        for (int j = from; j < to; j++) {
+            double g = gradients[j] * gradientScale;
+            s[j] = decay * s[j] + (1 - decay) * g * g;
+            params[j] -= learningRate * g / (Math.sqrt(s[j]) + epsilon);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package regressionProject;
+
+/**
+ * ScalarKernels - Portable DenseKernels implementation using plain Java loops.
+ * The matrix products delegate to the cache-blocked routines in {@link MatrixOps}.
+ */
+public final class ScalarKernels implements DenseKernels {
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    private ScalarKernels() {
+        // Stateless, use DenseKernels.scalar()
+    }
+
+    @Override
+    public void multiplyAdd(double[] a, double[] b, double[] c, int m, int k, int n) {
+        MatrixOps.multiplyAdd(a, b, c, m, k, n);
+    }
+
+    @Override
+    public void multiplyTransposedB(double[] a, double[] b, double[] c, int m, int k, int n) {
+        MatrixOps.multiplyTransposedB(a, b, c, m, k, n);
+    }
+
+    @Override
+    public void multiplyTransposedAAdd(double[] a, double[] b, double[] c, int k, int m, int n) {
+        MatrixOps.multiplyTransposedAAdd(a, b, c, k, m, n);
+    }
+
+    @Override
+    public double dot(double[] a, int aStart, double[] b, int bStart, int length) {
+        return MatrixOps.dot(a, aStart, b, bStart, length);
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, int xStart, double[] y, int yStart, int length) {
+        for (int j = 0; j < length; j++) {
+            y[yStart + j] += alpha * x[xStart + j];
+        }
+    }
+
+    @Override
+    public void activate(ActivationFunctions activation, double[] values, int length) {
+        activation.activate(values, 0, length);
+    }
+
+    @Override
+    public void multiplyDerivative(ActivationFunctions activation, double[] values, double[] deltas, int length) {
+        activation.gradientFromOutput(values, deltas, 0, length);
+    }
+
+    @Override
+    public String toString() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,25 @@
+package regressionProject;
+
+/**
+ * SgdOptimizer - Plain stochastic gradient descent: parameter -= learningRate * gradient.
+ * Keeps no per-parameter state; the update is one axpy on the network's dense kernels.
+ */
+public class SgdOptimizer implements Optimizer {
+    private DenseKernels kernels = DenseKernels.scalar(); // Backend running the updates
+
+    @Override
+    public void initialize(int[] tensorSizes) {
+        // No state to allocate
+    }
+
+    @Override
+    public void initialize(int[] tensorSizes, DenseKernels kernels) {
+        this.kernels = kernels;
+    }
+
+    @Override
+    public void update(int tensor, double[] params, double[] gradients, int from, int to,
+                       double gradientScale, double learningRate) {
+        kernels.axpy(-learningRate * gradientScale, gradients, from, params, from, to - from);
+    }
+}
@@ -0,0 +1,521 @@
+package regressionProject;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * StreamingCsvLoader - Reads a CSV file of any size in bounded chunks, for data that does not fit in memory.
+ *
+ * A background thread reads the file through a {@link FileChannel} into a fixed byte buffer, and converts the
+ * timestamp, target and feature fields of every line straight from bytes into the primitive arrays of a
+ * {@link Chunk}: timestamps with {@link DateConverter#dateToIntervals(byte[], int, int)} and numbers with an
+ * exact fast path for plain decimals. Two chunks are used in turn, so while the consumer works on one chunk
+ * (for example updating a streaming regression or training a network), the reader fills the next. Memory use
+ * is two chunks plus the read buffer, whatever the size of the file.
+ *
+ * The rows of a chunk have the same layout as {@link DataLoader#getFeatureValues}: the interval number
+ * followed by the additional feature columns. A feature column named "intervals_since_start" refers to the
+ * interval number itself. Fields may be enclosed in double quotes; empty numeric fields become NaN.
+ */
+public class StreamingCsvLoader {
+    private static final Chunk END_OF_FILE = new Chunk(0, 0);  // Marks that every chunk has been read
+    private static final String INTERVAL_COLUMN = "intervals_since_start"; // Feature that is the interval itself
+    private static final int READ_BUFFER_BYTES = 1 << 20;      // Initial size of the read buffer
+    private static final int MAX_FAST_DIGITS = 15;             // Significant digits that always fit in 2^53
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    }; // Every power of ten that is exact in a double
+
+    private final Path path;                  // CSV file to read
+    private final String dateColumn;          // Column name for timestamps
+    private final String targetColumn;        // Column name for the target variable
+    private final List<String> featureColumns; // Additional feature column names
+    private final DateConverter dateConverter; // Converts timestamps to interval numbers
+    private final int chunkRows;              // Maximum number of rows per chunk
+
+    /**
+     * Constructor to configure a streaming loader.
+     *
+     * @param path           CSV file with a header line
+     * @param dateColumn     Column name for timestamp data
+     * @param targetColumn   Column name for the target variable
+     * @param featureColumns List of additional feature column names
+     * @param dateConverter  DateConverter instance for handling date transformations
+     * @param chunkRows      Maximum number of rows per chunk
+     */
+    public StreamingCsvLoader(Path path, String dateColumn, String targetColumn, List<String> featureColumns,
+                              DateConverter dateConverter, int chunkRows) {
+        if (chunkRows <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive, but received " + chunkRows);
+        }
+        this.path = path;
+        this.dateColumn = dateColumn;
+        this.targetColumn = targetColumn;
+        this.featureColumns = featureColumns;
+        this.dateConverter = dateConverter;
+        this.chunkRows = chunkRows;
+    }
+
+    /**
+     * Reads the whole file and hands every chunk to the consumer, in file order, on the calling thread.
+     * A chunk is reused once the consumer returns, so the consumer must copy anything it wants to keep.
+     *
+     * @param consumer Receives each chunk of rows
+     * @return         Total number of rows read
+     * @throws IOException If the file cannot be read or a field cannot be parsed
+     */
+    public long load(Consumer<Chunk> consumer) throws IOException {
+        int numFeatures = featureColumns.size() + 1;
+        BlockingQueue<Chunk> free = new ArrayBlockingQueue<>(2);
+        BlockingQueue<Chunk> ready = new ArrayBlockingQueue<>(3);
+        free.add(new Chunk(chunkRows, numFeatures));
+        free.add(new Chunk(chunkRows, numFeatures));
+        Throwable[] failure = new Throwable[1];
+
+        ExecutorService reader = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "csv-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reader.execute(() -> {
+            try {
+                read(free, ready);
+                ready.put(END_OF_FILE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Consumer gave up
+            } catch (Throwable e) {
+                // Includes errors such as running out of memory on a huge line; the consumer must never wait forever
+                failure[0] = e;
+                ready.offer(END_OF_FILE); // Always room: the queue holds both chunks plus the marker
+            }
+        });
+
+        long rows = 0;
+        try {
+            for (Chunk chunk = ready.take(); chunk != END_OF_FILE; chunk = ready.take()) {
+                consumer.accept(chunk);
+                rows += chunk.rows;
+                free.add(chunk);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while streaming " + path);
+        } finally {
+            reader.shutdownNow();
+        }
+        // The queue hand-off orders the reader's write of the failure before this read
+        if (failure[0] instanceof IOException) {
+            throw (IOException) failure[0];
+        }
+        if (failure[0] instanceof Error) {
+            throw (Error) failure[0];
+        }
+        if (failure[0] != null) {
+            throw new IllegalStateException("Failed to read " + path, failure[0]);
+        }
+        return rows;
+    }
+
+    /**
+     * Reads the file on the background thread, filling free chunks and queueing them for the consumer.
+     *
+     * @param free  Chunks ready to be filled
+     * @param ready Filled chunks waiting to be consumed
+     * @throws IOException          If the file cannot be read or a field cannot be parsed
+     * @throws InterruptedException If the consumer stopped waiting
+     */
+    private void read(BlockingQueue<Chunk> free, BlockingQueue<Chunk> ready) throws IOException, InterruptedException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            LineReader lines = new LineReader(channel);
+            if (!lines.next()) {
+                throw new IOException("File " + path + " is empty.");
+            }
+            String[] header = splitHeader(lines);
+            int dateIndex = indexOf(header, dateColumn);
+            int targetIndex = indexOf(header, targetColumn);
+            int[] featureIndex = new int[featureColumns.size()];
+            boolean[] numeric = new boolean[header.length];
+            numeric[targetIndex] = true;
+            for (int j = 0; j < featureIndex.length; j++) {
+                String name = featureColumns.get(j);
+                featureIndex[j] = INTERVAL_COLUMN.equals(name) && !Arrays.asList(header).contains(name)
+                        ? -1 : indexOf(header, name);
+                if (featureIndex[j] >= 0) {
+                    numeric[featureIndex[j]] = true;
+                }
+            }
+            int lastIndex = dateIndex;
+            for (int i = 0; i < numeric.length; i++) {
+                if (numeric[i]) {
+                    lastIndex = Math.max(lastIndex, i);
+                }
+            }
+
+            double[] values = new double[header.length];
+            Chunk chunk = free.take();
+            chunk.rows = 0;
+            chunk.firstRow = 0;
+            long row = 0;
+            while (lines.next()) {
+                if (lines.start == lines.end) {
+                    continue; // Blank line
+                }
+                long interval = 0;
+                byte[] bytes = lines.bytes;
+                int column = 0;
+                int i = lines.start;
+                while (true) {
+                    int fieldStart = i;
+                    int fieldEnd;
+                    if (i < lines.end && bytes[i] == '"') {
+                        fieldStart = i + 1;
+                        fieldEnd = fieldStart;
+                        while (fieldEnd < lines.end && bytes[fieldEnd] != '"') {
+                            fieldEnd++;
+                        }
+                        i = fieldEnd;
+                        while (i < lines.end && bytes[i] != ',') {
+                            i++;
+                        }
+                    } else {
+                        while (i < lines.end && bytes[i] != ',') {
+                            i++;
+                        }
+                        fieldEnd = i;
+                    }
+
+                    if (column == dateIndex) {
+                        interval = parseInterval(bytes, fieldStart, fieldEnd, lines.lineNumber);
+                    } else if (column < numeric.length && numeric[column]) {
+                        values[column] = parseNumber(bytes, fieldStart, fieldEnd, lines.lineNumber);
+                    }
+                    column++;
+                    if (i >= lines.end || column > lastIndex) {
+                        break;
+                    }
+                    i++; // Skip the comma
+                }
+                if (column <= lastIndex) {
+                    throw new IOException("Line " + lines.lineNumber + " of " + path + " has only " + column
+                            + " fields, expected at least " + (lastIndex + 1));
+                }
+
+                int r = chunk.rows;
+                int offset = r * chunk.numFeatures;
+                chunk.intervals[r] = interval;
+                chunk.targets[r] = values[targetIndex];
+                chunk.features[offset] = interval;
+                for (int j = 0; j < featureIndex.length; j++) {
+                    chunk.features[offset + j + 1] = featureIndex[j] < 0 ? interval : values[featureIndex[j]];
+                }
+                row++;
+                if (++chunk.rows == chunkRows) {
+                    ready.put(chunk);
+                    chunk = free.take();
+                    chunk.rows = 0;
+                    chunk.firstRow = row;
+                }
+            }
+            if (chunk.rows > 0) {
+                ready.put(chunk);
+            }
+        }
+    }
+
+    /**
+     * Splits the header line into column names, removing quotes, surrounding spaces and a byte order mark.
+     *
+     * @param lines Reader positioned on the header line
+     * @return      Column names in file order
+     */
+    private static String[] splitHeader(LineReader lines) {
+        String text = new String(lines.bytes, lines.start, lines.end - lines.start, StandardCharsets.UTF_8);
+        if (text.startsWith("\uFEFF")) {
+            text = text.substring(1);
+        }
+        String[] names = text.split(",", -1);
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i].trim();
+            if (name.length() >= 2 && name.startsWith("\"") && name.endsWith("\"")) {
+                name = name.substring(1, name.length() - 1);
+            }
+            names[i] = name;
+        }
+        return names;
+    }
+
+    /**
+     * Finds a column in the header.
+     *
+     * @param header Column names
+     * @param name   Column to find
+     * @return       Index of the column
+     * @throws IOException If the column is missing
+     */
+    private int indexOf(String[] header, String name) throws IOException {
+        for (int i = 0; i < header.length; i++) {
+            if (header[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IOException("Column " + name + " is not found in the CSV file " + path);
+    }
+
+    /**
+     * Converts a timestamp field to its interval number.
+     *
+     * @param bytes      Line buffer
+     * @param from       Index of the first byte of the field
+     * @param to         Index after the last byte of the field
+     * @param lineNumber Line number for error messages
+     * @return           Interval number
+     * @throws IOException If the timestamp cannot be parsed
+     */
+    private long parseInterval(byte[] bytes, int from, int to, long lineNumber) throws IOException {
+        while (from < to && bytes[from] == ' ') {
+            from++;
+        }
+        while (to > from && bytes[to - 1] == ' ') {
+            to--;
+        }
+        try {
+            return dateConverter.dateToIntervals(bytes, from, to - from);
+        } catch (DateTimeParseException e) {
+            throw new IOException("Invalid timestamp on line " + lineNumber + " of " + path + ": "
+                    + new String(bytes, from, to - from, StandardCharsets.ISO_8859_1), e);
+        }
+    }
+
+    /**
+     * Parses a numeric field. Plain decimals with at most 15 significant digits and 22 decimals are converted
+     * exactly as one division of two exact doubles; anything else goes through {@link Double#parseDouble}.
+     *
+     * @param bytes      Line buffer
+     * @param from       Index of the first byte of the field
+     * @param to         Index after the last byte of the field
+     * @param lineNumber Line number for error messages
+     * @return           Parsed value, NaN for an empty field
+     * @throws IOException If the field is not a number
+     */
+    private double parseNumber(byte[] bytes, int from, int to, long lineNumber) throws IOException {
+        while (from < to && bytes[from] == ' ') {
+            from++;
+        }
+        while (to > from && bytes[to - 1] == ' ') {
+            to--;
+        }
+        if (from == to) {
+            return Double.NaN;
+        }
+
+        int i = from;
+        boolean negative = bytes[i] == '-';
+        if (negative || bytes[i] == '+') {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;      // Significant digits in the mantissa
+        int decimals = -1;   // Digits after the point, -1 before the point
+        boolean plain = false; // Whether the field is digits with at most one point, and at least one digit
+        for (; i < to; i++) {
+            int digit = bytes[i] - '0';
+            if (digit >= 0 && digit <= 9) {
+                plain = true;
+                if (mantissa != 0 || digit != 0) {
+                    digits++;
+                }
+                mantissa = mantissa * 10 + digit;
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else if (bytes[i] == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                break; // Exponent, thousands separator or text
+            }
+        }
+        if (plain && i == to && digits <= MAX_FAST_DIGITS && decimals < POWERS_OF_TEN.length) {
+            double value = decimals > 0 ? mantissa / POWERS_OF_TEN[decimals] : mantissa;
+            return negative ? -value : value;
+        }
+
+        String text = new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid number on line " + lineNumber + " of " + path + ": " + text, e);
+        }
+    }
+
+    /**
+     * LineReader - Splits the bytes of a channel into lines, refilling a reusable buffer as it goes.
+     * The buffer only grows if a single line is longer than it.
+     */
+    private static final class LineReader {
+        private final FileChannel channel;
+        private byte[] bytes = new byte[READ_BUFFER_BYTES];
+        private int position;    // Start of the unread bytes
+        private int limit;       // End of the valid bytes
+        private boolean endOfFile;
+        private int start;       // Start of the current line
+        private int end;         // End of the current line, excluding the line break
+        private long lineNumber; // Number of the current line, from 1
+
+        LineReader(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Advances to the next line.
+         *
+         * @return True if there is a line, false at the end of the file
+         * @throws IOException If the channel cannot be read
+         */
+        boolean next() throws IOException {
+            int scan = position;
+            while (true) {
+                for (int i = scan; i < limit; i++) {
+                    if (bytes[i] == '\n') {
+                        setLine(position, i);
+                        position = i + 1;
+                        return true;
+                    }
+                }
+                if (endOfFile) {
+                    if (position < limit) {
+                        setLine(position, limit);
+                        position = limit;
+                        return true;
+                    }
+                    return false;
+                }
+
+                // Keep the partial line at the front of the buffer and read more behind it
+                int remaining = limit - position;
+                if (remaining == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                } else {
+                    System.arraycopy(bytes, position, bytes, 0, remaining);
+                }
+                position = 0;
+                limit = remaining;
+                scan = remaining;
+                int read = channel.read(ByteBuffer.wrap(bytes, limit, bytes.length - limit));
+                if (read < 0) {
+                    endOfFile = true;
+                } else {
+                    limit += read;
+                }
+            }
+        }
+
+        /**
+         * Marks a line, dropping the carriage return of a CRLF line break.
+         *
+         * @param from Index of the first byte
+         * @param to   Index of the line break or end of data
+         */
+        private void setLine(int from, int to) {
+            start = from;
+            end = to > from && bytes[to - 1] == '\r' ? to - 1 : to;
+            lineNumber++;
+        }
+    }
+
+    /**
+     * Chunk - Reusable primitive buffers holding a block of consecutive rows of the file.
+     */
+    public static final class Chunk {
+        private final long[] intervals;  // Interval number per row
+        private final double[] targets;  // Target value per row
+        private final double[] features; // Features per row, [row][feature] row-major
+        private final int numFeatures;   // Features per row, including the interval number
+        private int rows;                // Number of valid rows
+        private long firstRow;           // Index of the first row within the file, not counting the header
+
+        private Chunk(int capacity, int numFeatures) {
+            this.intervals = new long[capacity];
+            this.targets = new double[capacity];
+            this.features = new double[capacity * numFeatures];
+            this.numFeatures = numFeatures;
+        }
+
+        /**
+         * Gets the interval numbers; only the first {@link #getRows()} values are valid.
+         *
+         * @return Interval number per row
+         */
+        public long[] getIntervals() {
+            return intervals;
+        }
+
+        /**
+         * Gets the target values; only the first {@link #getRows()} values are valid.
+         *
+         * @return Target value per row
+         */
+        public double[] getTargets() {
+            return targets;
+        }
+
+        /**
+         * Gets the feature buffer; only the first {@link #getRows()} rows are valid.
+         *
+         * @return Row-major features, the interval number followed by the additional feature columns
+         */
+        public double[] getFeatures() {
+            return features;
+        }
+
+        /**
+         * Copies the features of one row, for example to pass to a model's predict or update method.
+         *
+         * @param row    Row within the chunk
+         * @param output Array receiving {@link #getNumFeatures()} values
+         */
+        public void copyFeatures(int row, double[] output) {
+            System.arraycopy(features, row * numFeatures, output, 0, numFeatures);
+        }
+
+        /**
+         * Gets the number of features per row.
+         *
+         * @return Feature count, including the interval number
+         */
+        public int getNumFeatures() {
+            return numFeatures;
+        }
+
+        /**
+         * Gets the number of rows in this chunk.
+         *
+         * @return Number of valid rows
+         */
+        public int getRows() {
+            return rows;
+        }
+
+        /**
+         * Gets the position of this chunk within the file.
+         *
+         * @return Index of the first row, counting data rows from 0
+         */
+        public long getFirstRow() {
+            return firstRow;
+        }
+    }
+}
@@ -0,0 +1,495 @@
+package regressionProject;
+
+import tech.tablesaw.api.Table;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * TrainingFarm - Fits one multivariate polynomial regression per symbol for every CSV file in a directory.
+ *
+ * Each file passes through three stages: it is loaded on a pool of I/O threads, its polynomial degree is
+ * chosen by walk-forward validation and the model fitted on a fixed pool of fit threads, and the model is
+ * written back on the I/O pool. Files move through the stages independently, so reading one symbol overlaps
+ * with fitting others.
+ *
+ * A semaphore limits how many symbols are between the start of their load and the end of their write.
+ * Discovery blocks once the limit is reached, so at most that many data sets are held in memory however
+ * many files the directory contains. A file that cannot be loaded or fitted is reported in the summary and
+ * does not stop the other symbols.
+ *
+ * Defaults: degrees 1 to 4, 5 folds, 4 I/O threads, one fit thread per processor and twice as many
+ * symbols in flight as fit threads. Setters return this object so settings can be chained.
+ */
+public final class TrainingFarm {
+    private static final String INPUT_SUFFIX = ".csv";   // Extension of the data files to train on
+    private static final String MODEL_SUFFIX = ".model"; // Extension of the written models
+    private static final String SUMMARY_FILE = "summary.csv"; // Name of the summary in the output directory
+
+    private final String dateColumn;           // Column name for timestamps
+    private final String targetColumn;         // Column name for the target variable
+    private final List<String> featureColumns; // Additional feature columns
+    private final DateConverter dateConverter; // Converts the timestamps of every file to intervals
+    private int minDegree = 1;                 // Smallest polynomial degree to try
+    private int maxDegree = 4;                 // Largest polynomial degree to try
+    private int folds = 5;                     // Number of walk-forward validation folds
+    private int ioThreads = 4;                 // Threads that load data and write models
+    private int fitThreads = Runtime.getRuntime().availableProcessors(); // Threads that fit models
+    private int maxInFlight;                   // Symbols in progress at the same time, or 0 for twice the fit threads
+
+    /**
+     * Constructor with the column layout shared by all data files, as for {@link DataLoader}.
+     *
+     * @param dateColumn     Column name for timestamp data
+     * @param targetColumn   Column name for the target variable
+     * @param featureColumns List of additional feature column names
+     * @param dateConverter  DateConverter instance for handling date transformations
+     */
+    public TrainingFarm(String dateColumn, String targetColumn, List<String> featureColumns, DateConverter dateConverter) {
+        this.dateColumn = dateColumn;
+        this.targetColumn = targetColumn;
+        this.featureColumns = featureColumns;
+        this.dateConverter = dateConverter;
+    }
+
+    /**
+     * Sets the range of polynomial degrees the walk-forward validation chooses from.
+     *
+     * @param minDegree Smallest degree to try (at least 1)
+     * @param maxDegree Largest degree to try
+     * @return          This farm
+     */
+    public TrainingFarm setDegrees(int minDegree, int maxDegree) {
+        if (minDegree < 1 || maxDegree < minDegree) {
+            throw new IllegalArgumentException("Degrees must satisfy 1 <= min <= max, but received "
+                    + minDegree + " and " + maxDegree);
+        }
+        this.minDegree = minDegree;
+        this.maxDegree = maxDegree;
+        return this;
+    }
+
+    /**
+     * Sets the number of walk-forward validation folds.
+     *
+     * @param folds Number of folds
+     * @return      This farm
+     */
+    public TrainingFarm setFolds(int folds) {
+        if (folds <= 0) {
+            throw new IllegalArgumentException("Fold count must be positive, but received " + folds);
+        }
+        this.folds = folds;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads that load data files and write models.
+     *
+     * @param ioThreads Number of I/O threads
+     * @return          This farm
+     */
+    public TrainingFarm setIoThreads(int ioThreads) {
+        if (ioThreads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive, but received " + ioThreads);
+        }
+        this.ioThreads = ioThreads;
+        return this;
+    }
+
+    /**
+     * Sets the number of symbols fitted at the same time. Each fit spreads its passes over the data across
+     * the common fork-join pool, so this bounds the fits competing for it rather than the cores used.
+     *
+     * @param fitThreads Number of fit threads
+     * @return           This farm
+     */
+    public TrainingFarm setFitThreads(int fitThreads) {
+        if (fitThreads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive, but received " + fitThreads);
+        }
+        this.fitThreads = fitThreads;
+        return this;
+    }
+
+    /**
+     * Sets the number of symbols that may be loaded, fitted or written at the same time, which bounds the
+     * number of data sets in memory.
+     *
+     * @param maxInFlight Maximum number of symbols in progress
+     * @return            This farm
+     */
+    public TrainingFarm setMaxInFlight(int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("In-flight limit must be positive, but received " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    /**
+     * Trains a model for every CSV file in a directory and writes each model as {@code <symbol>.model},
+     * plus a {@code summary.csv} with one line per symbol, to the output directory.
+     *
+     * @param inputDirectory  Directory containing one {@code <symbol>.csv} file per symbol
+     * @param outputDirectory Directory receiving the models and the summary, created if missing
+     * @return                Result of every symbol, in file name order
+     * @throws IOException          If the directories cannot be listed or created, or the summary cannot be written
+     * @throws InterruptedException If the calling thread is interrupted while waiting for capacity
+     */
+    public List<Result> run(Path inputDirectory, Path outputDirectory) throws IOException, InterruptedException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(inputDirectory)) {
+            files = listing.filter(file -> Files.isRegularFile(file) && file.getFileName().toString().endsWith(INPUT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        Files.createDirectories(outputDirectory);
+
+        ExecutorService ioPool = Executors.newFixedThreadPool(ioThreads, threadFactory("farm-io"));
+        ExecutorService fitPool = Executors.newFixedThreadPool(fitThreads, threadFactory("farm-fit"));
+        Semaphore inFlight = new Semaphore(maxInFlight > 0 ? maxInFlight : 2 * fitThreads);
+        List<CompletableFuture<Result>> futures = new ArrayList<>(files.size());
+        try {
+            for (Path file : files) {
+                inFlight.acquire(); // Backpressure: wait until a symbol in progress has been written
+                String symbol = symbolOf(file);
+                futures.add(CompletableFuture
+                        .supplyAsync(() -> load(symbol, file), ioPool)
+                        .thenApplyAsync(this::fit, fitPool)
+                        .thenApplyAsync(job -> write(job, outputDirectory), ioPool)
+                        .exceptionally(failure -> Result.failed(symbol, rootCause(failure)))
+                        .whenComplete((result, failure) -> inFlight.release()));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            ioPool.shutdownNow();
+            fitPool.shutdownNow();
+        }
+
+        List<Result> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<Result> future : futures) {
+            results.add(future.join());
+        }
+        writeSummary(outputDirectory.resolve(SUMMARY_FILE), results);
+        return results;
+    }
+
+    /**
+     * Creates a factory for named daemon threads, so an abandoned run never keeps the JVM alive.
+     *
+     * @param prefix Thread name prefix
+     * @return       Thread factory numbering its threads from 1
+     */
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Derives the symbol from a data file name by removing the extension.
+     *
+     * @param file Data file
+     * @return     Symbol name
+     */
+    private static String symbolOf(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.length() - INPUT_SUFFIX.length());
+    }
+
+    /**
+     * Finds the exception that actually failed a stage, skipping the wrappers added by the futures and
+     * the lambdas.
+     *
+     * @param failure Exception reported by the future chain
+     * @return        The underlying exception
+     */
+    private static Throwable rootCause(Throwable failure) {
+        while ((failure instanceof CompletionException || failure instanceof UncheckedIOException)
+                && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        return failure;
+    }
+
+    /**
+     * Loads one data file into a feature matrix and target column (I/O stage).
+     *
+     * @param symbol Symbol name
+     * @param file   Data file
+     * @return       Job holding the loaded data
+     */
+    private Job load(String symbol, Path file) {
+        long start = System.nanoTime();
+        DataLoader loader = new DataLoader(file.toString(), dateColumn, targetColumn, featureColumns, dateConverter);
+        Job job = new Job(symbol);
+        try {
+            Table table = loader.loadData();
+            job.features = loader.getFeatureMatrix(table);
+            job.targets = loader.getTargetValues(table);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        job.loadNanos = System.nanoTime() - start;
+        return job;
+    }
+
+    /**
+     * Chooses the degree, fits the model on all rows and measures its training error (fit stage).
+     *
+     * @param job Job holding the loaded data
+     * @return    The same job, holding the fitted model
+     */
+    private Job fit(Job job) {
+        long start = System.nanoTime();
+        DegreeSearchResult search = WalkForwardValidation.searchMultivariateDegree(job.features, job.targets,
+                minDegree, maxDegree, folds);
+        job.degree = search.getBestDegree();
+        job.validationMeanSquaredError = search.getMeanSquaredError(job.degree);
+        job.model = GramMatrixFitter.fitMultivariate(job.features, job.targets, job.degree);
+
+        double[] predictions = new double[job.targets.length];
+        job.model.predict(job.features, predictions);
+        job.training.add(job.targets, predictions);
+        job.fitNanos = System.nanoTime() - start;
+        return job;
+    }
+
+    /**
+     * Writes the fitted model of a job (I/O stage).
+     *
+     * @param job             Job holding the fitted model
+     * @param outputDirectory Directory receiving the model
+     * @return                Result of the symbol
+     */
+    private Result write(Job job, Path outputDirectory) {
+        try {
+            ModelIO.save(job.model, outputDirectory.resolve(job.symbol + MODEL_SUFFIX));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Result(job.symbol, job.targets.length, job.degree, Math.sqrt(job.validationMeanSquaredError),
+                job.training.getRootMeanSquaredError(), job.training.getMeanAbsoluteError(),
+                job.loadNanos / 1_000_000, job.fitNanos / 1_000_000, null);
+    }
+
+    /**
+     * Writes one CSV line per symbol with its status, degree, errors and timings.
+     *
+     * @param path    Summary file, replaced if it exists
+     * @param results Results of every symbol
+     * @throws IOException If the file cannot be written
+     */
+    private static void writeSummary(Path path, List<Result> results) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            writer.write("symbol,status,rows,degree,validation_rmse,training_rmse,training_mae,load_ms,fit_ms,error");
+            writer.newLine();
+            for (Result result : results) {
+                String error = result.error == null ? "" : quote(result.error);
+                writer.write(String.format(Locale.ROOT, "%s,%s,%d,%d,%.6g,%.6g,%.6g,%d,%d,%s", quote(result.symbol),
+                        result.isSuccessful() ? "ok" : "failed", result.rows, result.degree, result.validationRmse,
+                        result.trainingRmse, result.trainingMae, result.loadMillis, result.fitMillis, error));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Quotes a text field for the summary, doubling embedded quotes, so commas, quotes and line breaks in
+     * file names and messages cannot shift the columns.
+     *
+     * @param field Text to write
+     * @return      Quoted CSV field
+     */
+    private static String quote(String field) {
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Job - State of one symbol as it moves through the stages. Each stage runs after the previous one has
+     * completed, so the fields need no further synchronization.
+     */
+    private static final class Job {
+        final String symbol;                         // Symbol name
+        final ErrorStatistics training = new ErrorStatistics(); // In-sample errors of the fitted model
+        FeatureMatrix features;                      // Loaded input features
+        double[] targets;                            // Loaded target values
+        long loadNanos;                              // Time spent loading
+        long fitNanos;                               // Time spent choosing the degree and fitting
+        int degree;                                  // Chosen polynomial degree
+        double validationMeanSquaredError;           // Pooled walk-forward error of the chosen degree
+        MultivariatePolynomialRegression model;      // Fitted model
+
+        /**
+         * Constructor for a symbol that has not been loaded yet.
+         *
+         * @param symbol Symbol name
+         */
+        Job(String symbol) {
+            this.symbol = symbol;
+        }
+    }
+
+    /**
+     * Result - Outcome of one symbol: its fit statistics, or the reason it failed.
+     */
+    public static final class Result {
+        private final String symbol;         // Symbol name
+        private final int rows;              // Number of rows trained on
+        private final int degree;            // Chosen polynomial degree
+        private final double validationRmse; // Walk-forward root mean squared error of the chosen degree
+        private final double trainingRmse;   // In-sample root mean squared error
+        private final double trainingMae;    // In-sample mean absolute error
+        private final long loadMillis;       // Time spent loading
+        private final long fitMillis;        // Time spent choosing the degree and fitting
+        private final String error;          // Failure description, or null on success
+
+        /**
+         * Constructor used by the farm.
+         *
+         * @param symbol         Symbol name
+         * @param rows           Number of rows trained on
+         * @param degree         Chosen polynomial degree
+         * @param validationRmse Walk-forward root mean squared error of the chosen degree
+         * @param trainingRmse   In-sample root mean squared error
+         * @param trainingMae    In-sample mean absolute error
+         * @param loadMillis     Time spent loading
+         * @param fitMillis      Time spent choosing the degree and fitting
+         * @param error          Failure description, or null on success
+         */
+        Result(String symbol, int rows, int degree, double validationRmse, double trainingRmse, double trainingMae,
+               long loadMillis, long fitMillis, String error) {
+            this.symbol = symbol;
+            this.rows = rows;
+            this.degree = degree;
+            this.validationRmse = validationRmse;
+            this.trainingRmse = trainingRmse;
+            this.trainingMae = trainingMae;
+            this.loadMillis = loadMillis;
+            this.fitMillis = fitMillis;
+            this.error = error;
+        }
+
+        /**
+         * Creates the result of a symbol that could not be loaded, fitted or written.
+         *
+         * @param symbol  Symbol name
+         * @param failure Exception that stopped the symbol
+         * @return        Failed result
+         */
+        static Result failed(String symbol, Throwable failure) {
+            String message = failure.getMessage() == null ? failure.getClass().getSimpleName()
+                    : failure.getClass().getSimpleName() + ": " + failure.getMessage();
+            return new Result(symbol, 0, 0, Double.NaN, Double.NaN, Double.NaN, 0, 0, message);
+        }
+
+        /**
+         * Gets the symbol name.
+         *
+         * @return Symbol derived from the data file name
+         */
+        public String getSymbol() {
+            return symbol;
+        }
+
+        /**
+         * Checks whether a model was written for the symbol.
+         *
+         * @return True on success
+         */
+        public boolean isSuccessful() {
+            return error == null;
+        }
+
+        /**
+         * Gets the failure description.
+         *
+         * @return Exception type and message, or null on success
+         */
+        public String getError() {
+            return error;
+        }
+
+        /**
+         * Gets the number of rows the model was trained on.
+         *
+         * @return Row count
+         */
+        public int getRows() {
+            return rows;
+        }
+
+        /**
+         * Gets the polynomial degree chosen by walk-forward validation.
+         *
+         * @return Degree
+         */
+        public int getDegree() {
+            return degree;
+        }
+
+        /**
+         * Gets the pooled walk-forward validation error of the chosen degree.
+         *
+         * @return Root mean squared error, or NaN on failure
+         */
+        public double getValidationRootMeanSquaredError() {
+            return validationRmse;
+        }
+
+        /**
+         * Gets the in-sample error of the final model.
+         *
+         * @return Root mean squared error, or NaN on failure
+         */
+        public double getTrainingRootMeanSquaredError() {
+            return trainingRmse;
+        }
+
+        /**
+         * Gets the in-sample mean absolute error of the final model.
+         *
+         * @return Mean absolute error, or NaN on failure
+         */
+        public double getTrainingMeanAbsoluteError() {
+            return trainingMae;
+        }
+
+        /**
+         * Gets the time spent loading the data file.
+         *
+         * @return Milliseconds
+         */
+        public long getLoadMillis() {
+            return loadMillis;
+        }
+
+        /**
+         * Gets the time spent choosing the degree and fitting the model.
+         *
+         * @return Milliseconds
+         */
+        public long getFitMillis() {
+            return fitMillis;
+        }
+    }
+}
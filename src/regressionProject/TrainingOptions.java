@@ -0,0 +1,208 @@
+package regressionProject;
+
+/**
+ * TrainingOptions - Settings for {@link NeuralNetwork#train(double[][], double[][], TrainingOptions)}.
+ * Defaults reproduce plain mini-batch gradient descent: batch size 32, one thread, SGD, a constant
+ * learning rate, samples visited in their original order and no early stopping. Setters return this
+ * object so options can be chained.
+ */
+public class TrainingOptions {
+    private int epochs = 1000;                    // Maximum number of training epochs
+    private double learningRate = 0.001;         // Base learning rate
+    private int batchSize = 32;                   // Number of samples per weight update
+    private int threads = 1;                      // Number of worker threads
+    private Optimizer optimizer = new SgdOptimizer(); // Update rule
+    private LearningRateSchedule schedule = LearningRateSchedule.constant(); // Learning rate per epoch
+    private EarlyStopping earlyStopping;          // Validation-based stopping, or null to always run all epochs
+    private boolean shuffle;                      // Whether to reshuffle the sample order every epoch
+    private long seed;                            // Seed for the shuffles
+
+    /**
+     * Sets the maximum number of training epochs.
+     *
+     * @param epochs Maximum number of epochs
+     * @return       This options object
+     */
+    public TrainingOptions setEpochs(int epochs) {
+        if (epochs <= 0) {
+            throw new IllegalArgumentException("Epochs must be positive, but received " + epochs);
+        }
+        this.epochs = epochs;
+        return this;
+    }
+
+    /**
+     * Sets the base learning rate passed to the schedule.
+     *
+     * @param learningRate Base learning rate
+     * @return             This options object
+     */
+    public TrainingOptions setLearningRate(double learningRate) {
+        this.learningRate = learningRate;
+        return this;
+    }
+
+    /**
+     * Sets the number of samples per weight update.
+     *
+     * @param batchSize Number of samples per batch
+     * @return          This options object
+     */
+    public TrainingOptions setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive, but received " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets the number of worker threads each batch is split across.
+     *
+     * @param threads Number of worker threads
+     * @return        This options object
+     */
+    public TrainingOptions setThreads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive, but received " + threads);
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Sets the update rule used for every batch.
+     *
+     * @param optimizer Optimizer to use
+     * @return          This options object
+     */
+    public TrainingOptions setOptimizer(Optimizer optimizer) {
+        this.optimizer = optimizer;
+        return this;
+    }
+
+    /**
+     * Sets the learning-rate schedule.
+     *
+     * @param schedule Schedule mapping epochs to learning rates
+     * @return         This options object
+     */
+    public TrainingOptions setSchedule(LearningRateSchedule schedule) {
+        this.schedule = schedule;
+        return this;
+    }
+
+    /**
+     * Enables validation-based early stopping, or disables it when null.
+     *
+     * @param earlyStopping Early stopping settings, or null
+     * @return              This options object
+     */
+    public TrainingOptions setEarlyStopping(EarlyStopping earlyStopping) {
+        this.earlyStopping = earlyStopping;
+        return this;
+    }
+
+    /**
+     * Enables or disables reshuffling the sample order at the start of every epoch.
+     *
+     * @param shuffle True to shuffle every epoch
+     * @return        This options object
+     */
+    public TrainingOptions setShuffle(boolean shuffle) {
+        this.shuffle = shuffle;
+        return this;
+    }
+
+    /**
+     * Sets the seed of the per-epoch shuffles, so the batch order is reproducible.
+     *
+     * @param seed Random seed
+     * @return     This options object
+     */
+    public TrainingOptions setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of training epochs.
+     *
+     * @return Maximum number of epochs
+     */
+    public int getEpochs() {
+        return epochs;
+    }
+
+    /**
+     * Gets the base learning rate.
+     *
+     * @return Base learning rate
+     */
+    public double getLearningRate() {
+        return learningRate;
+    }
+
+    /**
+     * Gets the number of samples per weight update.
+     *
+     * @return Batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Gets the number of worker threads.
+     *
+     * @return Thread count
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Gets the update rule.
+     *
+     * @return Optimizer
+     */
+    public Optimizer getOptimizer() {
+        return optimizer;
+    }
+
+    /**
+     * Gets the learning-rate schedule.
+     *
+     * @return Schedule
+     */
+    public LearningRateSchedule getSchedule() {
+        return schedule;
+    }
+
+    /**
+     * Gets the early stopping settings.
+     *
+     * @return Early stopping settings, or null if disabled
+     */
+    public EarlyStopping getEarlyStopping() {
+        return earlyStopping;
+    }
+
+    /**
+     * Checks whether the sample order is reshuffled every epoch.
+     *
+     * @return True if shuffling is enabled
+     */
+    public boolean isShuffle() {
+        return shuffle;
+    }
+
+    /**
+     * Gets the seed of the per-epoch shuffles.
+     *
+     * @return Random seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,187 @@
+package regressionProject;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorKernels - DenseKernels implementation built on the incubating JDK Vector API.
+ * Uses the widest vector shape the CPU supports (for example 4 doubles with AVX2, 8 with AVX-512)
+ * and falls back to scalar code for the tail of each row. Requires the JVM option
+ * {@code --add-modules jdk.incubator.vector}; obtain an instance through {@link DenseKernels#vector()},
+ * which returns null instead of failing when the module is missing.
+ */
+public final class VectorKernels implements DenseKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    /**
+     * Constructor used by {@link DenseKernels#vector()}.
+     */
+    public VectorKernels() {
+        // Stateless
+    }
+
+    @Override
+    public void multiplyAdd(double[] a, double[] b, double[] c, int m, int k, int n) {
+        for (int i = 0; i < m; i++) {
+            int aRow = i * k;
+            int cRow = i * n;
+            for (int p = 0; p < k; p++) {
+                double aip = a[aRow + p];
+                if (aip != 0) {
+                    axpy(aip, b, p * n, c, cRow, n);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void multiplyTransposedB(double[] a, double[] b, double[] c, int m, int k, int n) {
+        for (int i = 0; i < m; i++) {
+            int aRow = i * k;
+            int cRow = i * n;
+            for (int j = 0; j < n; j++) {
+                c[cRow + j] = dot(a, aRow, b, j * k, k);
+            }
+        }
+    }
+
+    @Override
+    public void multiplyTransposedAAdd(double[] a, double[] b, double[] c, int k, int m, int n) {
+        for (int p = 0; p < k; p++) {
+            int aRow = p * m;
+            int bRow = p * n;
+            for (int i = 0; i < m; i++) {
+                double api = a[aRow + i];
+                if (api != 0) {
+                    axpy(api, b, bRow, c, i * n, n);
+                }
+            }
+        }
+    }
+
+    @Override
+    public double dot(double[] a, int aStart, double[] b, int bStart, int length) {
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int upper = SPECIES.loopBound(length);
+        int p = 0;
+        for (; p < upper; p += LANES) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, aStart + p);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bStart + p);
+            acc = va.fma(vb, acc);
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; p < length; p++) {
+            sum += a[aStart + p] * b[bStart + p];
+        }
+        return sum;
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, int xStart, double[] y, int yStart, int length) {
+        DoubleVector va = DoubleVector.broadcast(SPECIES, alpha);
+        int upper = SPECIES.loopBound(length);
+        int j = 0;
+        for (; j < upper; j += LANES) {
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xStart + j);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yStart + j);
+            vx.fma(va, vy).intoArray(y, yStart + j);
+        }
+        for (; j < length; j++) {
+            y[yStart + j] += alpha * x[xStart + j];
+        }
+    }
+
+    @Override
+    public void activate(ActivationFunctions activation, double[] values, int length) {
+        int upper = SPECIES.loopBound(length);
+        int j = 0;
+        switch (activation) {
+            case RELU:
+                for (; j < upper; j += LANES) {
+                    DoubleVector.fromArray(SPECIES, values, j).max(0.0).intoArray(values, j);
+                }
+                break;
+            case SIGMOID:
+                for (; j < upper; j += LANES) {
+                    sigmoid(DoubleVector.fromArray(SPECIES, values, j)).intoArray(values, j);
+                }
+                break;
+            case TANH:
+                for (; j < upper; j += LANES) {
+                    DoubleVector.fromArray(SPECIES, values, j).lanewise(VectorOperators.TANH).intoArray(values, j);
+                }
+                break;
+            case LEAKY_RELU:
+                for (; j < upper; j += LANES) {
+                    DoubleVector v = DoubleVector.fromArray(SPECIES, values, j);
+                    v.max(v.mul(ActivationFunctions.LEAKY_SLOPE)).intoArray(values, j);
+                }
+                break;
+            case LINEAR:
+                return; // Identity, nothing to do
+            default:
+                break; // No vector form, handled by the scalar loop below
+        }
+        activation.activate(values, j, length - j);
+    }
+
+    @Override
+    public void multiplyDerivative(ActivationFunctions activation, double[] values, double[] deltas, int length) {
+        int upper = SPECIES.loopBound(length);
+        int j = 0;
+        switch (activation) {
+            case RELU:
+                for (; j < upper; j += LANES) {
+                    DoubleVector v = DoubleVector.fromArray(SPECIES, values, j);
+                    VectorMask<Double> inactive = v.compare(VectorOperators.GT, 0.0).not();
+                    DoubleVector.fromArray(SPECIES, deltas, j).blend(0.0, inactive).intoArray(deltas, j);
+                }
+                break;
+            case SIGMOID:
+                for (; j < upper; j += LANES) {
+                    DoubleVector y = DoubleVector.fromArray(SPECIES, values, j);
+                    DoubleVector d = y.mul(y.neg().add(1.0));
+                    DoubleVector.fromArray(SPECIES, deltas, j).mul(d).intoArray(deltas, j);
+                }
+                break;
+            case TANH:
+                for (; j < upper; j += LANES) {
+                    DoubleVector y = DoubleVector.fromArray(SPECIES, values, j);
+                    DoubleVector d = y.mul(y).neg().add(1.0);
+                    DoubleVector.fromArray(SPECIES, deltas, j).mul(d).intoArray(deltas, j);
+                }
+                break;
+            case LEAKY_RELU:
+                for (; j < upper; j += LANES) {
+                    DoubleVector v = DoubleVector.fromArray(SPECIES, values, j);
+                    VectorMask<Double> negative = v.compare(VectorOperators.GT, 0.0).not();
+                    DoubleVector d = DoubleVector.fromArray(SPECIES, deltas, j);
+                    d.blend(d.mul(ActivationFunctions.LEAKY_SLOPE), negative).intoArray(deltas, j);
+                }
+                break;
+            case LINEAR:
+                return; // Derivative is 1, deltas are unchanged
+            default:
+                break; // No vector form, handled by the scalar loop below
+        }
+        activation.gradientFromOutput(values, deltas, j, length - j);
+    }
+
+    /**
+     * Lane-wise logistic function 1 / (1 + e^-x).
+     *
+     * @param x Input lanes
+     * @return  Sigmoid of each lane
+     */
+    private static DoubleVector sigmoid(DoubleVector x) {
+        return DoubleVector.broadcast(SPECIES, 1.0).div(x.neg().lanewise(VectorOperators.EXP).add(1.0));
+    }
+
+    @Override
+    public String toString() {
+        return "vector(" + LANES + " x double)";
+    }
+}
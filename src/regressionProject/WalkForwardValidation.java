@@ -0,0 +1,296 @@
+package regressionProject;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * WalkForwardValidation - Time-ordered cross-validation and polynomial degree search for
+ * {@link PolynomialRegression} and {@link MultivariatePolynomialRegression}.
+ *
+ * The rows are split into {@code folds + 1} consecutive blocks. Fold f trains on blocks 0..f and validates on
+ * block f + 1, so a model is only ever scored on data that comes after everything it was fitted on. Folds are
+ * evaluated in parallel on the common fork-join pool.
+ *
+ * The terms of a lower degree are a subset of the terms of a higher degree, so each fold accumulates the normal
+ * equations of its training rows once, at the highest degree, and solves every candidate degree from the
+ * matching sub-block of X^T X and X^T y. A degree whose sub-block is too ill-conditioned for Cholesky is
+ * re-solved with the streaming QR of {@link GramMatrixFitter} instead.
+ */
+public final class WalkForwardValidation {
+
+    private WalkForwardValidation() {
+        // Utility class, not meant to be instantiated
+    }
+
+    /**
+     * Features - Row-wise access to the raw features of the data set.
+     */
+    private interface Features {
+        /**
+         * Gets the number of rows.
+         *
+         * @return Number of observations
+         */
+        int rows();
+
+        /**
+         * Gets the number of raw features per row.
+         *
+         * @return Feature count
+         */
+        int numFeatures();
+
+        /**
+         * Copies the raw features of one row.
+         *
+         * @param row    Index of the observation
+         * @param output Array receiving {@link #numFeatures()} values
+         */
+        void copy(int row, double[] output);
+    }
+
+    /**
+     * Searches the best degree for a multivariate polynomial regression.
+     *
+     * @param X           2D array of input features in time order (each row is an observation)
+     * @param y           Array of target values corresponding to each observation
+     * @param numFeatures Number of original features in the dataset
+     * @param minDegree   Smallest degree to try (at least 1)
+     * @param maxDegree   Largest degree to try
+     * @param folds       Number of walk-forward folds
+     * @return            Validation errors of every degree
+     */
+    public static DegreeSearchResult searchMultivariateDegree(double[][] X, double[] y, int numFeatures,
+                                                              int minDegree, int maxDegree, int folds) {
+        Features features = new Features() {
+            @Override
+            public int rows() {
+                return X.length;
+            }
+
+            @Override
+            public int numFeatures() {
+                return numFeatures;
+            }
+
+            @Override
+            public void copy(int row, double[] output) {
+                if (X[row].length != numFeatures) {
+                    throw new IllegalArgumentException("Incorrect number of input features in row " + row + ": expected "
+                            + numFeatures + ", but received " + X[row].length);
+                }
+                System.arraycopy(X[row], 0, output, 0, numFeatures);
+            }
+        };
+        return search(features, y, minDegree, maxDegree, folds);
+    }
+
+    /**
+     * Searches the best degree for a multivariate polynomial regression on a feature matrix, where every
+     * column is a feature, see {@link #searchMultivariateDegree(double[][], double[], int, int, int, int)}.
+     *
+     * @param X         Matrix of input features in time order, one row per observation
+     * @param y         Array of target values corresponding to each observation
+     * @param minDegree Smallest degree to try (at least 1)
+     * @param maxDegree Largest degree to try
+     * @param folds     Number of walk-forward folds
+     * @return          Validation errors of every degree
+     */
+    public static DegreeSearchResult searchMultivariateDegree(FeatureMatrix X, double[] y,
+                                                              int minDegree, int maxDegree, int folds) {
+        Features features = new Features() {
+            @Override
+            public int rows() {
+                return X.rows();
+            }
+
+            @Override
+            public int numFeatures() {
+                return X.columns();
+            }
+
+            @Override
+            public void copy(int row, double[] output) {
+                X.copyRow(row, output, 0);
+            }
+        };
+        return search(features, y, minDegree, maxDegree, folds);
+    }
+
+    /**
+     * Searches the best degree for a univariate polynomial regression.
+     *
+     * @param x         Array of x-values in time order
+     * @param y         Array of y-values corresponding to each x-value
+     * @param minDegree Smallest degree to try (at least 1)
+     * @param maxDegree Largest degree to try
+     * @param folds     Number of walk-forward folds
+     * @return          Validation errors of every degree
+     */
+    public static DegreeSearchResult searchPolynomialDegree(double[] x, double[] y, int minDegree, int maxDegree, int folds) {
+        Features features = new Features() {
+            @Override
+            public int rows() {
+                return x.length;
+            }
+
+            @Override
+            public int numFeatures() {
+                return 1;
+            }
+
+            @Override
+            public void copy(int row, double[] output) {
+                output[0] = x[row];
+            }
+        };
+        return search(features, y, minDegree, maxDegree, folds);
+    }
+
+    /**
+     * Runs the degree search over all folds in parallel and pools the validation errors.
+     *
+     * @param features  Raw features in time order
+     * @param y         Target values
+     * @param minDegree Smallest degree to try
+     * @param maxDegree Largest degree to try
+     * @param folds     Number of walk-forward folds
+     * @return          Validation errors of every degree
+     */
+    private static DegreeSearchResult search(Features features, double[] y, int minDegree, int maxDegree, int folds) {
+        if (minDegree < 1 || maxDegree < minDegree) {
+            throw new IllegalArgumentException("Degrees must satisfy 1 <= min <= max, but received "
+                    + minDegree + " and " + maxDegree);
+        }
+        if (folds < 1) {
+            throw new IllegalArgumentException("Fold count must be positive, but received " + folds);
+        }
+        int rows = features.rows();
+        if (y.length != rows) {
+            throw new IllegalArgumentException("Got " + rows + " observations but " + y.length + " targets");
+        }
+        int maxTerms = maxDegree * features.numFeatures() + 1;
+        if (blockEnd(rows, folds, 0) < maxTerms) {
+            throw new IllegalArgumentException("The first training block has " + blockEnd(rows, folds, 0)
+                    + " rows, but " + maxTerms + " are needed for degree " + maxDegree + "; use fewer folds");
+        }
+
+        int degrees = maxDegree - minDegree + 1;
+        ErrorStatistics[][] statistics = new ErrorStatistics[degrees][folds];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[folds];
+        for (int f = 0; f < folds; f++) {
+            int fold = f;
+            tasks[f] = ForkJoinTask.adapt(() -> {
+                ErrorStatistics[] foldStatistics = evaluateFold(features, y, minDegree, maxDegree,
+                        blockEnd(rows, folds, fold), blockEnd(rows, folds, fold + 1));
+                for (int d = 0; d < degrees; d++) {
+                    statistics[d][fold] = foldStatistics[d];
+                }
+            });
+        }
+        ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        double[][] foldErrors = new double[degrees][folds];
+        double[] pooledErrors = new double[degrees];
+        for (int d = 0; d < degrees; d++) {
+            ErrorStatistics pooled = new ErrorStatistics();
+            for (int f = 0; f < folds; f++) {
+                foldErrors[d][f] = statistics[d][f].getMeanSquaredError();
+                pooled.combine(statistics[d][f]);
+            }
+            pooledErrors[d] = pooled.getMeanSquaredError();
+        }
+        return new DegreeSearchResult(minDegree, foldErrors, pooledErrors);
+    }
+
+    /**
+     * Gets the row after the end of a block, where the rows are split into {@code folds + 1}
+     * consecutive blocks of nearly equal size.
+     *
+     * @param rows  Number of rows
+     * @param folds Number of folds
+     * @param block Index of the block
+     * @return      Index after the last row of the block
+     */
+    private static int blockEnd(int rows, int folds, int block) {
+        return (int) ((long) rows * (block + 1) / (folds + 1));
+    }
+
+    /**
+     * Fits every degree on rows [0, trainEnd) from one set of normal equations and scores it on rows
+     * [trainEnd, testEnd).
+     *
+     * @param features  Raw features in time order
+     * @param y         Target values
+     * @param minDegree Smallest degree to try
+     * @param maxDegree Largest degree to try
+     * @param trainEnd  Row after the last training row
+     * @param testEnd   Row after the last validation row
+     * @return          Validation statistics, one per degree
+     */
+    private static ErrorStatistics[] evaluateFold(Features features, double[] y, int minDegree, int maxDegree,
+                                                  int trainEnd, int testEnd) {
+        int numFeatures = features.numFeatures();
+        GramMatrixFitter.NormalEquations normal = GramMatrixFitter.accumulate(design(features, maxDegree, trainEnd), y);
+
+        ErrorStatistics[] result = new ErrorStatistics[maxDegree - minDegree + 1];
+        double[] x = new double[numFeatures];
+        for (int degree = minDegree; degree <= maxDegree; degree++) {
+            // Column of x_i^d in the highest-degree layout is 1 + i * maxDegree + (d - 1)
+            int[] columns = new int[degree * numFeatures + 1];
+            int index = 1;
+            for (int i = 0; i < numFeatures; i++) {
+                for (int d = 1; d <= degree; d++) {
+                    columns[index++] = 1 + i * maxDegree + d - 1;
+                }
+            }
+            GramMatrixFitter.NormalEquations reduced = normal.subset(columns);
+            double[] scale = reduced.columnScale();
+            double[] coefficients = reduced.solveCholesky(scale);
+            if (coefficients == null) {
+                coefficients = GramMatrixFitter.solveQr(design(features, degree, trainEnd), y, scale);
+            }
+
+            MultivariatePolynomialPredictor predictor = new MultivariatePolynomialPredictor(coefficients, degree, numFeatures);
+            ErrorStatistics statistics = new ErrorStatistics();
+            for (int row = trainEnd; row < testEnd; row++) {
+                features.copy(row, x);
+                statistics.add(y[row], predictor.predict(x));
+            }
+            result[degree - minDegree] = statistics;
+        }
+        return result;
+    }
+
+    /**
+     * Creates the polynomial design of the first rows of the data at a degree.
+     *
+     * @param features Raw features in time order
+     * @param degree   Polynomial degree of every feature
+     * @param rows     Number of leading rows in the design
+     * @return         Design with an intercept column followed by the polynomial terms
+     */
+    private static GramMatrixFitter.Design design(Features features, int degree, int rows) {
+        PolynomialFeatureExpander expander = new PolynomialFeatureExpander(features.numFeatures(), degree);
+        ThreadLocal<double[]> scratch = ThreadLocal.withInitial(() -> new double[features.numFeatures()]);
+        return new GramMatrixFitter.Design() {
+            @Override
+            public int rows() {
+                return rows;
+            }
+
+            @Override
+            public int terms() {
+                return expander.getNumTerms() + 1;
+            }
+
+            @Override
+            public void expand(int row, double[] output, int offset) {
+                double[] x = scratch.get();
+                features.copy(row, x);
+                output[offset] = 1;
+                expander.expand(x, output, offset + 1);
+            }
+        };
+    }
+}